@@ -0,0 +1,57 @@
+package com.pedix.api.benchmark;
+
+import com.pedix.api.config.CredenciaisVerificadasCache;
+import com.pedix.api.service.TokenAcessoService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de autenticar uma requisição: Basic verificando no BCrypt, Basic com
+ * CredenciaisVerificadasCache e token HMAC.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AutenticacaoBenchmark {
+
+    private BCryptPasswordEncoder bcrypt;
+    private CredenciaisVerificadasCache cache;
+    private TokenAcessoService tokens;
+    private String hash;
+    private String token;
+
+    @Setup
+    public void preparar() {
+        bcrypt = new BCryptPasswordEncoder();
+        cache = new CredenciaisVerificadasCache(bcrypt, 60_000, 10);
+        tokens = new TokenAcessoService("segredo-de-benchmark", 900);
+        hash = bcrypt.encode("admin123");
+        token = tokens.emitir(UsernamePasswordAuthenticationToken.authenticated(
+                "admin", null, AuthorityUtils.createAuthorityList("ROLE_ADMIN"))).getToken();
+        cache.matches("admin123", hash);
+    }
+
+    @Benchmark
+    public boolean basicBcrypt() {
+        return bcrypt.matches("admin123", hash);
+    }
+
+    @Benchmark
+    public boolean basicComCache() {
+        return cache.matches("admin123", hash);
+    }
+
+    @Benchmark
+    public Optional<Authentication> token() {
+        return tokens.validar(token);
+    }
+}
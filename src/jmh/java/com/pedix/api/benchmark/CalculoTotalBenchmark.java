@@ -0,0 +1,42 @@
+package com.pedix.api.benchmark;
+
+import com.pedix.api.domain.Pedido;
+import com.pedix.api.domain.PedidoItem;
+import com.pedix.api.support.DadosPedidos;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalculoTotalBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int itens;
+
+    private Pedido pedido;
+    private PedidoItem item;
+
+    @Setup
+    public void preparar() {
+        pedido = DadosPedidos.pedido(1, itens, DadosPedidos.cardapio(20));
+        item = pedido.getItens().get(0);
+    }
+
+    @Benchmark
+    public BigDecimal recalcularTotal() {
+        pedido.recalcularTotal();
+        return pedido.getTotal();
+    }
+
+    @Benchmark
+    public BigDecimal recalcularSubtotal() {
+        item.recalcularSubtotal();
+        return item.getSubtotal();
+    }
+}
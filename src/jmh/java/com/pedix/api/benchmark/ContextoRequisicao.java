@@ -0,0 +1,24 @@
+package com.pedix.api.benchmark;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+// linkTo(methodOn(...)) resolve a URI base a partir da requisição corrente.
+final class ContextoRequisicao {
+
+    private ContextoRequisicao() {
+    }
+
+    static void abrir() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/pedido");
+        request.setScheme("http");
+        request.setServerName("localhost");
+        request.setServerPort(8080);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    static void fechar() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+}
@@ -0,0 +1,70 @@
+package com.pedix.api.benchmark;
+
+import com.pedix.api.controller.api.ModelosLinks;
+import com.pedix.api.controller.api.PedidoController;
+import com.pedix.api.dto.PedidoResponseDTO;
+import com.pedix.api.service.PedidoService;
+import com.pedix.api.support.DadosPedidos;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.hateoas.EntityModel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+/**
+ * Montagem dos links de cada elemento de PedidoController.listarTodos: linkTo(methodOn(...)) por linha
+ * contra os modelos pré-calculados de ModelosLinks. Os links são criados na thread do benchmark, que
+ * tem a requisição corrente.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LinksHateoasBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    private int tamanho;
+
+    private List<PedidoResponseDTO> pedidos;
+    private ModelosLinks modelosLinks;
+
+    @Setup
+    public void preparar() {
+        ContextoRequisicao.abrir();
+        modelosLinks = new ModelosLinks();
+        PedidoService pedidoService = new PedidoService(null, null, null, null);
+        pedidos = DadosPedidos.pedidos(tamanho, 2).stream().map(pedidoService::toResponse).toList();
+    }
+
+    @TearDown
+    public void encerrar() {
+        ContextoRequisicao.fechar();
+    }
+
+    @Benchmark
+    public List<EntityModel<PedidoResponseDTO>> linkToMethodOn() {
+        List<EntityModel<PedidoResponseDTO>> modelos = new ArrayList<>(pedidos.size());
+        for (PedidoResponseDTO dto : pedidos) {
+            modelos.add(EntityModel.of(dto,
+                    linkTo(methodOn(PedidoController.class).obter(dto.getId())).withSelfRel(),
+                    linkTo(methodOn(PedidoController.class).listarTodos(null, null)).withRel("todos_pedidos")));
+        }
+        return modelos;
+    }
+
+    @Benchmark
+    public List<EntityModel<PedidoResponseDTO>> modelosPrecalculados() {
+        ModelosLinks.Modelos links = modelosLinks.daRequisicao();
+        List<EntityModel<PedidoResponseDTO>> modelos = new ArrayList<>(pedidos.size());
+        for (PedidoResponseDTO dto : pedidos) {
+            modelos.add(EntityModel.of(dto, links.pedido().self(dto.getId()), links.todosPedidos()));
+        }
+        return modelos;
+    }
+}
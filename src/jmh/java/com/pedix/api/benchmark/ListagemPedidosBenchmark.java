@@ -0,0 +1,113 @@
+package com.pedix.api.benchmark;
+
+import com.pedix.api.PedixApplication;
+import com.pedix.api.dto.Pagina;
+import com.pedix.api.dto.PedidoResponseDTO;
+import com.pedix.api.dto.PedidoResumoDTO;
+import com.pedix.api.service.PedidoService;
+import com.pedix.api.service.ResumoPedidos;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Uma página de pedidos lida do resumo materializado contra a listagem completa (ids + pedidos com itens),
+ * com 1k, 100k e 1M pedidos de 3 itens no H2 do perfil de testes. Cada chamada começa num cursor sorteado,
+ * para não medir só o começo do índice.
+ * <pre>
+ * mvn -Pbenchmark verify -Djmh.args="ListagemPedidos -p pedidos=1000,100000"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ListagemPedidosBenchmark {
+
+    private static final int PAGINA = 50;
+    private static final int ITENS_POR_PEDIDO = 3;
+    private static final int GARCONS = 10;
+
+    @Param({"1000", "100000", "1000000"})
+    private int pedidos;
+
+    private ConfigurableApplicationContext contexto;
+    private PedidoService pedidoService;
+    private ResumoPedidos resumoPedidos;
+
+    @Setup(Level.Trial)
+    public void subir() {
+        contexto = new SpringApplicationBuilder(PedixApplication.class)
+                .profiles("test")
+                .properties("server.port=0", "logging.level.root=WARN")
+                .run();
+        pedidoService = contexto.getBean(PedidoService.class);
+        resumoPedidos = contexto.getBean(ResumoPedidos.class);
+
+        popular(contexto.getBean(JdbcTemplate.class));
+        resumoPedidos.reconstruir();
+        if (!resumoPedidos.verificar().isConsistente()) {
+            throw new IllegalStateException("Carga do benchmark gerou resumo divergente dos pedidos.");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void descer() {
+        contexto.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        private final SplittableRandom aleatorio = new SplittableRandom(42);
+
+        long sortear(int pedidos) {
+            return aleatorio.nextInt(Math.max(1, pedidos - PAGINA));
+        }
+    }
+
+    @Benchmark
+    public Pagina<PedidoResumoDTO> resumo(Cursor cursor) {
+        return resumoPedidos.listar(cursor.sortear(pedidos), PAGINA);
+    }
+
+    @Benchmark
+    public Pagina<PedidoResumoDTO> resumoDoGarcom(Cursor cursor) {
+        return resumoPedidos.listarPorGarcom("garcom-3", cursor.sortear(pedidos), PAGINA);
+    }
+
+    @Benchmark
+    public Pagina<PedidoResponseDTO> pedidosCompletos(Cursor cursor) {
+        return pedidoService.listarPaginaResponse(cursor.sortear(pedidos), PAGINA);
+    }
+
+    // Carga direto em SQL (SYSTEM_RANGE do H2): 1M pedidos pelo serviço levariam mais que o próprio benchmark.
+    private void popular(JdbcTemplate jdbc) {
+        jdbc.update("""
+                INSERT INTO ITEM_CARDAPIO (ID, NOME, CATEGORIA, PRECO, DISPONIVEL)
+                SELECT X, 'Item ' || X, 'PRATO', 10 + X, TRUE FROM SYSTEM_RANGE(1, 20)
+                """);
+
+        // Total já calculado: as 3 linhas do pedido X são as de id 3X-2, 3X-1 e 3X, com subtotal 2 * (11 + MOD(id, 20)).
+        jdbc.update("""
+                INSERT INTO PEDIDO (ID, ID_COMANDA, STATUS, OBSERVACAO, TOTAL, DATA_HORA, STATUS_ALTERADO_EM,
+                                    GARCOM_RESPONSAVEL, VERSAO)
+                SELECT X, MOD(X, 500) + 1, 'EM_PREPARO', 'Mesa ' || MOD(X, 40),
+                       2 * (33 + MOD(3 * X - 2, 20) + MOD(3 * X - 1, 20) + MOD(3 * X, 20)),
+                       CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 'garcom-' || MOD(X, ?), 0
+                FROM SYSTEM_RANGE(1, ?)
+                """, GARCONS, pedidos);
+
+        jdbc.update("""
+                INSERT INTO PEDIDO_ITEM (ID, PEDIDO_ID, ITEM_CARDAPIO_ID, QUANTIDADE, PRECO_UNITARIO, SUBTOTAL)
+                SELECT X, (X - 1) / 3 + 1, MOD(X, 20) + 1, 2, 11 + MOD(X, 20), 2 * (11 + MOD(X, 20))
+                FROM SYSTEM_RANGE(1, ?)
+                """, (long) pedidos * ITENS_POR_PEDIDO);
+    }
+}
@@ -0,0 +1,42 @@
+package com.pedix.api.benchmark;
+
+import com.pedix.api.domain.Pedido;
+import com.pedix.api.dto.PedidoResponseDTO;
+import com.pedix.api.service.PedidoService;
+import com.pedix.api.support.DadosPedidos;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapeamentoPedidoBenchmark {
+
+    @Param({"1", "5", "20"})
+    private int itensPorPedido;
+
+    private PedidoService pedidoService;
+    private List<Pedido> pedidos;
+
+    @Setup
+    public void preparar() {
+        // toResponse só lê o pedido recebido; as dependências do serviço não são usadas.
+        pedidoService = new PedidoService(null, null, null, null);
+        pedidos = DadosPedidos.pedidos(100, itensPorPedido);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(100)
+    public void toResponse(Blackhole blackhole) {
+        for (Pedido pedido : pedidos) {
+            PedidoResponseDTO resposta = pedidoService.toResponse(pedido);
+            blackhole.consume(resposta);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.pedix.api.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.pedix.api.controller.api.PedidoController;
+import com.pedix.api.dto.PedidoResponseDTO;
+import com.pedix.api.service.PedidoService;
+import com.pedix.api.support.DadosPedidos;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.EvoInflectorLinkRelationProvider;
+
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+// Serialização HAL da lista devolvida por GET /api/pedido, com os links já montados.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializacaoHateoasBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    private int tamanho;
+
+    private ObjectWriter writer;
+    private List<EntityModel<PedidoResponseDTO>> modelos;
+
+    @Setup
+    public void preparar() {
+        ObjectMapper mapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .registerModule(new Jackson2HalModule());
+        mapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(
+                new EvoInflectorLinkRelationProvider(), CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY));
+        writer = mapper.writer();
+
+        ContextoRequisicao.abrir();
+        try {
+            PedidoService pedidoService = new PedidoService(null, null, null, null);
+            modelos = DadosPedidos.pedidos(tamanho, 3).stream()
+                    .map(pedidoService::toResponse)
+                    .map(dto -> EntityModel.of(dto,
+                            linkTo(methodOn(PedidoController.class).obter(dto.getId())).withSelfRel(),
+                            linkTo(methodOn(PedidoController.class).listarTodos(null, null)).withRel("todos_pedidos")))
+                    .toList();
+        } finally {
+            ContextoRequisicao.fechar();
+        }
+    }
+
+    @Benchmark
+    public void serializar() throws Exception {
+        writer.writeValue(OutputStream.nullOutputStream(), modelos);
+    }
+}
@@ -0,0 +1,84 @@
+package com.pedix.api.benchmark;
+
+import com.pedix.api.PedixApplication;
+import com.pedix.api.domain.ItemCardapio;
+import com.pedix.api.domain.enums.CategoriaItem;
+import com.pedix.api.domain.enums.StatusPedido;
+import com.pedix.api.dto.ItemCardapioDTO;
+import com.pedix.api.dto.PedidoDTO;
+import com.pedix.api.dto.PedidoItemDTO;
+import com.pedix.api.dto.TransicaoStatusDTO;
+import com.pedix.api.service.ItemCardapioService;
+import com.pedix.api.service.PedidoService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Levar N pedidos para PRONTO com uma chamada por pedido contra uma única chamada em lote, no H2 do
+ * perfil de testes. Cada medição pega pedidos novos, criados fora do tempo medido.
+ * <pre>
+ * mvn -Pbenchmark verify -Djmh.args="StatusLote -p pedidos=200"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 20)
+@Fork(1)
+public class StatusLoteBenchmark {
+
+    @Param({"20", "200"})
+    private int pedidos;
+
+    private ConfigurableApplicationContext contexto;
+    private PedidoService pedidoService;
+    private ItemCardapio item;
+    private List<Long> ids;
+
+    @Setup(Level.Trial)
+    public void subir() {
+        contexto = new SpringApplicationBuilder(PedixApplication.class)
+                .profiles("test")
+                .properties("server.port=0", "logging.level.root=WARN")
+                .run();
+        pedidoService = contexto.getBean(PedidoService.class);
+        item = contexto.getBean(ItemCardapioService.class).criar(ItemCardapioDTO.builder()
+                .nome("Prato do benchmark")
+                .categoria(CategoriaItem.PRATO)
+                .preco(new BigDecimal("21.00"))
+                .build());
+    }
+
+    @Setup(Level.Iteration)
+    public void criarPedidos() {
+        ids = IntStream.range(0, pedidos)
+                .mapToObj(i -> pedidoService.criar(PedidoDTO.builder()
+                        .comandaId(7001L)
+                        .itens(List.of(PedidoItemDTO.builder().itemCardapioId(item.getId()).quantidade(1).build()))
+                        .build(), "garcom").getId())
+                .toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void descer() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public int individuais() {
+        ids.forEach(id -> pedidoService.atualizarStatus(id, StatusPedido.PRONTO));
+        return ids.size();
+    }
+
+    @Benchmark
+    public List<TransicaoStatusDTO> lote() {
+        return pedidoService.atualizarStatusEmLote(ids, StatusPedido.PRONTO);
+    }
+}
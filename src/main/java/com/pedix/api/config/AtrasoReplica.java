@@ -0,0 +1,68 @@
+package com.pedix.api.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Mede periodicamente o atraso de replicação da réplica de leitura.
+ * Sem consulta configurada, verifica apenas se a réplica responde.
+ */
+@Slf4j
+public class AtrasoReplica {
+
+    private static final int TIMEOUT_VALIDACAO_S = 2;
+
+    private final DataSource replica;
+    private final String consultaAtraso;
+    private final long maximoAtrasoMs;
+
+    private volatile boolean aceitavel;
+    private volatile long atrasoMs = -1;
+
+    public AtrasoReplica(DataSource replica, String consultaAtraso, long maximoAtrasoMs) {
+        this.replica = replica;
+        this.consultaAtraso = consultaAtraso == null || consultaAtraso.isBlank() ? null : consultaAtraso;
+        this.maximoAtrasoMs = maximoAtrasoMs;
+    }
+
+    public boolean aceitavel() {
+        return aceitavel;
+    }
+
+    public long atrasoMs() {
+        return atrasoMs;
+    }
+
+    @Scheduled(fixedDelayString = "${pedix.datasource.roteamento.intervalo-verificacao-ms:5000}")
+    public void verificar() {
+        boolean anterior = aceitavel;
+
+        try (Connection conexao = replica.getConnection()) {
+            if (consultaAtraso == null) {
+                atrasoMs = 0;
+                aceitavel = conexao.isValid(TIMEOUT_VALIDACAO_S);
+            } else {
+                try (Statement comando = conexao.createStatement();
+                     ResultSet resultado = comando.executeQuery(consultaAtraso)) {
+                    atrasoMs = resultado.next() ? resultado.getLong(1) : -1;
+                    aceitavel = atrasoMs >= 0 && atrasoMs <= maximoAtrasoMs;
+                }
+            }
+        } catch (SQLException e) {
+            atrasoMs = -1;
+            aceitavel = false;
+            log.debug("Falha ao verificar a réplica de leitura.", e);
+        }
+
+        if (anterior != aceitavel) {
+            log.warn("Réplica de leitura {} (atraso {} ms, máximo {} ms).",
+                    aceitavel ? "liberada" : "suspensa", atrasoMs, maximoAtrasoMs);
+        }
+    }
+}
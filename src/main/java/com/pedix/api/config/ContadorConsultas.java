@@ -0,0 +1,54 @@
+package com.pedix.api.config;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+// Conta comandos JDBC e tempo de banco da requisição corrente; fora de uma contagem iniciada não faz nada.
+public class ContadorConsultas implements QueryExecutionListener {
+
+    private static final ThreadLocal<Contagem> CONTAGEM = new ThreadLocal<>();
+
+    public static Contagem iniciar() {
+        Contagem contagem = new Contagem();
+        CONTAGEM.set(contagem);
+        return contagem;
+    }
+
+    public static void encerrar() {
+        CONTAGEM.remove();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Contagem contagem = CONTAGEM.get();
+        if (contagem != null) {
+            contagem.inicio = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Contagem contagem = CONTAGEM.get();
+        if (contagem != null) {
+            contagem.comandos++;
+            contagem.nanos += System.nanoTime() - contagem.inicio;
+        }
+    }
+
+    public static class Contagem {
+        private long inicio;
+        private int comandos;
+        private long nanos;
+
+        public int comandos() {
+            return comandos;
+        }
+
+        public long tempoBancoMs() {
+            return nanos / 1_000_000;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.pedix.api.config;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import javax.sql.DataSource;
+
+// Os cabeçalhos do ContadorConsultasFilter não dependem do monitor de SQL estar habilitado.
+@Configuration(proxyBeanMethods = false)
+@Profile("!prod")
+public class ContadorConsultasConfig {
+
+    @Bean
+    public static BeanPostProcessor contadorConsultasDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(new ContadorConsultas())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,80 @@
+package com.pedix.api.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Fora de produção, devolve em cada resposta quantos comandos SQL a requisição executou e quanto tempo
+ * passou no banco, e avisa quando um endpoint com {@link OrcamentoConsultas} estoura o limite.
+ */
+@Slf4j
+@Component
+@Profile("!prod")
+public class ContadorConsultasFilter extends OncePerRequestFilter {
+
+    public static final String CABECALHO_QUANTIDADE = "X-Query-Count";
+    public static final String CABECALHO_TEMPO = "X-DB-Time-Ms";
+    public static final String CABECALHO_ORCAMENTO = "X-Query-Budget";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        ContadorConsultas.Contagem contagem = ContadorConsultas.iniciar();
+
+        // Os cabeçalhos precisam sair antes do commit da resposta; a serialização do corpo não consulta o banco.
+        OnCommittedResponseWrapper resposta = new OnCommittedResponseWrapper(response) {
+            @Override
+            protected void onResponseCommitted() {
+                escreverCabecalhos(request, response, contagem);
+            }
+        };
+
+        try {
+            chain.doFilter(request, resposta);
+        } finally {
+            ContadorConsultas.encerrar();
+            if (!response.isCommitted()) {
+                escreverCabecalhos(request, response, contagem);
+            }
+            verificarOrcamento(request, contagem);
+        }
+    }
+
+    private static void escreverCabecalhos(HttpServletRequest request, HttpServletResponse response,
+                                           ContadorConsultas.Contagem contagem) {
+        response.setHeader(CABECALHO_QUANTIDADE, String.valueOf(contagem.comandos()));
+        response.setHeader(CABECALHO_TEMPO, String.valueOf(contagem.tempoBancoMs()));
+
+        OrcamentoConsultas orcamento = orcamento(request);
+        if (orcamento != null) {
+            response.setHeader(CABECALHO_ORCAMENTO, String.valueOf(orcamento.value()));
+        }
+    }
+
+    private static void verificarOrcamento(HttpServletRequest request, ContadorConsultas.Contagem contagem) {
+        OrcamentoConsultas orcamento = orcamento(request);
+        if (orcamento != null && contagem.comandos() > orcamento.value()) {
+            log.warn("{} {} executou {} comandos SQL; orçamento é {}.",
+                    request.getMethod(), request.getRequestURI(), contagem.comandos(), orcamento.value());
+        }
+    }
+
+    private static OrcamentoConsultas orcamento(HttpServletRequest request) {
+        if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod metodo) {
+            return metodo.getMethodAnnotation(OrcamentoConsultas.class);
+        }
+        return null;
+    }
+}
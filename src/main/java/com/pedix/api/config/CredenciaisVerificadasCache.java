@@ -0,0 +1,85 @@
+package com.pedix.api.config;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lembra por alguns minutos as senhas que já passaram pelo BCrypt, para clientes Basic que repetem
+ * as credenciais em toda chamada. Guarda apenas um HMAC da senha com chave aleatória do processo,
+ * indexado pelo hash BCrypt do usuário: trocar a senha muda o hash e invalida a entrada.
+ */
+public class CredenciaisVerificadasCache implements PasswordEncoder {
+
+    private final PasswordEncoder delegado;
+    private final long validadeMs;
+    private final int maximoEntradas;
+    private final SecretKeySpec chave;
+    private final Map<String, Verificacao> verificadas = new ConcurrentHashMap<>();
+
+    public CredenciaisVerificadasCache(PasswordEncoder delegado, long validadeMs, int maximoEntradas) {
+        this.delegado = delegado;
+        this.validadeMs = validadeMs;
+        this.maximoEntradas = maximoEntradas;
+
+        byte[] bytesChave = new byte[32];
+        new SecureRandom().nextBytes(bytesChave);
+        this.chave = new SecretKeySpec(bytesChave, "HmacSHA256");
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegado.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        if (rawPassword == null || encodedPassword == null) {
+            return delegado.matches(rawPassword, encodedPassword);
+        }
+
+        byte[] resumo = resumo(rawPassword);
+        long agora = System.currentTimeMillis();
+
+        Verificacao verificacao = verificadas.get(encodedPassword);
+        if (verificacao != null && verificacao.expiraEm() > agora && MessageDigest.isEqual(verificacao.resumo(), resumo)) {
+            return true;
+        }
+
+        boolean confere = delegado.matches(rawPassword, encodedPassword);
+        if (confere) {
+            if (verificadas.size() >= maximoEntradas) {
+                verificadas.values().removeIf(v -> v.expiraEm() <= agora);
+            }
+            if (verificadas.size() < maximoEntradas) {
+                verificadas.put(encodedPassword, new Verificacao(resumo, agora + validadeMs));
+            }
+        }
+        return confere;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegado.upgradeEncoding(encodedPassword);
+    }
+
+    private byte[] resumo(CharSequence senha) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(chave);
+            return mac.doFinal(senha.toString().getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 indisponível.", e);
+        }
+    }
+
+    private record Verificacao(byte[] resumo, long expiraEm) {
+    }
+}
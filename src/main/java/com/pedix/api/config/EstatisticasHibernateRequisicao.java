@@ -0,0 +1,106 @@
+package com.pedix.api.config;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.internal.StatisticsImpl;
+
+/**
+ * Estatísticas do Hibernate que, além dos totais globais, contam o trabalho da requisição corrente.
+ * Os contadores globais misturam requisições concorrentes; estes ficam presos à thread da requisição.
+ */
+public class EstatisticasHibernateRequisicao extends StatisticsImpl {
+
+    private static final ThreadLocal<Contagem> CONTAGEM = new ThreadLocal<>();
+
+    public EstatisticasHibernateRequisicao(SessionFactoryImplementor sessionFactory) {
+        super(sessionFactory);
+    }
+
+    public static Contagem iniciar() {
+        Contagem contagem = new Contagem();
+        CONTAGEM.set(contagem);
+        return contagem;
+    }
+
+    public static void encerrar() {
+        CONTAGEM.remove();
+    }
+
+    @Override
+    public void prepareStatement() {
+        super.prepareStatement();
+        Contagem contagem = CONTAGEM.get();
+        if (contagem != null) {
+            contagem.comandos++;
+        }
+    }
+
+    @Override
+    public void queryExecuted(String hql, int rows, long time) {
+        super.queryExecuted(hql, rows, time);
+        Contagem contagem = CONTAGEM.get();
+        if (contagem != null) {
+            contagem.consultas++;
+        }
+    }
+
+    @Override
+    public void loadEntity(String entityName) {
+        super.loadEntity(entityName);
+        contarEntidade();
+    }
+
+    @Override
+    public void fetchEntity(String entityName) {
+        super.fetchEntity(entityName);
+        contarEntidade();
+    }
+
+    @Override
+    public void loadCollection(String role) {
+        super.loadCollection(role);
+        contarColecao();
+    }
+
+    @Override
+    public void fetchCollection(String role) {
+        super.fetchCollection(role);
+        contarColecao();
+    }
+
+    private static void contarEntidade() {
+        Contagem contagem = CONTAGEM.get();
+        if (contagem != null) {
+            contagem.entidades++;
+        }
+    }
+
+    private static void contarColecao() {
+        Contagem contagem = CONTAGEM.get();
+        if (contagem != null) {
+            contagem.colecoes++;
+        }
+    }
+
+    public static class Contagem {
+        private long comandos;
+        private long consultas;
+        private long entidades;
+        private long colecoes;
+
+        public long comandos() {
+            return comandos;
+        }
+
+        public long consultas() {
+            return consultas;
+        }
+
+        public long entidades() {
+            return entidades;
+        }
+
+        public long colecoes() {
+            return colecoes;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.pedix.api.config;
+
+import com.pedix.api.service.IdempotenciaService;
+import com.pedix.api.service.IdempotenciaService.Reserva;
+import com.pedix.api.service.IdempotenciaService.RespostaIdempotente;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+// Registrado como filtro comum, roda depois da cadeia do Spring Security e já enxerga o usuário autenticado.
+@Component
+public class IdempotenciaFilter extends OncePerRequestFilter {
+
+    public static final String CABECALHO_CHAVE = "Idempotency-Key";
+    public static final String CABECALHO_REPETIDA = "Idempotency-Replayed";
+
+    private static final int TAMANHO_MAXIMO_CHAVE = 100;
+    private static final List<String> ROTAS = List.of("/api/pedido/comanda/*", "/api/pedido-item");
+    private static final AntPathMatcher MATCHER = new AntPathMatcher();
+
+    private final IdempotenciaService idempotenciaService;
+    private final int tamanhoMaximoCorpo;
+
+    public IdempotenciaFilter(IdempotenciaService idempotenciaService,
+                              @Value("${pedix.idempotencia.maximo-corpo-bytes:1048576}") int tamanhoMaximoCorpo) {
+        this.idempotenciaService = idempotenciaService;
+        this.tamanhoMaximoCorpo = tamanhoMaximoCorpo;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!"POST".equals(request.getMethod()) || request.getHeader(CABECALHO_CHAVE) == null) {
+            return true;
+        }
+        String caminho = request.getRequestURI().substring(request.getContextPath().length());
+        return ROTAS.stream().noneMatch(rota -> MATCHER.match(rota, caminho));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        String chaveCliente = request.getHeader(CABECALHO_CHAVE).trim();
+        if (chaveCliente.isEmpty() || chaveCliente.length() > TAMANHO_MAXIMO_CHAVE) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(),
+                    "Idempotency-Key deve ter entre 1 e " + TAMANHO_MAXIMO_CHAVE + " caracteres.");
+            return;
+        }
+
+        // O corpo fica inteiro em memória para o hash; o Content-Length pode faltar, então a leitura também é limitada.
+        byte[] corpo = request.getContentLengthLong() > tamanhoMaximoCorpo
+                ? null
+                : request.getInputStream().readNBytes(tamanhoMaximoCorpo + 1);
+        if (corpo == null || corpo.length > tamanhoMaximoCorpo) {
+            response.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value(),
+                    "Corpo da requisição acima de " + tamanhoMaximoCorpo + " bytes.");
+            return;
+        }
+
+        String chave = sha256((usuario() + '|' + request.getMethod() + '|' + request.getRequestURI() + '|' + chaveCliente)
+                .getBytes(StandardCharsets.UTF_8));
+        String hash = sha256(corpo);
+
+        Reserva reserva = idempotenciaService.reservar(chave, hash);
+        switch (reserva.tipo()) {
+            case REPETIR -> {
+                repetir(reserva.resposta(), response);
+                return;
+            }
+            case CONFLITO -> {
+                response.sendError(HttpStatus.UNPROCESSABLE_ENTITY.value(),
+                        "Idempotency-Key já utilizada com outro corpo de requisição.");
+                return;
+            }
+            case EM_ANDAMENTO -> {
+                response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                response.sendError(HttpStatus.CONFLICT.value(),
+                        "Requisição com a mesma Idempotency-Key ainda em processamento.");
+                return;
+            }
+            case PROSSEGUIR -> {
+            }
+        }
+
+        ContentCachingResponseWrapper resposta = new ContentCachingResponseWrapper(response);
+        boolean concluida = false;
+        try {
+            chain.doFilter(new RequisicaoComCorpo(request, corpo), resposta);
+
+            // Erros do servidor não são memorizados: o cliente pode tentar de novo com a mesma chave.
+            if (resposta.getStatus() < 500) {
+                idempotenciaService.concluir(chave, new RespostaIdempotente(
+                        resposta.getStatus(),
+                        resposta.getContentType(),
+                        resposta.getHeader(HttpHeaders.LOCATION),
+                        new String(resposta.getContentAsByteArray(), StandardCharsets.UTF_8)));
+                concluida = true;
+            }
+        } finally {
+            if (!concluida) {
+                idempotenciaService.abandonar(chave);
+            }
+            resposta.copyBodyToResponse();
+        }
+    }
+
+    private void repetir(RespostaIdempotente resposta, HttpServletResponse response) throws IOException {
+        response.setStatus(resposta.status());
+        response.setHeader(CABECALHO_REPETIDA, "true");
+        if (resposta.contentType() != null) {
+            response.setContentType(resposta.contentType());
+        }
+        if (resposta.location() != null) {
+            response.setHeader(HttpHeaders.LOCATION, resposta.location());
+        }
+        if (resposta.corpo() != null) {
+            byte[] corpo = resposta.corpo().getBytes(StandardCharsets.UTF_8);
+            response.setContentLength(corpo.length);
+            response.getOutputStream().write(corpo);
+        }
+    }
+
+    private String usuario() {
+        Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+        return autenticacao != null ? autenticacao.getName() : "";
+    }
+
+    private static String sha256(byte[] dados) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(dados));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível.", e);
+        }
+    }
+
+    private static class RequisicaoComCorpo extends HttpServletRequestWrapper {
+
+        private final byte[] corpo;
+
+        RequisicaoComCorpo(HttpServletRequest request, byte[] corpo) {
+            super(request);
+            this.corpo = corpo;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream entrada = new ByteArrayInputStream(corpo);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return entrada.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    // O corpo já está todo em memória: avisa de imediato que há dados e que a leitura terminou.
+                    try {
+                        listener.onDataAvailable();
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return entrada.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return entrada.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.pedix.api.config;
+
+import io.micrometer.common.KeyValues;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.spi.StatisticsFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.http.server.observation.ServerRequestObservationConvention;
+
+@Configuration(proxyBeanMethods = false)
+public class MetricasConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer estatisticasHibernateCustomizer() {
+        return propriedades -> {
+            propriedades.put(AvailableSettings.GENERATE_STATISTICS, true);
+            propriedades.put(AvailableSettings.STATS_BUILDER, (StatisticsFactory) EstatisticasHibernateRequisicao::new);
+        };
+    }
+
+    // Acrescenta ao http.server.requests a camada (api/web) do controller que atendeu.
+    @Bean
+    public ServerRequestObservationConvention camadaServerRequestObservationConvention() {
+        return new DefaultServerRequestObservationConvention() {
+            @Override
+            public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+                return super.getLowCardinalityKeyValues(context).and("camada", OrigemRequisicao.camada(context.getCarrier()));
+            }
+        };
+    }
+}
@@ -0,0 +1,61 @@
+package com.pedix.api.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+// Registra por requisição o trabalho do Hibernate contado por EstatisticasHibernateRequisicao.
+@Component
+@RequiredArgsConstructor
+public class MetricasRequisicaoFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry registry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        EstatisticasHibernateRequisicao.Contagem contagem = EstatisticasHibernateRequisicao.iniciar();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            EstatisticasHibernateRequisicao.encerrar();
+            registrar(request, contagem);
+        }
+    }
+
+    private void registrar(HttpServletRequest request, EstatisticasHibernateRequisicao.Contagem contagem) {
+        Object padrao = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (padrao == null) {
+            return;
+        }
+
+        Tags tags = Tags.of("method", request.getMethod(), "uri", padrao.toString());
+        resumo("pedix.requisicao.hibernate.comandos", "Comandos JDBC preparados pelo Hibernate", tags)
+                .record(contagem.comandos());
+        resumo("pedix.requisicao.hibernate.consultas", "Consultas HQL/nativas executadas", tags)
+                .record(contagem.consultas());
+        resumo("pedix.requisicao.hibernate.entidades", "Entidades carregadas", tags)
+                .record(contagem.entidades());
+        resumo("pedix.requisicao.hibernate.colecoes", "Coleções carregadas", tags)
+                .record(contagem.colecoes());
+    }
+
+    private DistributionSummary resumo(String nome, String descricao, Tags tags) {
+        return DistributionSummary.builder(nome)
+                .description(descricao)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
@@ -0,0 +1,205 @@
+package com.pedix.api.config;
+
+import com.pedix.api.dto.ConsultaMonitoradaDTO;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ConnectionInfo;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.proxy.ProxyConfig;
+import net.ttddyy.dsproxy.proxy.jdk.JdkJdbcProxyFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Registra em log apenas os comandos SQL acima do limiar de latência ou sorteados pela amostragem,
+ * com o método do controller de origem, os parâmetros e o número de linhas.
+ * Os registrados também alimentam o ranking dos comandos mais lentos.
+ * Comandos não registrados custam uma leitura de relógio e um sorteio; o ResultSet só é
+ * embrulhado para contar linhas quando o SELECT vai ser registrado.
+ */
+@Slf4j
+public class MonitorConsultas extends JdkJdbcProxyFactory implements QueryExecutionListener {
+
+    private static final int TAMANHO_MAXIMO_PARAMETRO = 100;
+
+    private final long limiarNs;
+    private final double taxaAmostragem;
+    private final int maximoDistintas;
+
+    private final ThreadLocal<Execucao> execucaoAtual = ThreadLocal.withInitial(Execucao::new);
+    private final Map<String, ConsultaMonitoradaDTO> maisLentas = new ConcurrentHashMap<>();
+
+    public MonitorConsultas(long limiarMs, double taxaAmostragem, int maximoDistintas) {
+        this.limiarNs = limiarMs * 1_000_000;
+        this.taxaAmostragem = taxaAmostragem;
+        this.maximoDistintas = maximoDistintas;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Execucao execucao = execucaoAtual.get();
+        execucao.inicio = System.nanoTime();
+        execucao.amostrada = taxaAmostragem > 0 && ThreadLocalRandom.current().nextDouble() < taxaAmostragem;
+        execucao.contador = null;
+    }
+
+    // Chamado pelo datasource-proxy logo após o executeQuery e antes do afterQuery.
+    @Override
+    public ResultSet createResultSet(ResultSet resultSet, ConnectionInfo connectionInfo, ProxyConfig proxyConfig) {
+        Execucao execucao = execucaoAtual.get();
+        if (execucao.inicio == 0 || !(execucao.amostrada || System.nanoTime() - execucao.inicio >= limiarNs)) {
+            return resultSet;
+        }
+
+        execucao.contador = new ContadorLinhas(resultSet);
+        return (ResultSet) Proxy.newProxyInstance(
+                ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class}, execucao.contador);
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Execucao execucao = execucaoAtual.get();
+        long duracaoNs = System.nanoTime() - execucao.inicio;
+        ContadorLinhas contador = execucao.contador;
+        execucao.inicio = 0;
+        execucao.contador = null;
+
+        if (contador == null && !execucao.amostrada && duracaoNs < limiarNs) {
+            return;
+        }
+
+        ConsultaMonitoradaDTO consulta = ConsultaMonitoradaDTO.builder()
+                .sql(queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; ")))
+                .duracaoMs(duracaoNs / 1_000_000)
+                .linhas(linhasAlteradas(execInfo.getResult()))
+                .lote(execInfo.isBatch() ? execInfo.getBatchSize() : 1)
+                .parametros(parametros(queryInfoList))
+                .origem(OrigemRequisicao.atual())
+                .amostrada(duracaoNs < limiarNs)
+                .ocorrencias(1)
+                .ocorridaEm(LocalDateTime.now())
+                .build();
+
+        // SELECT: as linhas só são conhecidas quando o ResultSet termina de ser lido.
+        if (contador != null) {
+            contador.pendente = consulta;
+        } else {
+            registrar(consulta);
+        }
+    }
+
+    public List<ConsultaMonitoradaDTO> maisLentas(int limite) {
+        return maisLentas.values().stream()
+                .sorted(Comparator.comparingLong(ConsultaMonitoradaDTO::getDuracaoMs).reversed())
+                .limit(limite)
+                .toList();
+    }
+
+    public void limpar() {
+        maisLentas.clear();
+    }
+
+    private void registrar(ConsultaMonitoradaDTO consulta) {
+        if (consulta.isAmostrada()) {
+            log.info("SQL amostrado {} ms, {} linha(s), lote {}, origem {}: {} | parâmetros {}",
+                    consulta.getDuracaoMs(), consulta.getLinhas(), consulta.getLote(),
+                    consulta.getOrigem(), consulta.getSql(), consulta.getParametros());
+        } else {
+            log.warn("SQL lento {} ms, {} linha(s), lote {}, origem {}: {} | parâmetros {}",
+                    consulta.getDuracaoMs(), consulta.getLinhas(), consulta.getLote(),
+                    consulta.getOrigem(), consulta.getSql(), consulta.getParametros());
+        }
+
+        maisLentas.merge(consulta.getSql(), consulta, (anterior, nova) -> {
+            ConsultaMonitoradaDTO maisLenta = nova.getDuracaoMs() > anterior.getDuracaoMs() ? nova : anterior;
+            return maisLenta.toBuilder().ocorrencias(anterior.getOcorrencias() + 1).build();
+        });
+
+        if (maisLentas.size() > maximoDistintas) {
+            maisLentas.values().stream()
+                    .min(Comparator.comparingLong(ConsultaMonitoradaDTO::getDuracaoMs))
+                    .ifPresent(maisRapida -> maisLentas.remove(maisRapida.getSql(), maisRapida));
+        }
+    }
+
+    private static long linhasAlteradas(Object resultado) {
+        if (resultado instanceof Integer linhas) {
+            return linhas;
+        }
+        if (resultado instanceof int[] linhasPorComando) {
+            long total = 0;
+            for (int linhas : linhasPorComando) {
+                total += Math.max(linhas, 0);
+            }
+            return total;
+        }
+        return -1;
+    }
+
+    private static String parametros(List<QueryInfo> queryInfoList) {
+        if (queryInfoList.isEmpty() || queryInfoList.get(0).getParametersList().isEmpty()) {
+            return "[]";
+        }
+
+        List<List<ParameterSetOperation>> conjuntos = queryInfoList.get(0).getParametersList();
+        String primeiro = conjuntos.get(0).stream()
+                .map(operacao -> operacao.getArgs()[0] + "=" + valor(operacao.getArgs().length > 1 ? operacao.getArgs()[1] : null))
+                .collect(Collectors.joining(", ", "[", "]"));
+
+        return conjuntos.size() > 1 ? primeiro + " (+" + (conjuntos.size() - 1) + " conjuntos)" : primeiro;
+    }
+
+    private static String valor(Object valor) {
+        String texto = String.valueOf(valor);
+        return texto.length() > TAMANHO_MAXIMO_PARAMETRO ? texto.substring(0, TAMANHO_MAXIMO_PARAMETRO) + "..." : texto;
+    }
+
+    private static final class Execucao {
+        private long inicio;
+        private boolean amostrada;
+        private ContadorLinhas contador;
+    }
+
+    private final class ContadorLinhas implements InvocationHandler {
+
+        private final ResultSet alvo;
+        private long linhas;
+        private ConsultaMonitoradaDTO pendente;
+
+        private ContadorLinhas(ResultSet alvo) {
+            this.alvo = alvo;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object resultado;
+            try {
+                resultado = method.invoke(alvo, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+
+            if ("next".equals(method.getName()) && Boolean.TRUE.equals(resultado)) {
+                linhas++;
+            } else if ("close".equals(method.getName()) && pendente != null) {
+                ConsultaMonitoradaDTO consulta = pendente.toBuilder().linhas(linhas).build();
+                pendente = null;
+                registrar(consulta);
+            }
+            return resultado;
+        }
+    }
+}
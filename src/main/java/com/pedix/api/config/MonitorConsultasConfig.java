@@ -0,0 +1,50 @@
+package com.pedix.api.config;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Substitui show-sql e o log de binds em TRACE: o DataSource principal passa pelo MonitorConsultas,
+ * que só escreve comandos lentos ou amostrados.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "pedix.sql.monitor.habilitado", havingValue = "true", matchIfMissing = true)
+public class MonitorConsultasConfig {
+
+    @Bean
+    public static MonitorConsultas monitorConsultas(
+            @Value("${pedix.sql.monitor.limiar-ms:200}") long limiarMs,
+            @Value("${pedix.sql.monitor.taxa-amostragem:0}") double taxaAmostragem,
+            @Value("${pedix.sql.monitor.maximo-distintas:500}") int maximoDistintas) {
+
+        return new MonitorConsultas(limiarMs, taxaAmostragem, maximoDistintas);
+    }
+
+    // Só o bean "dataSource": com a réplica habilitada, os pools de baixo não são embrulhados de novo.
+    // O monitor é resolvido aqui dentro para não ser criado junto com o post-processor, fora dos demais.
+    @Bean
+    public static BeanPostProcessor monitorConsultasDataSourcePostProcessor(ObjectProvider<MonitorConsultas> monitor) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)) {
+                    MonitorConsultas monitorConsultas = monitor.getObject();
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(monitorConsultas)
+                            .proxyResultSet()
+                            .jdbcProxyFactory(monitorConsultas)
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
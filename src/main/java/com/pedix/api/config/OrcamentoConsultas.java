@@ -0,0 +1,20 @@
+package com.pedix.api.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Número máximo de comandos SQL que o endpoint pode executar, independente de quantas linhas devolve.
+ * Fora de produção o ContadorConsultasFilter avisa quando o limite é ultrapassado e os testes
+ * verificam o limite pelo cabeçalho X-Query-Count.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface OrcamentoConsultas {
+
+    int value();
+}
@@ -0,0 +1,42 @@
+package com.pedix.api.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+// Identifica o controller que atende a requisição, para métricas e diagnósticos de SQL.
+public final class OrigemRequisicao {
+
+    private static final String PACOTE_API = "com.pedix.api.controller.api";
+    private static final String PACOTE_WEB = "com.pedix.api.controller.web";
+
+    private OrigemRequisicao() {
+    }
+
+    public static String camada(HttpServletRequest request) {
+        if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod metodo) {
+            String pacote = metodo.getBeanType().getPackageName();
+            if (pacote.equals(PACOTE_API)) {
+                return "api";
+            }
+            if (pacote.equals(PACOTE_WEB)) {
+                return "web";
+            }
+        }
+        return "outra";
+    }
+
+    /** {@code Controller.metodo} da requisição corrente ou, fora de requisições, o nome da thread. */
+    public static String atual() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes atributos) {
+            HttpServletRequest request = atributos.getRequest();
+            if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod metodo) {
+                return metodo.getBeanType().getSimpleName() + "." + metodo.getMethod().getName();
+            }
+            return request.getMethod() + " " + request.getRequestURI();
+        }
+        return "[" + Thread.currentThread().getName() + "]";
+    }
+}
@@ -0,0 +1,105 @@
+package com.pedix.api.config;
+
+import jakarta.servlet.http.HttpSession;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Envia transações somente leitura para a réplica e o resto para o primário.
+ * Deve ficar atrás de um LazyConnectionDataSourceProxy: a conexão só é escolhida no primeiro comando,
+ * quando o flag readOnly da transação já foi publicado.
+ * Depois que uma sessão grava, as leituras dela ficam no primário durante a janela de aderência.
+ */
+public class RoteadorLeituraDataSource extends AbstractRoutingDataSource {
+
+    enum Destino {
+        PRIMARIO,
+        REPLICA
+    }
+
+    private static final int MAXIMO_SESSOES = 10_000;
+
+    private final AtrasoReplica atrasoReplica;
+    private final long aderenciaEscritaMs;
+    private final Map<String, Long> ultimaEscrita = new ConcurrentHashMap<>();
+
+    public RoteadorLeituraDataSource(DataSource primario, DataSource replica,
+                                     AtrasoReplica atrasoReplica, long aderenciaEscritaMs) {
+        this.atrasoReplica = atrasoReplica;
+        this.aderenciaEscritaMs = aderenciaEscritaMs;
+        setTargetDataSources(Map.of(Destino.PRIMARIO, primario, Destino.REPLICA, replica));
+        setDefaultTargetDataSource(primario);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return Destino.PRIMARIO;
+        }
+
+        String sessao = sessaoAtual();
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            registrarEscrita(sessao);
+            return Destino.PRIMARIO;
+        }
+
+        if (sessao != null && escreveuRecentemente(sessao)) {
+            return Destino.PRIMARIO;
+        }
+
+        return atrasoReplica.aceitavel() ? Destino.REPLICA : Destino.PRIMARIO;
+    }
+
+    private void registrarEscrita(String sessao) {
+        if (sessao == null) {
+            return;
+        }
+
+        // A janela conta a partir do commit, quando a réplica começa a receber a alteração.
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    marcar(sessao);
+                }
+            });
+        } else {
+            marcar(sessao);
+        }
+    }
+
+    private void marcar(String sessao) {
+        long agora = System.currentTimeMillis();
+        if (ultimaEscrita.size() >= MAXIMO_SESSOES) {
+            ultimaEscrita.values().removeIf(instante -> agora - instante > aderenciaEscritaMs);
+        }
+        ultimaEscrita.put(sessao, agora);
+    }
+
+    private boolean escreveuRecentemente(String sessao) {
+        Long instante = ultimaEscrita.get(sessao);
+        return instante != null && System.currentTimeMillis() - instante <= aderenciaEscritaMs;
+    }
+
+    private static String sessaoAtual() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes atributos) {
+            HttpSession sessao = atributos.getRequest().getSession(false);
+            if (sessao != null) {
+                return "sessao:" + sessao.getId();
+            }
+        }
+
+        Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+        return autenticacao != null && autenticacao.isAuthenticated() ? "usuario:" + autenticacao.getName() : null;
+    }
+}
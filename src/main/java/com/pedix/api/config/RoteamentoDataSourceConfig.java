@@ -0,0 +1,62 @@
+package com.pedix.api.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Pools separados para primário e réplica quando {@code pedix.datasource.roteamento.habilitado=true}.
+ * O primário continua configurado por {@code spring.datasource.*}; a réplica por {@code pedix.datasource.replica.*}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "pedix.datasource.roteamento.habilitado", havingValue = "true")
+public class RoteamentoDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primarioDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("pedix-primario");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("pedix.datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("pedix-replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public AtrasoReplica atrasoReplica(
+            @Qualifier("replicaDataSource") DataSource replica,
+            @Value("${pedix.datasource.roteamento.consulta-atraso:}") String consultaAtraso,
+            @Value("${pedix.datasource.roteamento.maximo-atraso-ms:2000}") long maximoAtrasoMs) {
+
+        return new AtrasoReplica(replica, consultaAtraso, maximoAtrasoMs);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primarioDataSource") DataSource primario,
+            @Qualifier("replicaDataSource") DataSource replica,
+            AtrasoReplica atrasoReplica,
+            @Value("${pedix.datasource.roteamento.aderencia-escrita-ms:5000}") long aderenciaEscritaMs) {
+
+        RoteadorLeituraDataSource roteador = new RoteadorLeituraDataSource(primario, replica, atrasoReplica, aderenciaEscritaMs);
+        roteador.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(roteador);
+    }
+}
@@ -1,21 +1,65 @@
 package com.pedix.api.config;
 
+import com.pedix.api.service.TokenAcessoService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 
 @Configuration
 public class SecurityConfig {
 
+    /**
+     * Cadeia da API REST e do Actuator: sem sessão, aceita token Bearer emitido em /api/auth/token ou Basic.
+     * O Basic passa pelo BCrypt; com o cache ligado, só a primeira chamada de cada senha paga esse custo.
+     */
     @Bean
+    @Order(1)
+    public SecurityFilterChain apiSecurityFilterChain(
+            HttpSecurity http,
+            InMemoryUserDetailsManager usuarios,
+            PasswordEncoder passwordEncoder,
+            TokenAcessoService tokenAcessoService,
+            @Value("${pedix.seguranca.basic.cache-credenciais:false}") boolean cacheCredenciais,
+            @Value("${pedix.seguranca.basic.cache-validade-ms:300000}") long cacheValidadeMs,
+            @Value("${pedix.seguranca.basic.cache-maximo-entradas:1000}") int cacheMaximoEntradas) throws Exception {
+
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(usuarios);
+        provider.setPasswordEncoder(cacheCredenciais
+                ? new CredenciaisVerificadasCache(passwordEncoder, cacheValidadeMs, cacheMaximoEntradas)
+                : passwordEncoder);
+
+        http
+                .securityMatcher("/api/**", "/actuator/**")
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers(HttpMethod.POST, "/api/auth/token").authenticated()
+                        .anyRequest().hasRole("ADMIN")
+                )
+                .authenticationManager(new ProviderManager(provider))
+                .sessionManagement(sessao -> sessao.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .addFilterBefore(new TokenAcessoFilter(tokenAcessoService), BasicAuthenticationFilter.class)
+                .httpBasic(Customizer.withDefaults())
+                .csrf(csrf -> csrf.disable());
+
+        return http.build();
+    }
+
+    @Bean
+    @Order(2)
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
                 .authorizeHttpRequests(auth -> auth
@@ -23,7 +67,8 @@ public class SecurityConfig {
                                 "/login",
                                 "/css/**",
                                 "/images/**",
-                                "/favicon.ico"
+                                "/favicon.ico",
+                                "/error"
                         ).permitAll()
 
                         .requestMatchers("/", "/home", "/403").authenticated()
@@ -60,8 +105,6 @@ public class SecurityConfig {
                         .requestMatchers("/pedidos/excluir/**")
                         .hasRole("ADMIN")
 
-                        .requestMatchers("/api/**").hasRole("ADMIN")
-
                         .anyRequest().authenticated()
                 )
                 .formLogin(form -> form
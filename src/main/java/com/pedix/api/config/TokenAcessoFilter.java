@@ -0,0 +1,48 @@
+package com.pedix.api.config;
+
+import com.pedix.api.service.TokenAcessoService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Optional;
+
+// Não é @Component: só entra na cadeia da API, montada em SecurityConfig.
+@RequiredArgsConstructor
+public class TokenAcessoFilter extends OncePerRequestFilter {
+
+    private static final String PREFIXO = TokenAcessoService.TIPO + " ";
+
+    private final TokenAcessoService tokenAcessoService;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        String cabecalho = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (cabecalho == null || !cabecalho.regionMatches(true, 0, PREFIXO, 0, PREFIXO.length())) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        Optional<Authentication> autenticacao = tokenAcessoService.validar(cabecalho.substring(PREFIXO.length()).trim());
+        if (autenticacao.isEmpty()) {
+            response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer error=\"invalid_token\"");
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Token inválido ou expirado.");
+            return;
+        }
+
+        SecurityContext contexto = SecurityContextHolder.createEmptyContext();
+        contexto.setAuthentication(autenticacao.get());
+        SecurityContextHolder.setContext(contexto);
+        chain.doFilter(request, response);
+    }
+}
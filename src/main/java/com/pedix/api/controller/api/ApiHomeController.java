@@ -38,9 +38,9 @@ public class ApiHomeController {
         return EntityModel.of(
                 mensagem,
                 linkTo(methodOn(ApiHomeController.class).home()).withSelfRel(),
-                linkTo(methodOn(PedidoController.class).listarTodos()).withRel("pedidos"),
-                linkTo(methodOn(ItemCardapioController.class).listar(null, null)).withRel("cardapio"),
-                linkTo(methodOn(PedidoItemController.class).listarTodos()).withRel("itens-pedido"),
+                linkTo(methodOn(PedidoController.class).listarTodos(null, null)).withRel("pedidos"),
+                linkTo(methodOn(ItemCardapioController.class).listar(null, null, null, null)).withRel("cardapio"),
+                linkTo(methodOn(PedidoItemController.class).listarTodos(null, null)).withRel("itens-pedido"),
                 Link.of("/swagger-ui/index.html").withRel("swagger-ui")
         );
     }
@@ -0,0 +1,36 @@
+package com.pedix.api.controller.api;
+
+import com.pedix.api.dto.TokenAcessoDTO;
+import com.pedix.api.service.TokenAcessoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/auth")
+@RequiredArgsConstructor
+@Tag(
+        name = "Autenticação",
+        description = """
+        Troca uma autenticação Basic por um token Bearer de curta duração.
+        As chamadas seguintes validam apenas a assinatura do token, sem BCrypt.
+        """
+)
+public class AutenticacaoController {
+
+    private final TokenAcessoService tokenAcessoService;
+
+    @Operation(summary = "Emitir token de acesso")
+    @PostMapping("/token")
+    public ResponseEntity<TokenAcessoDTO> emitir(Authentication autenticacao) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(tokenAcessoService.emitir(autenticacao));
+    }
+}
@@ -0,0 +1,68 @@
+package com.pedix.api.controller.api;
+
+import com.pedix.api.config.MonitorConsultas;
+import com.pedix.api.dto.ConsistenciaResumoDTO;
+import com.pedix.api.dto.ConsultaMonitoradaDTO;
+import com.pedix.api.service.ResumoPedidos;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/diagnostico")
+@RequiredArgsConstructor
+@Tag(
+        name = "Diagnóstico",
+        description = """
+        Comandos SQL mais lentos registrados pelo monitor de consultas
+        (acima do limiar de latência ou sorteados pela amostragem) e conferência do resumo de pedidos.
+        """
+)
+public class DiagnosticoController {
+
+    private static final int LIMITE_MAXIMO = 100;
+
+    // Ausente com pedix.sql.monitor.habilitado=false.
+    private final ObjectProvider<MonitorConsultas> monitorConsultas;
+    private final ResumoPedidos resumoPedidos;
+
+    @Operation(summary = "Listar os comandos SQL mais lentos")
+    @GetMapping("/consultas-lentas")
+    public ResponseEntity<List<ConsultaMonitoradaDTO>> consultasLentas(
+            @RequestParam(defaultValue = "20") int limite) {
+
+        MonitorConsultas monitor = monitorConsultas.getIfAvailable();
+        if (monitor == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(monitor.maisLentas(Math.max(1, Math.min(limite, LIMITE_MAXIMO))));
+    }
+
+    @Operation(summary = "Zerar o ranking de comandos SQL lentos")
+    @DeleteMapping("/consultas-lentas")
+    public ResponseEntity<Void> limpar() {
+        MonitorConsultas monitor = monitorConsultas.getIfAvailable();
+        if (monitor == null) {
+            return ResponseEntity.notFound().build();
+        }
+        monitor.limpar();
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "Conferir o resumo materializado de pedidos contra os pedidos")
+    @GetMapping("/resumo-pedidos")
+    public ResponseEntity<ConsistenciaResumoDTO> verificarResumoPedidos() {
+        return ResponseEntity.ok(resumoPedidos.verificar());
+    }
+
+    @Operation(summary = "Reconstruir o resumo materializado de pedidos a partir dos pedidos")
+    @PostMapping("/resumo-pedidos/reconstrucao")
+    public ResponseEntity<ResumoPedidos.Reconstrucao> reconstruirResumoPedidos() {
+        return ResponseEntity.ok(resumoPedidos.reconstruir());
+    }
+}
@@ -1,14 +1,19 @@
 package com.pedix.api.controller.api;
 
+import com.pedix.api.config.OrcamentoConsultas;
 import com.pedix.api.domain.ItemCardapio;
 import com.pedix.api.domain.enums.CategoriaItem;
+import com.pedix.api.dto.CacheCardapioDTO;
 import com.pedix.api.dto.ItemCardapioDTO;
+import com.pedix.api.dto.Pagina;
 import com.pedix.api.service.ItemCardapioService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -36,30 +41,38 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 public class ItemCardapioController {
 
     private final ItemCardapioService service;
+    private final ModelosLinks modelosLinks;
 
     @Operation(summary = "Listar itens do cardápio")
+    @OrcamentoConsultas(1)
     @GetMapping
     public ResponseEntity<List<EntityModel<ItemCardapio>>> listar(
             @RequestParam(required = false) CategoriaItem categoria,
-            @RequestParam(required = false) String busca) {
+            @RequestParam(required = false) String busca,
+            @RequestParam(required = false) Long apos,
+            @RequestParam(required = false) Integer limite) {
 
-        List<ItemCardapio> itens;
+        int tamanho = Pagina.limite(limite);
+        Pagina<ItemCardapio> pagina = service.listarDisponiveisPagina(categoria, busca, apos, tamanho);
+        ModelosLinks.Modelos links = modelosLinks.daRequisicao();
 
-        if (busca != null && !busca.trim().isEmpty()) {
-            itens = service.buscarDisponiveisPorNome(busca);
-        } else if (categoria != null) {
-            itens = service.listarPorCategoria(categoria);
-        } else {
-            itens = service.listarDisponiveis();
-        }
-
-        List<EntityModel<ItemCardapio>> resposta = itens.stream()
+        List<EntityModel<ItemCardapio>> resposta = pagina.itens().stream()
                 .map(item -> EntityModel.of(item,
-                        linkTo(methodOn(ItemCardapioController.class).buscarPorId(item.getId())).withSelfRel(),
-                        linkTo(methodOn(ItemCardapioController.class).listar(null, null)).withRel("todos_itens")))
+                        links.itemCardapio().self(item.getId()),
+                        links.todosItensCardapio()))
                 .collect(Collectors.toList());
 
-        return ResponseEntity.ok(resposta);
+        Link proxima = pagina.temProxima()
+                ? linkTo(methodOn(ItemCardapioController.class).listar(categoria, busca, pagina.proximo(), tamanho)).withRel(IanaLinkRelations.NEXT)
+                : null;
+
+        return PaginacaoLinks.responder(resposta, proxima);
+    }
+
+    @Operation(summary = "Estatísticas do cache do cardápio")
+    @GetMapping("/cache")
+    public ResponseEntity<CacheCardapioDTO> cache() {
+        return ResponseEntity.ok(service.estatisticasCache());
     }
 
     @Operation(summary = "Buscar item por ID")
@@ -69,7 +82,7 @@ public class ItemCardapioController {
 
         EntityModel<ItemCardapio> model = EntityModel.of(item,
                 linkTo(methodOn(ItemCardapioController.class).buscarPorId(id)).withSelfRel(),
-                linkTo(methodOn(ItemCardapioController.class).listar(null, null)).withRel("todos_itens"));
+                linkTo(methodOn(ItemCardapioController.class).listar(null, null, null, null)).withRel("todos_itens"));
 
         return ResponseEntity.ok(model);
     }
@@ -90,7 +103,7 @@ public class ItemCardapioController {
                 "item", salvo,
                 "_links", Map.of(
                         "self", linkTo(methodOn(ItemCardapioController.class).buscarPorId(salvo.getId())).toUri(),
-                        "todos_itens", linkTo(methodOn(ItemCardapioController.class).listar(null, null)).toUri()
+                        "todos_itens", linkTo(methodOn(ItemCardapioController.class).listar(null, null, null, null)).toUri()
                 )
         );
 
@@ -110,7 +123,7 @@ public class ItemCardapioController {
                 "item", atualizado,
                 "_links", Map.of(
                         "self", linkTo(methodOn(ItemCardapioController.class).buscarPorId(atualizado.getId())).toUri(),
-                        "todos_itens", linkTo(methodOn(ItemCardapioController.class).listar(null, null)).toUri()
+                        "todos_itens", linkTo(methodOn(ItemCardapioController.class).listar(null, null, null, null)).toUri()
                 )
         );
 
@@ -0,0 +1,83 @@
+package com.pedix.api.controller.api;
+
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+/**
+ * Links das listagens montados uma vez por URI base com linkTo(methodOn(...)) e depois só expandidos
+ * por concatenação. Cada linkTo cria um proxy CGLIB e relê a requisição; numa página de 200 linhas
+ * isso pesava tanto quanto a consulta.
+ * <p>
+ * Os modelos são gerados pelo próprio linkTo com um id marcador, então o href sai igual ao de antes.
+ */
+@Component
+public class ModelosLinks {
+
+    private static final long MARCADOR = 7_318_204_659_151_937L;
+    private static final int MAXIMO_BASES = 64;
+
+    private final Map<String, Modelos> porBase = new ConcurrentHashMap<>();
+
+    /** Modelos para a URI base da requisição corrente (esquema, host, porta e contexto). */
+    public Modelos daRequisicao() {
+        String base = ServletUriComponentsBuilder.fromCurrentServletMapping().build().toUriString();
+        Modelos modelos = porBase.get(base);
+        if (modelos != null) {
+            return modelos;
+        }
+
+        // A base vem de cabeçalhos do cliente; limita o mapa em vez de deixá-lo crescer sem controle.
+        if (porBase.size() >= MAXIMO_BASES) {
+            porBase.clear();
+        }
+        return porBase.computeIfAbsent(base, b -> montar());
+    }
+
+    private static Modelos montar() {
+        return new Modelos(
+                porId(linkTo(methodOn(PedidoController.class).obter(MARCADOR)).withSelfRel()),
+                linkTo(methodOn(PedidoController.class).listarTodos(null, null)).withRel("todos_pedidos"),
+                porId(linkTo(methodOn(PedidoItemController.class).buscarPorId(MARCADOR)).withSelfRel()),
+                linkTo(methodOn(PedidoItemController.class).listarTodos(null, null)).withRel("todos_itens"),
+                porId(linkTo(methodOn(ItemCardapioController.class).buscarPorId(MARCADOR)).withSelfRel()),
+                linkTo(methodOn(ItemCardapioController.class).listar(null, null, null, null)).withRel("todos_itens"));
+    }
+
+    private static LinkPorId porId(Link link) {
+        String href = link.getHref();
+        int posicao = href.lastIndexOf(Long.toString(MARCADOR));
+        if (posicao < 0) {
+            throw new IllegalStateException("Marcador não encontrado no link: " + href);
+        }
+        return new LinkPorId(href.substring(0, posicao), href.substring(posicao + Long.toString(MARCADOR).length()));
+    }
+
+    public record Modelos(
+            LinkPorId pedido,
+            Link todosPedidos,
+            LinkPorId pedidoItem,
+            Link todosItensPedido,
+            LinkPorId itemCardapio,
+            Link todosItensCardapio) {
+    }
+
+    public record LinkPorId(String prefixo, String sufixo) {
+
+        public Link self(Long id) {
+            return com(id, IanaLinkRelations.SELF);
+        }
+
+        public Link com(Long id, LinkRelation rel) {
+            return Link.of(prefixo + id + sufixo, rel);
+        }
+    }
+}
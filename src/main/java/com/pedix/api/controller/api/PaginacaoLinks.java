@@ -0,0 +1,35 @@
+package com.pedix.api.controller.api;
+
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+final class PaginacaoLinks {
+
+    private PaginacaoLinks() {
+    }
+
+    static <T> ResponseEntity<List<EntityModel<T>>> responder(List<EntityModel<T>> modelos, Link proxima) {
+        if (proxima == null || modelos.isEmpty()) {
+            return ResponseEntity.ok(modelos);
+        }
+
+        modelos.get(modelos.size() - 1).add(proxima);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.LINK, proxima.toString())
+                .body(modelos);
+    }
+
+    static <T> ResponseEntity<List<T>> responderLista(List<T> itens, Link proxima) {
+        if (proxima == null) {
+            return ResponseEntity.ok(itens);
+        }
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.LINK, proxima.toString())
+                .body(itens);
+    }
+}
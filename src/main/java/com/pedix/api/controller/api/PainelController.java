@@ -0,0 +1,47 @@
+package com.pedix.api.controller.api;
+
+import com.pedix.api.domain.enums.EstacaoPreparo;
+import com.pedix.api.domain.enums.StatusPedido;
+import com.pedix.api.dto.PainelPedidoDTO;
+import com.pedix.api.service.PainelPedidos;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/painel")
+@RequiredArgsConstructor
+@Tag(
+        name = "Painel",
+        description = """
+        Painel em memória dos pedidos em preparo e prontos, separado por estação.
+        Cozinha recebe pratos e sobremesas; o bar recebe as bebidas.
+        """
+)
+public class PainelController {
+
+    private final PainelPedidos painel;
+
+    @Operation(summary = "Listar pedidos ativos de todas as estações")
+    @GetMapping
+    public ResponseEntity<Map<EstacaoPreparo, List<PainelPedidoDTO>>> listarTodas(
+            @RequestParam(required = false) Set<StatusPedido> status) {
+
+        return ResponseEntity.ok(painel.listarTodas(status));
+    }
+
+    @Operation(summary = "Listar pedidos ativos de uma estação")
+    @GetMapping("/{estacao}")
+    public ResponseEntity<List<PainelPedidoDTO>> listar(
+            @PathVariable EstacaoPreparo estacao,
+            @RequestParam(required = false) Set<StatusPedido> status) {
+
+        return ResponseEntity.ok(painel.listar(estacao, status));
+    }
+}
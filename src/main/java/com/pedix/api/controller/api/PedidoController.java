@@ -1,25 +1,52 @@
 package com.pedix.api.controller.api;
 
-import com.pedix.api.domain.Pedido;
+import com.pedix.api.config.OrcamentoConsultas;
+import com.pedix.api.domain.enums.FormatoExportacao;
+import com.pedix.api.domain.enums.ModoLote;
+import com.pedix.api.domain.enums.ResultadoTransicao;
 import com.pedix.api.domain.enums.StatusPedido;
+import com.pedix.api.dto.FiltroExportacaoPedidos;
+import com.pedix.api.dto.LotePedidosDTO;
+import com.pedix.api.dto.Pagina;
 import com.pedix.api.dto.PedidoDTO;
 import com.pedix.api.dto.PedidoResponseDTO;
+import com.pedix.api.dto.PedidoResumoDTO;
+import com.pedix.api.dto.RecebimentoPedidoDTO;
+import com.pedix.api.dto.ResultadoLotePedidoDTO;
+import com.pedix.api.dto.StatusEmLoteDTO;
+import com.pedix.api.dto.TransicaoStatusDTO;
+import com.pedix.api.service.ExportacaoPedidos;
+import com.pedix.api.service.PedidoEventoHub;
 import com.pedix.api.service.PedidoService;
+import com.pedix.api.service.RecebimentoPedidos;
+import com.pedix.api.service.ResumoPedidos;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.hateoas.Link;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
@@ -38,41 +65,122 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 public class PedidoController {
 
     private final PedidoService service;
+    private final PedidoEventoHub eventoHub;
+    private final RecebimentoPedidos recebimento;
+    private final ModelosLinks modelosLinks;
+    private final ExportacaoPedidos exportacao;
+    private final ResumoPedidos resumos;
 
     @Operation(summary = "Listar todos os pedidos")
+    @OrcamentoConsultas(3)
     @GetMapping
-    public ResponseEntity<List<EntityModel<PedidoResponseDTO>>> listarTodos() {
-        List<EntityModel<PedidoResponseDTO>> resposta = service.listarTodos().stream()
-                .map(service::toResponse)
+    public ResponseEntity<List<EntityModel<PedidoResponseDTO>>> listarTodos(
+            @RequestParam(required = false) Long apos,
+            @RequestParam(required = false) Integer limite) {
+
+        int tamanho = Pagina.limite(limite);
+        Pagina<PedidoResponseDTO> pagina = service.listarPaginaResponse(apos, tamanho);
+        ModelosLinks.Modelos links = modelosLinks.daRequisicao();
+
+        List<EntityModel<PedidoResponseDTO>> resposta = pagina.itens().stream()
                 .map(dto -> EntityModel.of(dto,
-                        linkTo(methodOn(PedidoController.class).obter(dto.getId())).withSelfRel(),
-                        linkTo(methodOn(PedidoController.class).listarTodos()).withRel("todos_pedidos")))
+                        links.pedido().self(dto.getId()),
+                        links.todosPedidos()))
                 .collect(Collectors.toList());
 
-        return ResponseEntity.ok(resposta);
+        Link proxima = pagina.temProxima()
+                ? linkTo(methodOn(PedidoController.class).listarTodos(pagina.proximo(), tamanho)).withRel(IanaLinkRelations.NEXT)
+                : null;
+
+        return PaginacaoLinks.responder(resposta, proxima);
+    }
+
+    @Operation(summary = "Listar pedidos em cartões (sem itens), lidos do resumo materializado")
+    @OrcamentoConsultas(1)
+    @GetMapping("/resumos")
+    public ResponseEntity<List<EntityModel<PedidoResumoDTO>>> listarResumos(
+            @RequestParam(required = false) String garcom,
+            @RequestParam(required = false) Long apos,
+            @RequestParam(required = false) Integer limite) {
+
+        int tamanho = Pagina.limite(limite);
+        Pagina<PedidoResumoDTO> pagina = garcom != null
+                ? resumos.listarPorGarcom(garcom, apos, tamanho)
+                : resumos.listar(apos, tamanho);
+        ModelosLinks.Modelos links = modelosLinks.daRequisicao();
+
+        List<EntityModel<PedidoResumoDTO>> resposta = pagina.itens().stream()
+                .map(dto -> EntityModel.of(dto, links.pedido().self(dto.getId())))
+                .collect(Collectors.toList());
+
+        Link proxima = pagina.temProxima()
+                ? linkTo(methodOn(PedidoController.class).listarResumos(garcom, pagina.proximo(), tamanho)).withRel(IanaLinkRelations.NEXT)
+                : null;
+
+        return PaginacaoLinks.responder(resposta, proxima);
     }
 
     @Operation(summary = "Buscar pedido por ID")
+    @OrcamentoConsultas(2)
     @GetMapping("/{id}")
     public ResponseEntity<EntityModel<PedidoResponseDTO>> obter(@PathVariable Long id) {
-        Pedido pedido = service.buscarPorId(id);
-        PedidoResponseDTO dto = service.toResponse(pedido);
+        PedidoResponseDTO dto = service.buscarResponsePorId(id);
 
         EntityModel<PedidoResponseDTO> model = EntityModel.of(dto,
                 linkTo(methodOn(PedidoController.class).obter(id)).withSelfRel(),
-                linkTo(methodOn(PedidoController.class).listarTodos()).withRel("todos_pedidos"));
+                linkTo(methodOn(PedidoController.class).listarTodos(null, null)).withRel("todos_pedidos"));
 
         return ResponseEntity.ok(model);
     }
 
     @Operation(summary = "Listar pedidos por comanda")
+    @OrcamentoConsultas(3)
     @GetMapping("/comanda/{comandaId}")
-    public ResponseEntity<List<PedidoResponseDTO>> listarPorComanda(@PathVariable Long comandaId) {
-        List<PedidoResponseDTO> resposta = service.listarPorComanda(comandaId).stream()
-                .map(service::toResponse)
-                .collect(Collectors.toList());
+    public ResponseEntity<List<PedidoResponseDTO>> listarPorComanda(
+            @PathVariable Long comandaId,
+            @RequestParam(required = false) Long apos,
+            @RequestParam(required = false) Integer limite) {
+
+        int tamanho = Pagina.limite(limite);
+        Pagina<PedidoResponseDTO> pagina = service.listarPorComandaPaginaResponse(comandaId, apos, tamanho);
 
-        return ResponseEntity.ok(resposta);
+        Link proxima = pagina.temProxima()
+                ? linkTo(methodOn(PedidoController.class).listarPorComanda(comandaId, pagina.proximo(), tamanho)).withRel(IanaLinkRelations.NEXT)
+                : null;
+
+        return PaginacaoLinks.responderLista(pagina.itens(), proxima);
+    }
+
+    @Operation(summary = "Exportar pedidos e itens em NDJSON ou CSV, com filtro por período e status")
+    @GetMapping("/exportacao")
+    public ResponseEntity<StreamingResponseBody> exportar(
+            @RequestParam(defaultValue = "NDJSON") FormatoExportacao formato,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate de,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate ate,
+            @RequestParam(required = false) Set<StatusPedido> status) {
+
+        FiltroExportacaoPedidos filtro = new FiltroExportacaoPedidos(de, ate, status);
+        MediaType tipo = formato == FormatoExportacao.CSV
+                ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                : MediaType.APPLICATION_NDJSON;
+
+        return ResponseEntity.ok()
+                .contentType(tipo)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("pedidos." + formato.name().toLowerCase())
+                        .build()
+                        .toString())
+                .body(saida -> exportacao.exportar(filtro, formato, saida));
+    }
+
+    @Operation(summary = "Acompanhar pedidos em tempo real (Server-Sent Events)")
+    @GetMapping(value = "/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter eventos(
+            @RequestParam(required = false) Set<StatusPedido> status,
+            @RequestParam(required = false) Long comandaId,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long ultimoEventoId) {
+
+        return eventoHub.assinar(new PedidoEventoHub.Filtro(status, comandaId), ultimoEventoId);
     }
 
     @Operation(summary = "Criar novo pedido vinculado a uma comanda")
@@ -85,6 +193,19 @@ public class PedidoController {
 
         String loginGarcom = authentication != null ? authentication.getName() : "api";
 
+        if (recebimento.ativo()) {
+            RecebimentoPedidoDTO recebido = recebimento.receber(comandaId, dto, loginGarcom);
+            URI acompanhamento = uri.path("/api/pedido/recebimentos/{rastreio}").buildAndExpand(recebido.getRastreio()).toUri();
+
+            Map<String, Object> body = Map.of(
+                    "mensagem", "Pedido recebido e aguardando gravação.",
+                    "recebimento", recebido,
+                    "_links", Map.of("acompanhamento", acompanhamento)
+            );
+
+            return ResponseEntity.accepted().location(acompanhamento).body(body);
+        }
+
         PedidoResponseDTO resp = service.criarPedido(comandaId, dto, loginGarcom);
         URI location = uri.path("/api/pedido/{id}").buildAndExpand(resp.getId()).toUri();
 
@@ -93,27 +214,90 @@ public class PedidoController {
                 "pedido", resp,
                 "_links", Map.of(
                         "self", linkTo(methodOn(PedidoController.class).obter(resp.getId())).toUri(),
-                        "todos_pedidos", linkTo(methodOn(PedidoController.class).listarTodos()).toUri()
+                        "todos_pedidos", linkTo(methodOn(PedidoController.class).listarTodos(null, null)).toUri()
                 )
         );
 
         return ResponseEntity.created(location).body(body);
     }
 
+    @Operation(summary = "Consultar situação de um pedido recebido de forma assíncrona")
+    @GetMapping("/recebimentos/{rastreio}")
+    public ResponseEntity<EntityModel<RecebimentoPedidoDTO>> consultarRecebimento(@PathVariable String rastreio) {
+        RecebimentoPedidoDTO situacao = recebimento.consultar(rastreio)
+                .orElseThrow(() -> new EntityNotFoundException("Recebimento não encontrado: " + rastreio));
+
+        EntityModel<RecebimentoPedidoDTO> model = EntityModel.of(situacao,
+                linkTo(methodOn(PedidoController.class).consultarRecebimento(rastreio)).withSelfRel());
+
+        if (situacao.getPedidoId() != null) {
+            model.add(linkTo(methodOn(PedidoController.class).obter(situacao.getPedidoId())).withRel("pedido"));
+        }
+
+        return ResponseEntity.ok(model);
+    }
+
+    @Operation(summary = "Criar vários pedidos de uma vez (sincronização de tablets/PDV)")
+    @PostMapping("/lote")
+    public ResponseEntity<Map<String, Object>> criarEmLote(
+            @Valid @RequestBody LotePedidosDTO dto,
+            @RequestParam(required = false) ModoLote modo,
+            Authentication authentication) {
+
+        String loginGarcom = authentication != null ? authentication.getName() : "api";
+
+        List<ResultadoLotePedidoDTO> resultados = service.criarEmLote(dto.getPedidos(), modo, loginGarcom);
+        long criados = resultados.stream().filter(ResultadoLotePedidoDTO::isCriado).count();
+
+        Map<String, Object> body = Map.of(
+                "mensagem", criados + " de " + resultados.size() + " pedidos criados.",
+                "resultados", resultados,
+                "_links", Map.of(
+                        "todos_pedidos", linkTo(methodOn(PedidoController.class).listarTodos(null, null)).toUri()
+                )
+        );
+
+        HttpStatus status = criados == 0 ? HttpStatus.UNPROCESSABLE_ENTITY
+                : criados < resultados.size() ? HttpStatus.MULTI_STATUS
+                : HttpStatus.CREATED;
+
+        return ResponseEntity.status(status).body(body);
+    }
+
     @Operation(summary = "Atualizar status do pedido")
     @PutMapping("/{id}/status")
     public ResponseEntity<Map<String, Object>> atualizarStatus(
             @PathVariable Long id,
             @RequestParam StatusPedido status) {
 
-        PedidoResponseDTO atualizado = service.atualizarStatus(id, status);
+        PedidoResponseDTO atualizado = service.atualizarStatusResponse(id, status);
 
         Map<String, Object> body = Map.of(
                 "mensagem", "Status do pedido atualizado com sucesso!",
                 "pedido", atualizado,
                 "_links", Map.of(
                         "self", linkTo(methodOn(PedidoController.class).obter(atualizado.getId())).toUri(),
-                        "todos_pedidos", linkTo(methodOn(PedidoController.class).listarTodos()).toUri()
+                        "todos_pedidos", linkTo(methodOn(PedidoController.class).listarTodos(null, null)).toUri()
+                )
+        );
+
+        return ResponseEntity.ok(body);
+    }
+
+    @Operation(summary = "Atualizar status de vários pedidos de uma vez")
+    @PutMapping("/status")
+    public ResponseEntity<Map<String, Object>> atualizarStatusEmLote(@Valid @RequestBody StatusEmLoteDTO dto) {
+        List<TransicaoStatusDTO> resultados = service.atualizarStatusEmLote(dto.getIds(), dto.getStatus());
+
+        long alterados = resultados.stream()
+                .filter(resultado -> resultado.getResultado() == ResultadoTransicao.ALTERADO)
+                .count();
+
+        Map<String, Object> body = Map.of(
+                "mensagem", alterados + " de " + resultados.size() + " pedidos atualizados para " + dto.getStatus() + ".",
+                "resultados", resultados,
+                "_links", Map.of(
+                        "todos_pedidos", linkTo(methodOn(PedidoController.class).listarTodos(null, null)).toUri()
                 )
         );
 
@@ -1,5 +1,7 @@
 package com.pedix.api.controller.api;
 
+import com.pedix.api.config.OrcamentoConsultas;
+import com.pedix.api.dto.Pagina;
 import com.pedix.api.dto.PedidoItemRequestDTO;
 import com.pedix.api.dto.PedidoItemResponseDTO;
 import com.pedix.api.service.PedidoItemService;
@@ -8,6 +10,9 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -31,28 +36,42 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
 public class PedidoItemController {
 
     private final PedidoItemService service;
+    private final ModelosLinks modelosLinks;
 
     @Operation(summary = "Listar todos os itens de pedido")
+    @OrcamentoConsultas(2)
     @GetMapping
-    public ResponseEntity<List<EntityModel<PedidoItemResponseDTO>>> listarTodos() {
-        List<EntityModel<PedidoItemResponseDTO>> resposta = service.listarTodosDTO().stream()
+    public ResponseEntity<List<EntityModel<PedidoItemResponseDTO>>> listarTodos(
+            @RequestParam(required = false) Long apos,
+            @RequestParam(required = false) Integer limite) {
+
+        int tamanho = Pagina.limite(limite);
+        Pagina<PedidoItemResponseDTO> pagina = service.listarPaginaDTO(apos, tamanho);
+        ModelosLinks.Modelos links = modelosLinks.daRequisicao();
+
+        List<EntityModel<PedidoItemResponseDTO>> resposta = pagina.itens().stream()
                 .map(dto -> EntityModel.of(dto,
-                        linkTo(methodOn(PedidoItemController.class).buscarPorId(dto.getId())).withSelfRel(),
-                        linkTo(methodOn(PedidoItemController.class).listarTodos()).withRel("todos_itens"),
-                        linkTo(methodOn(PedidoController.class).obter(dto.getPedidoId())).withRel("pedido")))
+                        links.pedidoItem().self(dto.getId()),
+                        links.todosItensPedido(),
+                        links.pedido().com(dto.getPedidoId(), LinkRelation.of("pedido"))))
                 .collect(Collectors.toList());
 
-        return ResponseEntity.ok(resposta);
+        Link proxima = pagina.temProxima()
+                ? linkTo(methodOn(PedidoItemController.class).listarTodos(pagina.proximo(), tamanho)).withRel(IanaLinkRelations.NEXT)
+                : null;
+
+        return PaginacaoLinks.responder(resposta, proxima);
     }
 
     @Operation(summary = "Buscar item de pedido por ID")
+    @OrcamentoConsultas(2)
     @GetMapping("/{id}")
     public ResponseEntity<EntityModel<PedidoItemResponseDTO>> buscarPorId(@PathVariable Long id) {
         PedidoItemResponseDTO dto = service.buscarDTOPorId(id);
 
         EntityModel<PedidoItemResponseDTO> model = EntityModel.of(dto,
                 linkTo(methodOn(PedidoItemController.class).buscarPorId(id)).withSelfRel(),
-                linkTo(methodOn(PedidoItemController.class).listarTodos()).withRel("todos_itens"),
+                linkTo(methodOn(PedidoItemController.class).listarTodos(null, null)).withRel("todos_itens"),
                 linkTo(methodOn(PedidoController.class).obter(dto.getPedidoId())).withRel("pedido"));
 
         return ResponseEntity.ok(model);
@@ -74,7 +93,7 @@ public class PedidoItemController {
                 "item", resp,
                 "_links", Map.of(
                         "self", linkTo(methodOn(PedidoItemController.class).buscarPorId(resp.getId())).toUri(),
-                        "todos_itens", linkTo(methodOn(PedidoItemController.class).listarTodos()).toUri(),
+                        "todos_itens", linkTo(methodOn(PedidoItemController.class).listarTodos(null, null)).toUri(),
                         "pedido", linkTo(methodOn(PedidoController.class).obter(resp.getPedidoId())).toUri()
                 )
         );
@@ -95,7 +114,7 @@ public class PedidoItemController {
                 "item", atualizado,
                 "_links", Map.of(
                         "self", linkTo(methodOn(PedidoItemController.class).buscarPorId(atualizado.getId())).toUri(),
-                        "todos_itens", linkTo(methodOn(PedidoItemController.class).listarTodos()).toUri(),
+                        "todos_itens", linkTo(methodOn(PedidoItemController.class).listarTodos(null, null)).toUri(),
                         "pedido", linkTo(methodOn(PedidoController.class).obter(atualizado.getPedidoId())).toUri()
                 )
         );
@@ -113,7 +132,7 @@ public class PedidoItemController {
                 "status", HttpStatus.OK.value(),
                 "_links", Map.of(
                         "pedido", linkTo(methodOn(PedidoController.class).obter(pedidoId)).toUri(),
-                        "todos_itens", linkTo(methodOn(PedidoItemController.class).listarTodos()).toUri()
+                        "todos_itens", linkTo(methodOn(PedidoItemController.class).listarTodos(null, null)).toUri()
                 ),
                 "timestamp", java.time.LocalDateTime.now()
         );
@@ -0,0 +1,50 @@
+package com.pedix.api.controller.api;
+
+import com.pedix.api.domain.enums.DimensaoVenda;
+import com.pedix.api.dto.VendaAgregadaDTO;
+import com.pedix.api.service.RollupVendas;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/relatorios/vendas")
+@RequiredArgsConstructor
+@Tag(
+        name = "Relatórios de Vendas",
+        description = """
+        Receita, quantidade e pedidos por hora, item, categoria ou garçom, lidos dos rollups por hora.
+        Os números acompanham os pedidos com atraso de até um intervalo de descarga.
+        """
+)
+public class RelatorioVendasController {
+
+    private final RollupVendas rollupVendas;
+
+    @Operation(summary = "Consultar vendas agregadas por dimensão em um período (padrão: hoje)")
+    @GetMapping
+    public ResponseEntity<List<VendaAgregadaDTO>> consultar(
+            @RequestParam(defaultValue = "HORA") DimensaoVenda dimensao,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate de,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate ate) {
+
+        LocalDate inicio = de != null ? de : LocalDate.now();
+        LocalDate fim = ate != null ? ate : inicio;
+        return ResponseEntity.ok(rollupVendas.consultar(dimensao, inicio, fim));
+    }
+
+    @Operation(summary = "Reconstruir os rollups de um período fechado a partir dos pedidos")
+    @PostMapping("/reconstrucao")
+    public ResponseEntity<RollupVendas.Reconstrucao> reconstruir(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate de,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate ate) {
+
+        return ResponseEntity.ok(rollupVendas.reconstruir(de, ate));
+    }
+}
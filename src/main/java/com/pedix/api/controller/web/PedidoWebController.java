@@ -1,10 +1,13 @@
 package com.pedix.api.controller.web;
 
+import com.pedix.api.dto.Pagina;
 import com.pedix.api.dto.PedidoDTO;
 import com.pedix.api.dto.PedidoItemDTO;
 import com.pedix.api.dto.PedidoResponseDTO;
+import com.pedix.api.dto.PedidoResumoDTO;
 import com.pedix.api.service.ItemCardapioService;
 import com.pedix.api.service.PedidoService;
+import com.pedix.api.service.ResumoPedidos;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
@@ -22,19 +25,22 @@ import java.util.List;
 public class PedidoWebController {
 
     private final PedidoService pedidoService;
+    private final ResumoPedidos resumoPedidos;
     private final ItemCardapioService itemCardapioService;
 
     @GetMapping
-    public String listar(Authentication authentication, Model model) {
+    public String listar(@RequestParam(required = false) Long apos, Authentication authentication, Model model) {
         boolean isAdmin = authentication.getAuthorities()
                 .stream()
                 .anyMatch(auth -> auth.getAuthority().equals("ROLE_ADMIN"));
 
-        List<PedidoResponseDTO> pedidos = isAdmin
-                ? pedidoService.listarTodosResponse()
-                : pedidoService.listarPorGarcomResponse(authentication.getName());
+        // Cartões lidos do resumo materializado, uma página por vez.
+        Pagina<PedidoResumoDTO> pagina = isAdmin
+                ? resumoPedidos.listar(apos, Pagina.LIMITE_MAXIMO)
+                : resumoPedidos.listarPorGarcom(authentication.getName(), apos, Pagina.LIMITE_MAXIMO);
 
-        model.addAttribute("pedidos", pedidos);
+        model.addAttribute("pedidos", pagina.itens());
+        model.addAttribute("proximo", pagina.proximo());
         model.addAttribute("isAdmin", isAdmin);
 
         return "pedidos/lista";
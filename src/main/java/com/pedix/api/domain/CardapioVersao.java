@@ -0,0 +1,24 @@
+package com.pedix.api.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.*;
+
+@Entity
+@Table(name = "CARDAPIO_VERSAO")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CardapioVersao {
+
+    public static final Long ID_UNICO = 1L;
+
+    @Id
+    private Long id;
+
+    @Column(name = "VERSAO", nullable = false)
+    private Long versao;
+}
@@ -10,7 +10,9 @@ import lombok.*;
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "ITEM_CARDAPIO")
+@Table(name = "ITEM_CARDAPIO", indexes = {
+        @Index(name = "IDX_ITEM_CARDAPIO_DISPONIVEL", columnList = "DISPONIVEL, CATEGORIA, NOME, ID")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -22,7 +24,7 @@ public class ItemCardapio {
     @Id
     @EqualsAndHashCode.Include
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_seq_gen")
-    @SequenceGenerator(name = "item_seq_gen", sequenceName = "ITEM_CARDAPIO_SEQ", allocationSize = 1)
+    @SequenceGenerator(name = "item_seq_gen", sequenceName = "ITEM_CARDAPIO_SEQ", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "O nome do item é obrigatório.")
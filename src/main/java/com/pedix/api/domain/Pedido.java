@@ -12,7 +12,13 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "PEDIDO")
+@Table(name = "PEDIDO", indexes = {
+        @Index(name = "IDX_PEDIDO_COMANDA", columnList = "ID_COMANDA, ID"),
+        @Index(name = "IDX_PEDIDO_STATUS", columnList = "STATUS, ID"),
+        @Index(name = "IDX_PEDIDO_GARCOM", columnList = "GARCOM_RESPONSAVEL, ID"),
+        @Index(name = "IDX_PEDIDO_DATA_HORA", columnList = "DATA_HORA"),
+        @Index(name = "UK_PEDIDO_CODIGO_RASTREIO", columnList = "CODIGO_RASTREIO", unique = true)
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -24,7 +30,7 @@ public class Pedido {
     @Id
     @EqualsAndHashCode.Include
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pedido_seq_gen")
-    @SequenceGenerator(name = "pedido_seq_gen", sequenceName = "PEDIDO_SEQ", allocationSize = 1)
+    @SequenceGenerator(name = "pedido_seq_gen", sequenceName = "PEDIDO_SEQ", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "O ID da comanda é obrigatório.")
@@ -45,9 +51,20 @@ public class Pedido {
     @Column(name = "DATA_HORA", updatable = false)
     private LocalDateTime dataHora;
 
+    @CreationTimestamp
+    @Column(name = "STATUS_ALTERADO_EM")
+    private LocalDateTime statusAlteradoEm;
+
     @Column(name = "GARCOM_RESPONSAVEL", length = 150)
     private String garcomResponsavel;
 
+    @Column(name = "CODIGO_RASTREIO", length = 36, updatable = false)
+    private String codigoRastreio;
+
+    @Version
+    @Column(name = "VERSAO", nullable = false)
+    private Long versao;
+
     @OneToMany(mappedBy = "pedido", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     @JsonManagedReference
     @Builder.Default
@@ -72,17 +89,16 @@ public class Pedido {
     }
 
     public void atualizarStatus(StatusPedido novoStatus) {
-        if (novoStatus != null) {
+        if (novoStatus != null && novoStatus != this.status) {
             this.status = novoStatus;
+            this.statusAlteradoEm = LocalDateTime.now();
         }
     }
 
     public void cancelar() {
-        this.status = StatusPedido.CANCELADO;
+        atualizarStatus(StatusPedido.CANCELADO);
     }
 
-    @PrePersist
-    @PreUpdate
     public void recalcularTotal() {
         this.total = this.itens.stream()
                 .map(PedidoItem::getSubtotal)
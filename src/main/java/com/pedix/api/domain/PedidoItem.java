@@ -9,7 +9,10 @@ import lombok.*;
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "PEDIDO_ITEM")
+@Table(name = "PEDIDO_ITEM", indexes = {
+        @Index(name = "IDX_PEDIDO_ITEM_PEDIDO", columnList = "PEDIDO_ID"),
+        @Index(name = "IDX_PEDIDO_ITEM_CARDAPIO", columnList = "ITEM_CARDAPIO_ID")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -21,7 +24,7 @@ public class PedidoItem {
     @Id
     @EqualsAndHashCode.Include
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pedido_item_seq_gen")
-    @SequenceGenerator(name = "pedido_item_seq_gen", sequenceName = "PEDIDO_ITEM_SEQ", allocationSize = 1)
+    @SequenceGenerator(name = "pedido_item_seq_gen", sequenceName = "PEDIDO_ITEM_SEQ", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
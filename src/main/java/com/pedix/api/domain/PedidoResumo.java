@@ -0,0 +1,47 @@
+package com.pedix.api.domain;
+
+import com.pedix.api.domain.enums.StatusPedido;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Cartão de pedido para as listagens, uma linha por pedido. Escrito só por {@code ResumoPedidos},
+ * na mesma transação que altera o pedido ou os itens.
+ */
+@Entity
+@Table(name = "PEDIDO_RESUMO", indexes = {
+        @Index(name = "IDX_PEDIDO_RESUMO_GARCOM", columnList = "GARCOM_RESPONSAVEL, ID")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class PedidoResumo {
+
+    @Id
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @Column(name = "ID_COMANDA", nullable = false)
+    private Long comandaId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "STATUS", length = 50, nullable = false)
+    private StatusPedido status;
+
+    @Column(name = "GARCOM_RESPONSAVEL", length = 150)
+    private String garcomResponsavel;
+
+    @Column(name = "OBSERVACAO", length = 500)
+    private String observacao;
+
+    @Column(name = "QUANTIDADE_ITENS", nullable = false)
+    private Integer quantidadeItens;
+
+    @Column(name = "TOTAL", precision = 12, scale = 2, nullable = false)
+    private BigDecimal total;
+}
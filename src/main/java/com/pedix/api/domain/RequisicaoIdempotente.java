@@ -0,0 +1,44 @@
+package com.pedix.api.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "IDEMPOTENCIA_REQUISICAO", indexes = {
+        @Index(name = "IDX_IDEMPOTENCIA_EXPIRA_EM", columnList = "EXPIRA_EM")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RequisicaoIdempotente {
+
+    @Id
+    @Column(name = "CHAVE", length = 64)
+    private String chave;
+
+    @Column(name = "HASH_REQUISICAO", length = 64, nullable = false)
+    private String hashRequisicao;
+
+    @Column(name = "STATUS_HTTP")
+    private Integer statusHttp;
+
+    @Column(name = "CONTENT_TYPE", length = 100)
+    private String contentType;
+
+    @Column(name = "LOCATION", length = 500)
+    private String location;
+
+    @Lob
+    @Column(name = "CORPO")
+    private String corpo;
+
+    @Column(name = "CRIADO_EM", nullable = false)
+    private LocalDateTime criadoEm;
+
+    @Column(name = "EXPIRA_EM", nullable = false)
+    private LocalDateTime expiraEm;
+}
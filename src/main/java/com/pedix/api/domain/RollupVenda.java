@@ -0,0 +1,56 @@
+package com.pedix.api.domain;
+
+import com.pedix.api.domain.enums.DimensaoVenda;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Receita, quantidade de itens e pedidos de uma hora numa dimensão. A chave é o id do item, o nome da
+ * categoria, o login do garçom ou {@link #CHAVE_TOTAL} para o total da hora.
+ */
+@Entity
+@Table(name = "ROLLUP_VENDA")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RollupVenda {
+
+    public static final String CHAVE_TOTAL = "TOTAL";
+
+    @EmbeddedId
+    private Id id;
+
+    @Column(name = "RECEITA", precision = 14, scale = 2, nullable = false)
+    private BigDecimal receita;
+
+    @Column(name = "QUANTIDADE", nullable = false)
+    private Long quantidade;
+
+    @Column(name = "PEDIDOS", nullable = false)
+    private Long pedidos;
+
+    @Embeddable
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Id implements Serializable {
+
+        @Enumerated(EnumType.STRING)
+        @Column(name = "DIMENSAO", length = 20, nullable = false)
+        private DimensaoVenda dimensao;
+
+        @Column(name = "HORA", nullable = false)
+        private LocalDateTime hora;
+
+        @Column(name = "CHAVE", length = 150, nullable = false)
+        private String chave;
+    }
+}
@@ -0,0 +1,8 @@
+package com.pedix.api.domain.enums;
+
+public enum DimensaoVenda {
+    HORA,
+    ITEM,
+    CATEGORIA,
+    GARCOM
+}
@@ -0,0 +1,10 @@
+package com.pedix.api.domain.enums;
+
+public enum EstacaoPreparo {
+    COZINHA,
+    BAR;
+
+    public static EstacaoPreparo de(CategoriaItem categoria) {
+        return categoria == CategoriaItem.BEBIDA ? BAR : COZINHA;
+    }
+}
@@ -0,0 +1,6 @@
+package com.pedix.api.domain.enums;
+
+public enum FormatoExportacao {
+    NDJSON,
+    CSV
+}
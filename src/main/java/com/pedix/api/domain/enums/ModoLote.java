@@ -0,0 +1,6 @@
+package com.pedix.api.domain.enums;
+
+public enum ModoLote {
+    TUDO_OU_NADA,
+    MELHOR_ESFORCO
+}
@@ -0,0 +1,8 @@
+package com.pedix.api.domain.enums;
+
+public enum ResultadoTransicao {
+    ALTERADO,
+    SEM_ALTERACAO,
+    CONFLITO,
+    NAO_ENCONTRADO
+}
@@ -0,0 +1,7 @@
+package com.pedix.api.domain.enums;
+
+public enum SituacaoRecebimento {
+    PENDENTE,
+    GRAVADO,
+    REJEITADO
+}
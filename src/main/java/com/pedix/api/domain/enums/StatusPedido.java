@@ -1,9 +1,29 @@
 package com.pedix.api.domain.enums;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum StatusPedido {
     EM_PREPARO,
     PRONTO,
     ENTREGUE,
     CANCELADO,
-    FINALIZADO
-}
\ No newline at end of file
+    FINALIZADO;
+
+    public boolean ativo() {
+        return this == EM_PREPARO || this == PRONTO;
+    }
+
+    public Set<StatusPedido> proximos() {
+        return switch (this) {
+            case EM_PREPARO -> EnumSet.of(PRONTO, CANCELADO);
+            case PRONTO -> EnumSet.of(EM_PREPARO, ENTREGUE, CANCELADO);
+            case ENTREGUE -> EnumSet.of(FINALIZADO);
+            case CANCELADO, FINALIZADO -> EnumSet.noneOf(StatusPedido.class);
+        };
+    }
+
+    public boolean podeMudarPara(StatusPedido destino) {
+        return proximos().contains(destino);
+    }
+}
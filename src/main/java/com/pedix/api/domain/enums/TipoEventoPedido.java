@@ -0,0 +1,10 @@
+package com.pedix.api.domain.enums;
+
+public enum TipoEventoPedido {
+    PEDIDO_CRIADO,
+    ITEM_ADICIONADO,
+    ITEM_ATUALIZADO,
+    ITEM_REMOVIDO,
+    STATUS_ALTERADO,
+    PEDIDO_EXCLUIDO
+}
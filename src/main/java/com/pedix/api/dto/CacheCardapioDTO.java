@@ -0,0 +1,18 @@
+package com.pedix.api.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CacheCardapioDTO {
+    private Long versao;
+    private Integer itens;
+    private LocalDateTime carregadoEm;
+    private Long acertos;
+    private Long faltas;
+    private Long recargas;
+}
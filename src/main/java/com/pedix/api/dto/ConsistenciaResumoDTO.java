@@ -0,0 +1,17 @@
+package com.pedix.api.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+// Resultado da verificação de PEDIDO_RESUMO contra PEDIDO; as listas de ids são amostras limitadas.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ConsistenciaResumoDTO {
+    private boolean consistente;
+    private List<Long> semResumo;
+    private List<Long> semPedido;
+    private List<Long> divergentes;
+}
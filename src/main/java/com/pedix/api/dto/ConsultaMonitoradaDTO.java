@@ -0,0 +1,21 @@
+package com.pedix.api.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class ConsultaMonitoradaDTO {
+    private String sql;
+    private long duracaoMs;
+    private long linhas;
+    private int lote;
+    private String parametros;
+    private String origem;
+    private boolean amostrada;
+    private long ocorrencias;
+    private LocalDateTime ocorridaEm;
+}
@@ -0,0 +1,30 @@
+package com.pedix.api.dto;
+
+import com.pedix.api.domain.enums.StatusPedido;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Período em dias inteiros (de e ate inclusivos, pela data de criação do pedido) e status aceitos.
+ * Sem status informado, exporta todos.
+ */
+public record FiltroExportacaoPedidos(LocalDate de, LocalDate ate, Set<StatusPedido> status) {
+
+    public FiltroExportacaoPedidos {
+        if (de != null && ate != null && de.isAfter(ate)) {
+            throw new IllegalArgumentException("Período inválido: " + de + " é depois de " + ate);
+        }
+        status = status == null || status.isEmpty() ? EnumSet.allOf(StatusPedido.class) : EnumSet.copyOf(status);
+    }
+
+    public LocalDateTime inicio() {
+        return de == null ? null : de.atStartOfDay();
+    }
+
+    public LocalDateTime fimExclusivo() {
+        return ate == null ? null : ate.plusDays(1).atStartOfDay();
+    }
+}
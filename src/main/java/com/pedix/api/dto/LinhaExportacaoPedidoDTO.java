@@ -0,0 +1,28 @@
+package com.pedix.api.dto;
+
+import com.pedix.api.domain.enums.StatusPedido;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Uma linha por item de pedido; pedidos sem itens vêm com os campos do item nulos.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LinhaExportacaoPedidoDTO {
+    private Long pedidoId;
+    private Long comandaId;
+    private StatusPedido status;
+    private LocalDateTime dataHora;
+    private String observacao;
+    private BigDecimal total;
+    private String garcomResponsavel;
+    private Long itemId;
+    private Long itemCardapioId;
+    private String nomeItem;
+    private Integer quantidade;
+    private BigDecimal precoUnitario;
+    private BigDecimal subtotal;
+}
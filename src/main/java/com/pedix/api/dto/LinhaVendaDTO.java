@@ -0,0 +1,22 @@
+package com.pedix.api.dto;
+
+import com.pedix.api.domain.enums.CategoriaItem;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Linha de pedido para os rollups de venda; pedido sem itens vem com os campos do item nulos.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LinhaVendaDTO {
+    private Long pedidoId;
+    private LocalDateTime dataHora;
+    private String garcomResponsavel;
+    private Long itemCardapioId;
+    private CategoriaItem categoria;
+    private Integer quantidade;
+    private BigDecimal subtotal;
+}
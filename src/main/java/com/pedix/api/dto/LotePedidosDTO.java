@@ -0,0 +1,18 @@
+package com.pedix.api.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LotePedidosDTO {
+
+    @NotEmpty(message = "Informe ao menos um pedido.")
+    @Builder.Default
+    private List<PedidoDTO> pedidos = new ArrayList<>();
+}
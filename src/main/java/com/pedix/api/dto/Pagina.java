@@ -0,0 +1,42 @@
+package com.pedix.api.dto;
+
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página de uma listagem por cursor (keyset). A ordem é a do id, não a de data_hora: com a sequence em
+ * pooled-lo, instâncias diferentes gravam com blocos de ids intercalados.
+ */
+public record Pagina<T>(List<T> itens, Long proximo) {
+
+    public static final int LIMITE_PADRAO = 50;
+    public static final int LIMITE_MAXIMO = 200;
+
+    public static int limite(Integer solicitado) {
+        if (solicitado == null) {
+            return LIMITE_PADRAO;
+        }
+        if (solicitado <= 0) {
+            throw new IllegalArgumentException("Limite de página inválido: " + solicitado);
+        }
+        return Math.min(solicitado, LIMITE_MAXIMO);
+    }
+
+    public static Limit consulta(int limite) {
+        return Limit.of(limite + 1);
+    }
+
+    public static <T> Pagina<T> de(List<T> linhas, int limite, Function<T, Long> cursor) {
+        if (linhas.size() <= limite) {
+            return new Pagina<>(linhas, null);
+        }
+        List<T> itens = linhas.subList(0, limite);
+        return new Pagina<>(itens, cursor.apply(itens.get(limite - 1)));
+    }
+
+    public boolean temProxima() {
+        return proximo != null;
+    }
+}
@@ -0,0 +1,31 @@
+package com.pedix.api.dto;
+
+import com.pedix.api.domain.enums.EstacaoPreparo;
+import com.pedix.api.domain.enums.StatusPedido;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class PainelPedidoDTO {
+
+    private final Long pedidoId;
+    private final Long comandaId;
+    private final EstacaoPreparo estacao;
+    private final StatusPedido status;
+    private final String garcomResponsavel;
+    private final String observacao;
+    private final LocalDateTime dataHoraPedido;
+    private final List<ItemPainel> itens;
+
+    @Getter
+    @AllArgsConstructor
+    public static class ItemPainel {
+        private final Long itemCardapioId;
+        private final String nome;
+        private final int quantidade;
+    }
+}
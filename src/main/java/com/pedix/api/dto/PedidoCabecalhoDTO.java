@@ -0,0 +1,21 @@
+package com.pedix.api.dto;
+
+import com.pedix.api.domain.enums.StatusPedido;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class PedidoCabecalhoDTO {
+    private Long id;
+    private Long comandaId;
+    private StatusPedido status;
+    private String garcomResponsavel;
+    private LocalDateTime dataHora;
+    private BigDecimal total;
+    private LocalDateTime statusAlteradoEm;
+}
@@ -0,0 +1,31 @@
+package com.pedix.api.dto;
+
+import com.pedix.api.domain.enums.StatusPedido;
+import com.pedix.api.domain.enums.TipoEventoPedido;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PedidoEvento {
+
+    private TipoEventoPedido tipo;
+    private Long pedidoId;
+    private Long comandaId;
+    private StatusPedido status;
+    private StatusPedido statusAnterior;
+    private LocalDateTime statusAnteriorDesde;
+    private String garcomResponsavel;
+    private LocalDateTime dataHoraPedido;
+    private BigDecimal total;
+    private PedidoResponseDTO pedido;
+    private PedidoItemResponseDTO item;
+    private PedidoItemResponseDTO itemAnterior;
+
+    @Builder.Default
+    private LocalDateTime ocorridoEm = LocalDateTime.now();
+}
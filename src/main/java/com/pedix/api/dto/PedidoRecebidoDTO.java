@@ -0,0 +1,16 @@
+package com.pedix.api.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PedidoRecebidoDTO {
+    private String rastreio;
+    private String loginGarcom;
+    private PedidoDTO pedido;
+    private LocalDateTime recebidoEm;
+}
@@ -0,0 +1,20 @@
+package com.pedix.api.dto;
+
+import com.pedix.api.domain.enums.StatusPedido;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PedidoResumoDTO {
+    private Long id;
+    private Long comandaId;
+    private String garcomResponsavel;
+    private StatusPedido status;
+    private String observacao;
+    private Integer quantidadeItens;
+    private BigDecimal total;
+}
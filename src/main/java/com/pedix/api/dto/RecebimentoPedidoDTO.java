@@ -0,0 +1,20 @@
+package com.pedix.api.dto;
+
+import com.pedix.api.domain.enums.SituacaoRecebimento;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class RecebimentoPedidoDTO {
+    private String rastreio;
+    private SituacaoRecebimento situacao;
+    private Long comandaId;
+    private Long pedidoId;
+    private String mensagem;
+    private LocalDateTime recebidoEm;
+    private LocalDateTime concluidoEm;
+}
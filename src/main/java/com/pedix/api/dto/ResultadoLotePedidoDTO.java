@@ -0,0 +1,18 @@
+package com.pedix.api.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ResultadoLotePedidoDTO {
+    private int indice;
+    private Long comandaId;
+    private boolean criado;
+    private Long pedidoId;
+    private BigDecimal total;
+    private String mensagem;
+}
@@ -0,0 +1,21 @@
+package com.pedix.api.dto;
+
+import com.pedix.api.domain.enums.StatusPedido;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StatusEmLoteDTO {
+
+    @NotEmpty(message = "Informe ao menos um pedido.")
+    private List<Long> ids;
+
+    @NotNull(message = "O status de destino é obrigatório.")
+    private StatusPedido status;
+}
@@ -0,0 +1,15 @@
+package com.pedix.api.dto;
+
+import lombok.*;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TokenAcessoDTO {
+    private String token;
+    private String tipo;
+    private Instant expiraEm;
+}
@@ -0,0 +1,17 @@
+package com.pedix.api.dto;
+
+import com.pedix.api.domain.enums.ResultadoTransicao;
+import com.pedix.api.domain.enums.StatusPedido;
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TransicaoStatusDTO {
+    private Long pedidoId;
+    private ResultadoTransicao resultado;
+    private StatusPedido statusAnterior;
+    private StatusPedido status;
+    private String mensagem;
+}
@@ -0,0 +1,21 @@
+package com.pedix.api.dto;
+
+import com.pedix.api.domain.enums.DimensaoVenda;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VendaAgregadaDTO {
+    private DimensaoVenda dimensao;
+    private String chave;
+    private String nome;
+    private LocalDateTime hora;
+    private BigDecimal receita;
+    private Long quantidade;
+    private Long pedidos;
+}
@@ -0,0 +1,8 @@
+package com.pedix.api.exception;
+
+public class FilaCheiaException extends RuntimeException {
+
+    public FilaCheiaException(String mensagem) {
+        super(mensagem);
+    }
+}
@@ -1,6 +1,8 @@
 package com.pedix.api.exception;
 
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -31,6 +33,37 @@ public class GlobalExceptionHandler {
         );
     }
 
+    @org.springframework.web.bind.annotation.ExceptionHandler(FilaCheiaException.class)
+    public ResponseEntity<Map<String, Object>> handleFilaCheia(FilaCheiaException ex) {
+        ResponseEntity<Map<String, Object>> resposta = buildResponse(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                "Serviço sobrecarregado.",
+                ex.getMessage()
+        );
+
+        return ResponseEntity.status(resposta.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(resposta.getBody());
+    }
+
+    @org.springframework.web.bind.annotation.ExceptionHandler(TransicaoStatusException.class)
+    public ResponseEntity<Map<String, Object>> handleTransicaoStatus(TransicaoStatusException ex) {
+        return buildResponse(
+                HttpStatus.CONFLICT,
+                "Transição de status inválida.",
+                ex.getMessage()
+        );
+    }
+
+    @org.springframework.web.bind.annotation.ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, Object>> handleOptimisticLock(OptimisticLockingFailureException ex) {
+        return buildResponse(
+                HttpStatus.CONFLICT,
+                "Conflito de atualização.",
+                "O pedido foi alterado por outra requisição. Recarregue e tente novamente."
+        );
+    }
+
     @org.springframework.web.bind.annotation.ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, Object>> handleValidation(MethodArgumentNotValidException ex) {
         Map<String, String> fieldErrors = new HashMap<>();
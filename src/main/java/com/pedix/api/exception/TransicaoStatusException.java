@@ -0,0 +1,19 @@
+package com.pedix.api.exception;
+
+import com.pedix.api.domain.enums.StatusPedido;
+import lombok.Getter;
+
+@Getter
+public class TransicaoStatusException extends RuntimeException {
+
+    private final Long pedidoId;
+    private final StatusPedido atual;
+    private final StatusPedido destino;
+
+    public TransicaoStatusException(Long pedidoId, StatusPedido atual, StatusPedido destino) {
+        super("Pedido " + pedidoId + " não pode passar de " + atual + " para " + destino + ".");
+        this.pedidoId = pedidoId;
+        this.atual = atual;
+        this.destino = destino;
+    }
+}
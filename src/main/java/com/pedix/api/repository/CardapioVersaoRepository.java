@@ -0,0 +1,19 @@
+package com.pedix.api.repository;
+
+import com.pedix.api.domain.CardapioVersao;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface CardapioVersaoRepository extends JpaRepository<CardapioVersao, Long> {
+
+    @Query("SELECT v.versao FROM CardapioVersao v WHERE v.id = :id")
+    Optional<Long> buscarVersao(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE CardapioVersao v SET v.versao = v.versao + 1 WHERE v.id = :id")
+    int incrementar(@Param("id") Long id);
+}
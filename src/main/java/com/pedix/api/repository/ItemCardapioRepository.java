@@ -10,7 +10,5 @@ public interface ItemCardapioRepository extends JpaRepository<ItemCardapio, Long
 
     List<ItemCardapio> findByDisponivelTrue();
 
-    List<ItemCardapio> findByDisponivelTrueAndNomeContainingIgnoreCase(String nome);
-
     List<ItemCardapio> findByDisponivelTrueAndCategoria(CategoriaItem categoria);
 }
\ No newline at end of file
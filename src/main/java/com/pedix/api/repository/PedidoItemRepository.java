@@ -1,9 +1,41 @@
 package com.pedix.api.repository;
 
 import com.pedix.api.domain.PedidoItem;
+import com.pedix.api.dto.PedidoItemResponseDTO;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface PedidoItemRepository extends JpaRepository<PedidoItem, Long> {
-}
\ No newline at end of file
+
+    @Query("""
+        SELECT new com.pedix.api.dto.PedidoItemResponseDTO(
+            pi.id, pi.pedido.id, ic.id, ic.nome, pi.quantidade, pi.precoUnitario, pi.subtotal)
+        FROM PedidoItem pi
+        JOIN pi.itemCardapio ic
+        WHERE pi.id > :apos
+        ORDER BY pi.id
+    """)
+    List<PedidoItemResponseDTO> listarResumosApos(@Param("apos") Long apos, Limit limite);
+
+    @Query("""
+        SELECT new com.pedix.api.dto.PedidoItemResponseDTO(
+            pi.id, pi.pedido.id, ic.id, ic.nome, pi.quantidade, pi.precoUnitario, pi.subtotal)
+        FROM PedidoItem pi
+        JOIN pi.itemCardapio ic
+        WHERE pi.id = :id
+    """)
+    Optional<PedidoItemResponseDTO> buscarResumoPorId(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT pi FROM PedidoItem pi WHERE pi.id = :id")
+    Optional<PedidoItem> bloquearPorId(@Param("id") Long id);
+}
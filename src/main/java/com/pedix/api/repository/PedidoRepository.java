@@ -2,11 +2,27 @@ package com.pedix.api.repository;
 
 import com.pedix.api.domain.Pedido;
 import com.pedix.api.domain.enums.StatusPedido;
+import com.pedix.api.dto.LinhaExportacaoPedidoDTO;
+import com.pedix.api.dto.LinhaVendaDTO;
+import com.pedix.api.dto.PedidoCabecalhoDTO;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface PedidoRepository extends JpaRepository<Pedido, Long> {
 
@@ -16,6 +32,30 @@ public interface PedidoRepository extends JpaRepository<Pedido, Long> {
 
     List<Pedido> findByGarcomResponsavel(String garcomResponsavel);
 
+    @EntityGraph(attributePaths = {"itens", "itens.itemCardapio"})
+    List<Pedido> findAllByOrderByIdAsc();
+
+    @EntityGraph(attributePaths = {"itens", "itens.itemCardapio"})
+    List<Pedido> findByStatusInOrderByIdAsc(Collection<StatusPedido> status);
+
+    @EntityGraph(attributePaths = {"itens", "itens.itemCardapio"})
+    List<Pedido> findByComandaIdOrderByIdAsc(Long comandaId);
+
+    @EntityGraph(attributePaths = {"itens", "itens.itemCardapio"})
+    List<Pedido> findByGarcomResponsavelOrderByIdAsc(String garcomResponsavel);
+
+    @EntityGraph(attributePaths = {"itens", "itens.itemCardapio"})
+    Optional<Pedido> findComItensById(Long id);
+
+    @EntityGraph(attributePaths = {"itens", "itens.itemCardapio"})
+    List<Pedido> findByIdInOrderByIdAsc(Collection<Long> ids);
+
+    @Query("SELECT p.id FROM Pedido p WHERE p.id > :apos ORDER BY p.id")
+    List<Long> buscarIdsApos(@Param("apos") Long apos, Limit limite);
+
+    @Query("SELECT p.id FROM Pedido p WHERE p.comandaId = :comandaId AND p.id > :apos ORDER BY p.id")
+    List<Long> buscarIdsPorComandaApos(@Param("comandaId") Long comandaId, @Param("apos") Long apos, Limit limite);
+
     @Query("""
         SELECT p FROM Pedido p
         WHERE p.status = :status
@@ -23,4 +63,107 @@ public interface PedidoRepository extends JpaRepository<Pedido, Long> {
     """)
     List<Pedido> buscarPorStatusEObservacao(@Param("status") StatusPedido status,
                                             @Param("observacao") String observacao);
-}
\ No newline at end of file
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Pedido p SET p.total = p.total + :delta, p.versao = p.versao + 1 WHERE p.id = :id")
+    int somarAoTotal(@Param("id") Long id, @Param("delta") BigDecimal delta);
+
+    @Query("""
+        SELECT new com.pedix.api.dto.PedidoCabecalhoDTO(
+            p.id, p.comandaId, p.status, p.garcomResponsavel, p.dataHora, p.total, p.statusAlteradoEm)
+        FROM Pedido p
+        WHERE p.id = :id
+    """)
+    Optional<PedidoCabecalhoDTO> buscarCabecalho(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+        SELECT new com.pedix.api.dto.PedidoCabecalhoDTO(
+            p.id, p.comandaId, p.status, p.garcomResponsavel, p.dataHora, p.total, p.statusAlteradoEm)
+        FROM Pedido p
+        WHERE p.id IN :ids
+        ORDER BY p.id
+    """)
+    List<PedidoCabecalhoDTO> bloquearCabecalhos(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("""
+        UPDATE Pedido p
+        SET p.status = :destino, p.statusAlteradoEm = :agora, p.versao = p.versao + 1
+        WHERE p.id = :id AND p.status = :atual
+    """)
+    int trocarStatus(@Param("id") Long id,
+                     @Param("atual") StatusPedido atual,
+                     @Param("destino") StatusPedido destino,
+                     @Param("agora") LocalDateTime agora);
+
+    @Modifying
+    @Query("""
+        UPDATE Pedido p
+        SET p.status = :destino, p.statusAlteradoEm = :agora, p.versao = p.versao + 1
+        WHERE p.id IN :ids AND p.status = :atual
+    """)
+    int trocarStatusEmLote(@Param("ids") Collection<Long> ids,
+                           @Param("atual") StatusPedido atual,
+                           @Param("destino") StatusPedido destino,
+                           @Param("agora") LocalDateTime agora);
+
+    @Query("SELECT p.codigoRastreio, p.id FROM Pedido p WHERE p.codigoRastreio IN :codigos")
+    List<Object[]> buscarIdsPorCodigoRastreio(@Param("codigos") Collection<String> codigos);
+
+    @Query("""
+        SELECT new com.pedix.api.dto.PedidoCabecalhoDTO(
+            p.id, p.comandaId, p.status, p.garcomResponsavel, p.dataHora, p.total, p.statusAlteradoEm)
+        FROM Pedido p
+        WHERE p.codigoRastreio = :codigo
+    """)
+    Optional<PedidoCabecalhoDTO> buscarCabecalhoPorCodigoRastreio(@Param("codigo") String codigo);
+
+    // Cursor só para frente, em projeção: nada entra no contexto de persistência enquanto o stream é lido.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+        SELECT new com.pedix.api.dto.LinhaExportacaoPedidoDTO(
+            p.id, p.comandaId, p.status, p.dataHora, p.observacao, p.total, p.garcomResponsavel,
+            pi.id, ic.id, ic.nome, pi.quantidade, pi.precoUnitario, pi.subtotal)
+        FROM Pedido p
+        LEFT JOIN p.itens pi
+        LEFT JOIN pi.itemCardapio ic
+        WHERE p.status IN :status
+        AND (:inicio IS NULL OR p.dataHora >= :inicio)
+        AND (:fim IS NULL OR p.dataHora < :fim)
+        ORDER BY p.id, pi.id
+    """)
+    Stream<LinhaExportacaoPedidoDTO> exportar(@Param("status") Collection<StatusPedido> status,
+                                              @Param("inicio") LocalDateTime inicio,
+                                              @Param("fim") LocalDateTime fim);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+        SELECT new com.pedix.api.dto.LinhaVendaDTO(
+            p.id, p.dataHora, p.garcomResponsavel, ic.id, ic.categoria, pi.quantidade, pi.subtotal)
+        FROM Pedido p
+        LEFT JOIN p.itens pi
+        LEFT JOIN pi.itemCardapio ic
+        WHERE p.status <> com.pedix.api.domain.enums.StatusPedido.CANCELADO
+        AND p.dataHora >= :inicio AND p.dataHora < :fim
+        ORDER BY p.id
+    """)
+    Stream<LinhaVendaDTO> linhasDeVenda(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
+
+    @Query("""
+        SELECT new com.pedix.api.dto.LinhaVendaDTO(
+            p.id, p.dataHora, p.garcomResponsavel, ic.id, ic.categoria, pi.quantidade, pi.subtotal)
+        FROM Pedido p
+        LEFT JOIN p.itens pi
+        LEFT JOIN pi.itemCardapio ic
+        WHERE p.id IN :ids
+        ORDER BY p.id
+    """)
+    List<LinhaVendaDTO> linhasDeVendaDosPedidos(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,111 @@
+package com.pedix.api.repository;
+
+import com.pedix.api.domain.PedidoResumo;
+import com.pedix.api.domain.enums.StatusPedido;
+import com.pedix.api.dto.PedidoResumoDTO;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PedidoResumoRepository extends JpaRepository<PedidoResumo, Long> {
+
+    @Query("""
+        SELECT new com.pedix.api.dto.PedidoResumoDTO(
+            r.id, r.comandaId, r.garcomResponsavel, r.status, r.observacao, r.quantidadeItens, r.total)
+        FROM PedidoResumo r
+        WHERE r.id > :apos
+        ORDER BY r.id
+    """)
+    List<PedidoResumoDTO> listarApos(@Param("apos") Long apos, Limit limite);
+
+    @Query("""
+        SELECT new com.pedix.api.dto.PedidoResumoDTO(
+            r.id, r.comandaId, r.garcomResponsavel, r.status, r.observacao, r.quantidadeItens, r.total)
+        FROM PedidoResumo r
+        WHERE r.garcomResponsavel = :garcom AND r.id > :apos
+        ORDER BY r.id
+    """)
+    List<PedidoResumoDTO> listarPorGarcomApos(@Param("garcom") String garcom, @Param("apos") Long apos, Limit limite);
+
+    // Um INSERT ... SELECT para todos os pedidos da transação; o Hibernate descarrega os INSERTs de pedido antes.
+    @Modifying
+    @Query("""
+        INSERT INTO PedidoResumo (id, comandaId, status, garcomResponsavel, observacao, quantidadeItens, total)
+        SELECT p.id, p.comandaId, p.status, p.garcomResponsavel, p.observacao,
+               (SELECT CAST(COUNT(i) AS Integer) FROM PedidoItem i WHERE i.pedido.id = p.id),
+               p.total
+        FROM Pedido p
+        WHERE p.id IN :ids
+    """)
+    int inserirDosPedidos(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("""
+        INSERT INTO PedidoResumo (id, comandaId, status, garcomResponsavel, observacao, quantidadeItens, total)
+        SELECT p.id, p.comandaId, p.status, p.garcomResponsavel, p.observacao,
+               (SELECT CAST(COUNT(i) AS Integer) FROM PedidoItem i WHERE i.pedido.id = p.id),
+               p.total
+        FROM Pedido p
+        WHERE p.id > :apos AND p.id <= :ate
+    """)
+    int inserirFaixa(@Param("apos") Long apos, @Param("ate") Long ate);
+
+    @Modifying
+    @Query("DELETE FROM PedidoResumo r WHERE r.id > :apos AND r.id <= :ate")
+    int removerFaixa(@Param("apos") Long apos, @Param("ate") Long ate);
+
+    @Modifying
+    @Query("DELETE FROM PedidoResumo r WHERE r.id > :apos")
+    int removerApos(@Param("apos") Long apos);
+
+    @Modifying
+    @Query("DELETE FROM PedidoResumo r WHERE r.id = :id")
+    int remover(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE PedidoResumo r SET r.status = :status WHERE r.id IN :ids")
+    int trocarStatus(@Param("ids") Collection<Long> ids, @Param("status") StatusPedido status);
+
+    @Modifying
+    @Query("""
+        UPDATE PedidoResumo r
+        SET r.quantidadeItens = r.quantidadeItens + :itens, r.total = r.total + :delta
+        WHERE r.id = :id
+    """)
+    int somarItens(@Param("id") Long id, @Param("itens") int itens, @Param("delta") BigDecimal delta);
+
+    @Query("""
+        SELECT p.id FROM Pedido p
+        WHERE NOT EXISTS (SELECT 1 FROM PedidoResumo r WHERE r.id = p.id)
+        ORDER BY p.id
+    """)
+    List<Long> buscarPedidosSemResumo(Limit limite);
+
+    @Query("""
+        SELECT r.id FROM PedidoResumo r
+        WHERE NOT EXISTS (SELECT 1 FROM Pedido p WHERE p.id = r.id)
+        ORDER BY r.id
+    """)
+    List<Long> buscarResumosSemPedido(Limit limite);
+
+    @Query("""
+        SELECT r.id FROM PedidoResumo r, Pedido p
+        WHERE p.id = r.id
+        AND (r.comandaId <> p.comandaId
+            OR r.status <> p.status
+            OR r.total <> p.total
+            OR r.garcomResponsavel IS DISTINCT FROM p.garcomResponsavel
+            OR r.observacao IS DISTINCT FROM p.observacao
+            OR r.quantidadeItens <> (SELECT COUNT(i) FROM PedidoItem i WHERE i.pedido.id = p.id))
+        ORDER BY r.id
+    """)
+    List<Long> buscarDivergentes(Limit limite);
+}
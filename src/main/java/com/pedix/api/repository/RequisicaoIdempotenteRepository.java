@@ -0,0 +1,41 @@
+package com.pedix.api.repository;
+
+import com.pedix.api.domain.RequisicaoIdempotente;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface RequisicaoIdempotenteRepository extends JpaRepository<RequisicaoIdempotente, String> {
+
+    // INSERT explícito: save() faria merge numa chave já existente em vez de falhar.
+    @Modifying
+    @Query(value = """
+        INSERT INTO idempotencia_requisicao (chave, hash_requisicao, criado_em, expira_em)
+        VALUES (:chave, :hash, :criadoEm, :expiraEm)
+    """, nativeQuery = true)
+    int reservar(@Param("chave") String chave,
+                 @Param("hash") String hash,
+                 @Param("criadoEm") LocalDateTime criadoEm,
+                 @Param("expiraEm") LocalDateTime expiraEm);
+
+    @Modifying
+    @Query("""
+        UPDATE RequisicaoIdempotente r
+        SET r.statusHttp = :status, r.contentType = :contentType, r.location = :location, r.corpo = :corpo
+        WHERE r.chave = :chave
+    """)
+    int concluir(@Param("chave") String chave,
+                 @Param("status") int status,
+                 @Param("contentType") String contentType,
+                 @Param("location") String location,
+                 @Param("corpo") String corpo);
+
+    @Modifying
+    @Query("DELETE FROM RequisicaoIdempotente r WHERE r.expiraEm < :agora")
+    int removerExpiradas(@Param("agora") LocalDateTime agora);
+}
@@ -0,0 +1,67 @@
+package com.pedix.api.repository;
+
+import com.pedix.api.domain.RollupVenda;
+import com.pedix.api.domain.enums.DimensaoVenda;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RollupVendaRepository extends JpaRepository<RollupVenda, RollupVenda.Id> {
+
+    // Incremento no próprio UPDATE: cada nó descarrega só a sua diferença, sem ler a linha antes.
+    @Modifying
+    @Query("""
+        UPDATE RollupVenda r
+        SET r.receita = r.receita + :receita, r.quantidade = r.quantidade + :quantidade, r.pedidos = r.pedidos + :pedidos
+        WHERE r.id.dimensao = :dimensao AND r.id.hora = :hora AND r.id.chave = :chave
+    """)
+    int somar(@Param("dimensao") DimensaoVenda dimensao,
+              @Param("hora") LocalDateTime hora,
+              @Param("chave") String chave,
+              @Param("receita") BigDecimal receita,
+              @Param("quantidade") long quantidade,
+              @Param("pedidos") long pedidos);
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO rollup_venda (dimensao, hora, chave, receita, quantidade, pedidos)
+        VALUES (:dimensao, :hora, :chave, :receita, :quantidade, :pedidos)
+    """, nativeQuery = true)
+    int inserir(@Param("dimensao") String dimensao,
+                @Param("hora") LocalDateTime hora,
+                @Param("chave") String chave,
+                @Param("receita") BigDecimal receita,
+                @Param("quantidade") long quantidade,
+                @Param("pedidos") long pedidos);
+
+    @Modifying
+    @Query("DELETE FROM RollupVenda r WHERE r.id.hora >= :inicio AND r.id.hora < :fim")
+    int removerPeriodo(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
+
+    @Query("""
+        SELECT r.id.chave, SUM(r.receita), SUM(r.quantidade), SUM(r.pedidos)
+        FROM RollupVenda r
+        WHERE r.id.dimensao = :dimensao AND r.id.hora >= :inicio AND r.id.hora < :fim
+        GROUP BY r.id.chave
+        ORDER BY SUM(r.receita) DESC, r.id.chave
+    """)
+    List<Object[]> somarPorChave(@Param("dimensao") DimensaoVenda dimensao,
+                                 @Param("inicio") LocalDateTime inicio,
+                                 @Param("fim") LocalDateTime fim);
+
+    @Query("""
+        SELECT r.id.hora, r.receita, r.quantidade, r.pedidos
+        FROM RollupVenda r
+        WHERE r.id.dimensao = com.pedix.api.domain.enums.DimensaoVenda.HORA
+        AND r.id.hora >= :inicio AND r.id.hora < :fim
+        ORDER BY r.id.hora
+    """)
+    List<Object[]> listarHoras(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
+}
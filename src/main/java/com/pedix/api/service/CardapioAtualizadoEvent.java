@@ -0,0 +1,4 @@
+package com.pedix.api.service;
+
+public record CardapioAtualizadoEvent(CardapioSnapshot anterior, CardapioSnapshot atual) {
+}
@@ -0,0 +1,114 @@
+package com.pedix.api.service;
+
+import com.pedix.api.domain.CardapioVersao;
+import com.pedix.api.dto.CacheCardapioDTO;
+import com.pedix.api.repository.CardapioVersaoRepository;
+import com.pedix.api.repository.ItemCardapioRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CardapioCache {
+
+    private final ItemCardapioRepository itemCardapioRepository;
+    private final CardapioVersaoRepository cardapioVersaoRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final AtomicReference<CardapioSnapshot> snapshot = new AtomicReference<>();
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder faltas = new LongAdder();
+    private final LongAdder recargas = new LongAdder();
+
+    public CardapioSnapshot atual() {
+        CardapioSnapshot atual = snapshot.get();
+        if (atual == null) {
+            faltas.increment();
+            return recarregar();
+        }
+        acertos.increment();
+        return atual;
+    }
+
+    public void registrarFalta() {
+        faltas.increment();
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarAlteracao() {
+        if (cardapioVersaoRepository.incrementar(CardapioVersao.ID_UNICO) == 0) {
+            cardapioVersaoRepository.save(new CardapioVersao(CardapioVersao.ID_UNICO, 1L));
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recarregar();
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregarNaInicializacao() {
+        recarregar();
+    }
+
+    @Scheduled(
+            initialDelayString = "${pedix.cardapio.cache.intervalo-verificacao-ms:5000}",
+            fixedDelayString = "${pedix.cardapio.cache.intervalo-verificacao-ms:5000}"
+    )
+    public void verificarVersao() {
+        CardapioSnapshot atual = snapshot.get();
+        if (atual != null && lerVersao() != atual.versao()) {
+            log.info("Versão do cardápio alterada em outro nó, recarregando snapshot (versão local {}).", atual.versao());
+            recarregar();
+        }
+    }
+
+    public synchronized CardapioSnapshot recarregar() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        template.setReadOnly(true);
+
+        CardapioSnapshot novo = template.execute(status ->
+                CardapioSnapshot.de(lerVersao(), itemCardapioRepository.findAll()));
+
+        CardapioSnapshot anterior = snapshot.getAndSet(novo);
+        recargas.increment();
+        eventPublisher.publishEvent(new CardapioAtualizadoEvent(anterior, novo));
+        return novo;
+    }
+
+    public CacheCardapioDTO estatisticas() {
+        CardapioSnapshot atual = snapshot.get();
+        return CacheCardapioDTO.builder()
+                .versao(atual != null ? atual.versao() : null)
+                .itens(atual != null ? atual.porId().size() : 0)
+                .carregadoEm(atual != null ? atual.carregadoEm() : null)
+                .acertos(acertos.sum())
+                .faltas(faltas.sum())
+                .recargas(recargas.sum())
+                .build();
+    }
+
+    private long lerVersao() {
+        return cardapioVersaoRepository.buscarVersao(CardapioVersao.ID_UNICO).orElse(0L);
+    }
+}
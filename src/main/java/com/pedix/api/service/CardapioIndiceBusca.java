@@ -0,0 +1,232 @@
+package com.pedix.api.service;
+
+import com.pedix.api.domain.ItemCardapio;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+@Component
+public class CardapioIndiceBusca {
+
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^a-z0-9]+");
+
+    private static final double PESO_NOME = 2.0;
+    private static final double PESO_DESCRICAO = 1.0;
+
+    private static final double PONTOS_EXATO = 3.0;
+    private static final double PONTOS_PREFIXO = 2.0;
+    private static final double PONTOS_TRECHO = 1.5;
+    private static final double PONTOS_APROXIMADO = 1.0;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Documento> documentos = new HashMap<>();
+    private final NavigableMap<String, Map<Long, Double>> vocabulario = new TreeMap<>();
+    private final Map<String, Set<String>> trigramas = new HashMap<>();
+
+    @EventListener
+    public void aoAtualizarCardapio(CardapioAtualizadoEvent evento) {
+        Map<Long, ItemCardapio> anteriores = evento.anterior() != null ? evento.anterior().porId() : Map.of();
+        Map<Long, ItemCardapio> atuais = evento.atual().porId();
+
+        lock.writeLock().lock();
+        try {
+            for (Long id : anteriores.keySet()) {
+                if (!atuais.containsKey(id)) {
+                    remover(id);
+                }
+            }
+
+            for (ItemCardapio item : atuais.values()) {
+                if (!Boolean.TRUE.equals(item.getDisponivel())) {
+                    remover(item.getId());
+                } else if (alterado(anteriores.get(item.getId()), item) || !documentos.containsKey(item.getId())) {
+                    remover(item.getId());
+                    indexar(item);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Long> buscar(String texto) {
+        List<String> termos = tokens(texto);
+        if (termos.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> pontuacao = null;
+
+            for (String termo : termos) {
+                Map<Long, Double> doTermo = pontuarTermo(termo);
+
+                if (pontuacao == null) {
+                    pontuacao = doTermo;
+                } else {
+                    pontuacao.keySet().retainAll(doTermo.keySet());
+                    pontuacao.replaceAll((id, pontos) -> pontos + doTermo.get(id));
+                }
+
+                if (pontuacao.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            Map<Long, Double> resultado = pontuacao;
+            return resultado.keySet().stream()
+                    .sorted(Comparator.<Long>comparingDouble(resultado::get).reversed()
+                            .thenComparing(id -> documentos.get(id).nome())
+                            .thenComparing(id -> id))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String semAcentos = MARCAS_DIACRITICAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARADORES.matcher(semAcentos.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    static List<String> tokens(String texto) {
+        String normalizado = normalizar(texto);
+        return normalizado.isEmpty() ? List.of() : Arrays.asList(normalizado.split(" "));
+    }
+
+    private Map<Long, Double> pontuarTermo(String termo) {
+        Map<String, Double> candidatos = new HashMap<>();
+
+        for (String token : vocabulario.subMap(termo, true, termo + Character.MAX_VALUE, false).keySet()) {
+            candidatos.put(token, token.equals(termo) ? PONTOS_EXATO : PONTOS_PREFIXO);
+        }
+
+        if (termo.length() >= 3) {
+            int tolerancia = termo.length() <= 6 ? 1 : 2;
+            for (String trigrama : trigramasDe(termo)) {
+                for (String token : trigramas.getOrDefault(trigrama, Set.of())) {
+                    if (candidatos.containsKey(token)) {
+                        continue;
+                    }
+                    if (token.contains(termo)) {
+                        candidatos.put(token, PONTOS_TRECHO);
+                    } else if (distancia(termo, token, tolerancia) <= tolerancia) {
+                        candidatos.put(token, PONTOS_APROXIMADO);
+                    }
+                }
+            }
+        }
+
+        Map<Long, Double> pontuacao = new HashMap<>();
+        candidatos.forEach((token, pontos) ->
+                vocabulario.get(token).forEach((id, peso) -> pontuacao.merge(id, pontos * peso, Math::max)));
+        return pontuacao;
+    }
+
+    private void indexar(ItemCardapio item) {
+        Map<String, Double> pesos = new HashMap<>();
+        tokens(item.getDescricao()).forEach(token -> pesos.merge(token, PESO_DESCRICAO, Math::max));
+        tokens(item.getNome()).forEach(token -> pesos.merge(token, PESO_NOME, Math::max));
+
+        documentos.put(item.getId(), new Documento(item.getNome(), pesos.keySet()));
+
+        pesos.forEach((token, peso) -> {
+            Map<Long, Double> postagens = vocabulario.computeIfAbsent(token, chave -> new HashMap<>());
+            if (postagens.isEmpty()) {
+                trigramasDe(token).forEach(trigrama -> trigramas.computeIfAbsent(trigrama, chave -> new HashSet<>()).add(token));
+            }
+            postagens.put(item.getId(), peso);
+        });
+    }
+
+    private void remover(Long id) {
+        Documento documento = documentos.remove(id);
+        if (documento == null) {
+            return;
+        }
+
+        for (String token : documento.tokens()) {
+            Map<Long, Double> postagens = vocabulario.get(token);
+            postagens.remove(id);
+            if (postagens.isEmpty()) {
+                vocabulario.remove(token);
+                for (String trigrama : trigramasDe(token)) {
+                    Set<String> tokens = trigramas.get(trigrama);
+                    tokens.remove(token);
+                    if (tokens.isEmpty()) {
+                        trigramas.remove(trigrama);
+                    }
+                }
+            }
+        }
+    }
+
+    private boolean alterado(ItemCardapio anterior, ItemCardapio atual) {
+        return anterior == null
+                || !Objects.equals(anterior.getNome(), atual.getNome())
+                || !Objects.equals(anterior.getDescricao(), atual.getDescricao())
+                || !Objects.equals(anterior.getDisponivel(), atual.getDisponivel());
+    }
+
+    private static List<String> trigramasDe(String token) {
+        String delimitado = " " + token + " ";
+        List<String> resultado = new ArrayList<>(delimitado.length() - 2);
+        for (int i = 0; i + 3 <= delimitado.length(); i++) {
+            resultado.add(delimitado.substring(i, i + 3));
+        }
+        return resultado;
+    }
+
+    private static int distancia(String a, String b, int limite) {
+        if (Math.abs(a.length() - b.length()) > limite) {
+            return limite + 1;
+        }
+
+        int[] anterior = new int[b.length() + 1];
+        int[] atual = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            anterior[j] = j;
+        }
+
+        for (int i = 1; i <= a.length(); i++) {
+            atual[0] = i;
+            int menorDaLinha = atual[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int custo = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                atual[j] = Math.min(Math.min(atual[j - 1] + 1, anterior[j] + 1), anterior[j - 1] + custo);
+                menorDaLinha = Math.min(menorDaLinha, atual[j]);
+            }
+            if (menorDaLinha > limite) {
+                return limite + 1;
+            }
+            int[] troca = anterior;
+            anterior = atual;
+            atual = troca;
+        }
+
+        return anterior[b.length()];
+    }
+
+    private record Documento(String nome, Set<String> tokens) {
+    }
+}
@@ -0,0 +1,71 @@
+package com.pedix.api.service;
+
+import com.pedix.api.domain.ItemCardapio;
+import com.pedix.api.domain.enums.CategoriaItem;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public record CardapioSnapshot(
+        long versao,
+        Map<Long, ItemCardapio> porId,
+        List<ItemCardapio> disponiveis,
+        Map<CategoriaItem, List<ItemCardapio>> disponiveisPorCategoria,
+        LocalDateTime carregadoEm
+) {
+
+    public static final Comparator<ItemCardapio> ORDEM = Comparator
+            .comparing(ItemCardapio::getNome)
+            .thenComparing(ItemCardapio::getId);
+
+    public static CardapioSnapshot de(long versao, List<ItemCardapio> itens) {
+        List<ItemCardapio> copias = itens.stream()
+                .map(CardapioSnapshot::copiar)
+                .sorted(ORDEM)
+                .toList();
+
+        Map<Long, ItemCardapio> porId = copias.stream()
+                .collect(Collectors.toUnmodifiableMap(ItemCardapio::getId, Function.identity()));
+
+        List<ItemCardapio> disponiveis = copias.stream()
+                .filter(item -> Boolean.TRUE.equals(item.getDisponivel()))
+                .toList();
+
+        Map<CategoriaItem, List<ItemCardapio>> porCategoria = new EnumMap<>(CategoriaItem.class);
+        for (CategoriaItem categoria : CategoriaItem.values()) {
+            porCategoria.put(categoria, disponiveis.stream()
+                    .filter(item -> item.getCategoria() == categoria)
+                    .toList());
+        }
+
+        return new CardapioSnapshot(
+                versao,
+                porId,
+                disponiveis,
+                Collections.unmodifiableMap(porCategoria),
+                LocalDateTime.now()
+        );
+    }
+
+    public List<ItemCardapio> disponiveisDa(CategoriaItem categoria) {
+        return categoria != null ? disponiveisPorCategoria.get(categoria) : disponiveis;
+    }
+
+    private static ItemCardapio copiar(ItemCardapio item) {
+        return ItemCardapio.builder()
+                .id(item.getId())
+                .nome(item.getNome())
+                .descricao(item.getDescricao())
+                .categoria(item.getCategoria())
+                .preco(item.getPreco())
+                .disponivel(item.getDisponivel())
+                .imagemUrl(item.getImagemUrl())
+                .build();
+    }
+}
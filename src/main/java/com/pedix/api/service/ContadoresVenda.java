@@ -0,0 +1,112 @@
+package com.pedix.api.service;
+
+import java.util.Arrays;
+
+/**
+ * Mapa de endereçamento aberto com chave long e contadores em arrays paralelos. A chave junta a hora
+ * (horas desde a época) nos 32 bits de cima e o valor da dimensão nos 32 de baixo, então somar uma
+ * venda não cria objeto nenhum. Não é thread-safe; quem usa sincroniza.
+ */
+final class ContadoresVenda {
+
+    private static final long VAZIA = Long.MIN_VALUE;
+
+    private long[] chaves;
+    private long[] receitas;
+    private long[] quantidades;
+    private long[] pedidos;
+    private int tamanho;
+    private int mascara;
+
+    ContadoresVenda(int capacidadeInicial) {
+        int capacidade = Integer.highestOneBit(Math.max(8, capacidadeInicial - 1) << 1);
+        alocar(capacidade);
+    }
+
+    static long chave(int hora, int valor) {
+        return ((long) hora << 32) | (valor & 0xFFFFFFFFL);
+    }
+
+    static int hora(long chave) {
+        return (int) (chave >>> 32);
+    }
+
+    static int valor(long chave) {
+        return (int) chave;
+    }
+
+    void somar(long chave, long receitaCentavos, long quantidade, long pedidos) {
+        int posicao = posicao(chave);
+        if (chaves[posicao] == VAZIA) {
+            chaves[posicao] = chave;
+            tamanho++;
+        }
+        this.receitas[posicao] += receitaCentavos;
+        this.quantidades[posicao] += quantidade;
+        this.pedidos[posicao] += pedidos;
+
+        if (tamanho * 2 > chaves.length) {
+            crescer();
+        }
+    }
+
+    int tamanho() {
+        return tamanho;
+    }
+
+    /** Visita as chaves com algum contador diferente de zero (somas que se anularam são puladas). */
+    void paraCada(Visitante visitante) {
+        for (int i = 0; i < chaves.length; i++) {
+            if (chaves[i] != VAZIA && (receitas[i] != 0 || quantidades[i] != 0 || pedidos[i] != 0)) {
+                visitante.visitar(chaves[i], receitas[i], quantidades[i], pedidos[i]);
+            }
+        }
+    }
+
+    void somarTudo(ContadoresVenda outros) {
+        outros.paraCada(this::somar);
+    }
+
+    private int posicao(long chave) {
+        long espalhada = chave * 0x9E3779B97F4A7C15L;
+        int posicao = (int) (espalhada ^ (espalhada >>> 32)) & mascara;
+        while (chaves[posicao] != VAZIA && chaves[posicao] != chave) {
+            posicao = (posicao + 1) & mascara;
+        }
+        return posicao;
+    }
+
+    private void crescer() {
+        long[] chavesAntigas = chaves;
+        long[] receitasAntigas = receitas;
+        long[] quantidadesAntigas = quantidades;
+        long[] pedidosAntigos = pedidos;
+
+        alocar(chavesAntigas.length * 2);
+        for (int i = 0; i < chavesAntigas.length; i++) {
+            if (chavesAntigas[i] != VAZIA) {
+                int posicao = posicao(chavesAntigas[i]);
+                chaves[posicao] = chavesAntigas[i];
+                receitas[posicao] = receitasAntigas[i];
+                quantidades[posicao] = quantidadesAntigas[i];
+                pedidos[posicao] = pedidosAntigos[i];
+                tamanho++;
+            }
+        }
+    }
+
+    private void alocar(int capacidade) {
+        chaves = new long[capacidade];
+        Arrays.fill(chaves, VAZIA);
+        receitas = new long[capacidade];
+        quantidades = new long[capacidade];
+        pedidos = new long[capacidade];
+        mascara = capacidade - 1;
+        tamanho = 0;
+    }
+
+    @FunctionalInterface
+    interface Visitante {
+        void visitar(long chave, long receitaCentavos, long quantidade, long pedidos);
+    }
+}
@@ -0,0 +1,140 @@
+package com.pedix.api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pedix.api.domain.enums.SituacaoRecebimento;
+import com.pedix.api.dto.PedidoRecebidoDTO;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+class DiarioRecebimentos implements Closeable {
+
+    private final Path arquivo;
+    private final ObjectMapper mapper;
+    private final long limiteCompactacao;
+
+    private final Map<String, PedidoRecebidoDTO> pendentes = new LinkedHashMap<>();
+    private FileChannel canal;
+
+    DiarioRecebimentos(Path arquivo, ObjectMapper mapper, long limiteCompactacao) throws IOException {
+        this.arquivo = arquivo;
+        this.mapper = mapper;
+        this.limiteCompactacao = limiteCompactacao;
+
+        Path diretorio = arquivo.toAbsolutePath().getParent();
+        if (diretorio != null) {
+            Files.createDirectories(diretorio);
+        }
+
+        carregar();
+        compactar();
+    }
+
+    synchronized List<PedidoRecebidoDTO> pendentes() {
+        return List.copyOf(pendentes.values());
+    }
+
+    synchronized void registrarRecebido(PedidoRecebidoDTO recebido) throws IOException {
+        escrever(new Registro(SituacaoRecebimento.PENDENTE, recebido.getRastreio(), recebido, null, null));
+        // Só responde 202 depois que o recebimento está no disco.
+        canal.force(false);
+        pendentes.put(recebido.getRastreio(), recebido);
+    }
+
+    synchronized void registrarConclusao(String rastreio,
+                                         SituacaoRecebimento situacao,
+                                         Long pedidoId,
+                                         String mensagem) throws IOException {
+        // Sem force: se a conclusão se perder, a reentrega é descartada pelo código de rastreio no banco.
+        escrever(new Registro(situacao, rastreio, null, pedidoId, mensagem));
+        pendentes.remove(rastreio);
+
+        if (pendentes.isEmpty() && canal.size() > limiteCompactacao) {
+            canal.truncate(0);
+            canal.force(true);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (canal != null && canal.isOpen()) {
+            canal.force(true);
+            canal.close();
+        }
+    }
+
+    private void carregar() throws IOException {
+        if (!Files.exists(arquivo)) {
+            return;
+        }
+
+        List<String> linhas = Files.readAllLines(arquivo, StandardCharsets.UTF_8);
+        for (int i = 0; i < linhas.size(); i++) {
+            String linha = linhas.get(i);
+            if (linha.isBlank()) {
+                continue;
+            }
+
+            Registro registro;
+            try {
+                registro = mapper.readValue(linha, Registro.class);
+            } catch (JsonProcessingException e) {
+                // Escrita interrompida no fim do arquivo: o cliente não recebeu 202 para essa linha.
+                log.warn("Ignorando linha {} ilegível do diário de recebimentos {}.", i + 1, arquivo);
+                continue;
+            }
+
+            if (registro.situacao() == SituacaoRecebimento.PENDENTE) {
+                pendentes.put(registro.rastreio(), registro.recebido());
+            } else {
+                pendentes.remove(registro.rastreio());
+            }
+        }
+    }
+
+    private void compactar() throws IOException {
+        Path temporario = arquivo.resolveSibling(arquivo.getFileName() + ".tmp");
+
+        try (FileChannel saida = FileChannel.open(temporario,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (PedidoRecebidoDTO recebido : pendentes.values()) {
+                saida.write(linha(new Registro(SituacaoRecebimento.PENDENTE, recebido.getRastreio(), recebido, null, null)));
+            }
+            saida.force(true);
+        }
+
+        Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        canal = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private void escrever(Registro registro) throws IOException {
+        ByteBuffer buffer = linha(registro);
+        while (buffer.hasRemaining()) {
+            canal.write(buffer);
+        }
+    }
+
+    private ByteBuffer linha(Registro registro) throws JsonProcessingException {
+        return ByteBuffer.wrap((mapper.writeValueAsString(registro) + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    record Registro(SituacaoRecebimento situacao,
+                    String rastreio,
+                    PedidoRecebidoDTO recebido,
+                    Long pedidoId,
+                    String mensagem) {
+    }
+}
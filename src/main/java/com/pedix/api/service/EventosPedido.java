@@ -0,0 +1,34 @@
+package com.pedix.api.service;
+
+import com.pedix.api.domain.Pedido;
+import com.pedix.api.domain.enums.TipoEventoPedido;
+import com.pedix.api.dto.PedidoCabecalhoDTO;
+import com.pedix.api.dto.PedidoEvento;
+
+final class EventosPedido {
+
+    private EventosPedido() {
+    }
+
+    static PedidoEvento.PedidoEventoBuilder de(TipoEventoPedido tipo, Pedido pedido) {
+        return PedidoEvento.builder()
+                .tipo(tipo)
+                .pedidoId(pedido.getId())
+                .comandaId(pedido.getComandaId())
+                .status(pedido.getStatus())
+                .garcomResponsavel(pedido.getGarcomResponsavel())
+                .dataHoraPedido(pedido.getDataHora())
+                .total(pedido.getTotal());
+    }
+
+    static PedidoEvento.PedidoEventoBuilder de(TipoEventoPedido tipo, PedidoCabecalhoDTO pedido) {
+        return PedidoEvento.builder()
+                .tipo(tipo)
+                .pedidoId(pedido.getId())
+                .comandaId(pedido.getComandaId())
+                .status(pedido.getStatus())
+                .garcomResponsavel(pedido.getGarcomResponsavel())
+                .dataHoraPedido(pedido.getDataHora())
+                .total(pedido.getTotal());
+    }
+}
@@ -0,0 +1,157 @@
+package com.pedix.api.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.pedix.api.domain.enums.FormatoExportacao;
+import com.pedix.api.dto.FiltroExportacaoPedidos;
+import com.pedix.api.dto.LinhaExportacaoPedidoDTO;
+import com.pedix.api.dto.PedidoResponseDTO;
+import com.pedix.api.repository.PedidoRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Exportação do histórico de pedidos direto do cursor do banco para a resposta. Só o pedido corrente
+ * fica em memória, então o consumo não depende de quantos pedidos o filtro pega.
+ * <p>
+ * NDJSON: um pedido por linha, no mesmo formato de GET /api/pedido (sem _links).
+ * CSV: uma linha por item, repetindo os dados do pedido; pedido sem itens sai com as colunas do item vazias.
+ */
+@Service
+public class ExportacaoPedidos {
+
+    static final String CABECALHO_CSV = "pedido_id,comanda_id,status,data_criacao,garcom_responsavel,observacao,total,"
+            + "item_cardapio_id,item_nome,quantidade,preco_unitario,subtotal";
+
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+
+    private final PedidoRepository pedidoRepository;
+    private final JsonFactory fabricaJson;
+    private final ObjectWriter writerPedido;
+
+    public ExportacaoPedidos(PedidoRepository pedidoRepository, ObjectMapper objectMapper) {
+        this.pedidoRepository = pedidoRepository;
+        // Sem separador entre valores de topo: a quebra de linha é escrita à mão depois de cada pedido.
+        this.fabricaJson = objectMapper.getFactory().copy().setRootValueSeparator(null);
+        this.writerPedido = objectMapper.writerFor(PedidoResponseDTO.class);
+    }
+
+    @Transactional(readOnly = true)
+    public void exportar(FiltroExportacaoPedidos filtro, FormatoExportacao formato, OutputStream saida) throws IOException {
+        try (Stream<LinhaExportacaoPedidoDTO> linhas =
+                     pedidoRepository.exportar(filtro.status(), filtro.inicio(), filtro.fimExclusivo())) {
+            switch (formato) {
+                case NDJSON -> escreverNdjson(linhas.iterator(), saida);
+                case CSV -> escreverCsv(linhas.iterator(), saida);
+            }
+        }
+    }
+
+    private void escreverNdjson(Iterator<LinhaExportacaoPedidoDTO> linhas, OutputStream saida) throws IOException {
+        try (JsonGenerator gerador = fabricaJson.createGenerator(saida)) {
+            gerador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            PedidoResponseDTO atual = null;
+            while (linhas.hasNext()) {
+                LinhaExportacaoPedidoDTO linha = linhas.next();
+                if (atual == null || !atual.getId().equals(linha.getPedidoId())) {
+                    escreverPedido(gerador, atual);
+                    atual = novoPedido(linha);
+                }
+                if (linha.getItemId() != null) {
+                    atual.getItens().add(PedidoResponseDTO.ItemResumo.builder()
+                            .itemCardapioId(linha.getItemCardapioId())
+                            .nome(linha.getNomeItem())
+                            .quantidade(linha.getQuantidade())
+                            .precoUnitario(linha.getPrecoUnitario())
+                            .subtotal(linha.getSubtotal())
+                            .build());
+                }
+            }
+            escreverPedido(gerador, atual);
+        }
+    }
+
+    private void escreverPedido(JsonGenerator gerador, PedidoResponseDTO pedido) throws IOException {
+        if (pedido == null) {
+            return;
+        }
+        writerPedido.writeValue(gerador, pedido);
+        gerador.writeRaw('\n');
+    }
+
+    private static PedidoResponseDTO novoPedido(LinhaExportacaoPedidoDTO linha) {
+        return PedidoResponseDTO.builder()
+                .id(linha.getPedidoId())
+                .comandaId(linha.getComandaId())
+                .status(linha.getStatus())
+                .dataCriacao(linha.getDataHora())
+                .observacao(linha.getObservacao())
+                .total(linha.getTotal())
+                .garcomResponsavel(linha.getGarcomResponsavel())
+                .itens(new ArrayList<>())
+                .build();
+    }
+
+    private static void escreverCsv(Iterator<LinhaExportacaoPedidoDTO> linhas, OutputStream saida) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8), TAMANHO_BUFFER);
+        writer.write(CABECALHO_CSV);
+        writer.write("\r\n");
+
+        List<Object> colunas = new ArrayList<>(12);
+        while (linhas.hasNext()) {
+            LinhaExportacaoPedidoDTO linha = linhas.next();
+            colunas.clear();
+            colunas.add(linha.getPedidoId());
+            colunas.add(linha.getComandaId());
+            colunas.add(linha.getStatus());
+            colunas.add(linha.getDataHora() == null ? null : DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(linha.getDataHora()));
+            colunas.add(linha.getGarcomResponsavel());
+            colunas.add(linha.getObservacao());
+            colunas.add(linha.getTotal() == null ? null : linha.getTotal().toPlainString());
+            colunas.add(linha.getItemCardapioId());
+            colunas.add(linha.getNomeItem());
+            colunas.add(linha.getQuantidade());
+            colunas.add(linha.getPrecoUnitario() == null ? null : linha.getPrecoUnitario().toPlainString());
+            colunas.add(linha.getSubtotal() == null ? null : linha.getSubtotal().toPlainString());
+
+            for (int i = 0; i < colunas.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(campoCsv(colunas.get(i)));
+            }
+            writer.write("\r\n");
+        }
+        writer.flush();
+    }
+
+    // RFC 4180, e texto livre que começa com = + - @ ganha um apóstrofo para a planilha não tratar como fórmula.
+    static String campoCsv(Object valor) {
+        if (valor == null) {
+            return "";
+        }
+        String texto = valor.toString();
+        if (valor instanceof String && !texto.isEmpty() && "=+-@\t\r".indexOf(texto.charAt(0)) >= 0) {
+            texto = "'" + texto;
+        }
+        if (texto.indexOf(',') < 0 && texto.indexOf('"') < 0 && texto.indexOf('\n') < 0 && texto.indexOf('\r') < 0) {
+            return texto;
+        }
+        return '"' + texto.replace("\"", "\"\"") + '"';
+    }
+}
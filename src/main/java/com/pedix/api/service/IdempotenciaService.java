@@ -0,0 +1,227 @@
+package com.pedix.api.service;
+
+import com.pedix.api.domain.RequisicaoIdempotente;
+import com.pedix.api.repository.RequisicaoIdempotenteRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Slf4j
+@Service
+public class IdempotenciaService {
+
+    private final RequisicaoIdempotenteRepository repository;
+    private final TransactionTemplate transacaoPropria;
+
+    private final long validadeMs;
+    private final long esperaMs;
+    private final int maximoEntradas;
+    private final boolean usarBanco;
+
+    private final Map<String, Entrada> entradas = new ConcurrentHashMap<>();
+
+    public IdempotenciaService(RequisicaoIdempotenteRepository repository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${pedix.idempotencia.validade-ms:86400000}") long validadeMs,
+                               @Value("${pedix.idempotencia.espera-ms:10000}") long esperaMs,
+                               @Value("${pedix.idempotencia.maximo-entradas:10000}") int maximoEntradas,
+                               @Value("${pedix.idempotencia.banco:true}") boolean usarBanco) {
+        this.repository = repository;
+        this.transacaoPropria = new TransactionTemplate(transactionManager);
+        this.transacaoPropria.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.validadeMs = validadeMs;
+        this.esperaMs = esperaMs;
+        this.maximoEntradas = maximoEntradas;
+        this.usarBanco = usarBanco;
+    }
+
+    public Reserva reservar(String chave, String hash) {
+        long prazo = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(esperaMs);
+
+        while (true) {
+            Entrada nova = new Entrada(hash, new CompletableFuture<>(), System.currentTimeMillis() + validadeMs);
+            Entrada existente = entradas.putIfAbsent(chave, nova);
+
+            if (existente == null) {
+                liberarEspaco();
+                Reserva reserva = usarBanco ? reservarNoBanco(chave, hash, prazo) : Reserva.PROSSEGUIR;
+                if (reserva.tipo() == TipoReserva.REPETIR) {
+                    nova.resposta().complete(reserva.resposta());
+                } else if (reserva.tipo() != TipoReserva.PROSSEGUIR) {
+                    entradas.remove(chave, nova);
+                    nova.resposta().cancel(false);
+                }
+                return reserva;
+            }
+
+            if (existente.expirada()) {
+                entradas.remove(chave, existente);
+                continue;
+            }
+
+            if (!existente.hash().equals(hash)) {
+                return Reserva.CONFLITO;
+            }
+
+            // Retentativa concorrente: espera a primeira requisição terminar em vez de correr junto.
+            try {
+                long restante = prazo - System.nanoTime();
+                return Reserva.repetir(existente.resposta().get(Math.max(0, restante), TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                return Reserva.EM_ANDAMENTO;
+            } catch (ExecutionException | java.util.concurrent.CancellationException e) {
+                // A primeira desistiu (erro 5xx ou exceção): tenta assumir a chave.
+                entradas.remove(chave, existente);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Reserva.EM_ANDAMENTO;
+            }
+        }
+    }
+
+    public void concluir(String chave, RespostaIdempotente resposta) {
+        if (usarBanco) {
+            transacaoPropria.executeWithoutResult(status -> repository.concluir(
+                    chave, resposta.status(), resposta.contentType(), resposta.location(), resposta.corpo()));
+        }
+
+        Entrada entrada = entradas.get(chave);
+        if (entrada != null) {
+            entrada.resposta().complete(resposta);
+        }
+    }
+
+    public void abandonar(String chave) {
+        if (usarBanco) {
+            transacaoPropria.executeWithoutResult(status -> repository.deleteById(chave));
+        }
+
+        Entrada entrada = entradas.remove(chave);
+        if (entrada != null) {
+            entrada.resposta().cancel(false);
+        }
+    }
+
+    public int entradasEmMemoria() {
+        return entradas.size();
+    }
+
+    void esquecerLocalmente() {
+        entradas.clear();
+    }
+
+    @Scheduled(fixedDelayString = "${pedix.idempotencia.limpeza-ms:300000}")
+    public void removerExpiradas() {
+        entradas.values().removeIf(Entrada::expirada);
+        if (usarBanco) {
+            Integer removidas = transacaoPropria.execute(status -> repository.removerExpiradas(LocalDateTime.now()));
+            log.debug("{} chaves de idempotência expiradas removidas do banco.", removidas);
+        }
+    }
+
+    private Reserva reservarNoBanco(String chave, String hash, long prazo) {
+        while (true) {
+            try {
+                LocalDateTime agora = LocalDateTime.now();
+                transacaoPropria.executeWithoutResult(status ->
+                        repository.reservar(chave, hash, agora, agora.plusNanos(validadeMs * 1_000_000)));
+                return Reserva.PROSSEGUIR;
+            } catch (DataIntegrityViolationException e) {
+                // Outro nó já reservou a chave: acompanha a linha até ela ter resposta.
+                log.debug("Chave de idempotência {} já reservada por outro nó.", chave);
+            }
+
+            while (true) {
+                Optional<RequisicaoIdempotente> registro = transacaoPropria.execute(status -> repository.findById(chave));
+
+                if (registro.isEmpty()) {
+                    break;
+                }
+
+                RequisicaoIdempotente requisicao = registro.get();
+                if (requisicao.getExpiraEm().isBefore(LocalDateTime.now())) {
+                    transacaoPropria.executeWithoutResult(status -> repository.deleteById(chave));
+                    break;
+                }
+                if (!requisicao.getHashRequisicao().equals(hash)) {
+                    return Reserva.CONFLITO;
+                }
+                if (requisicao.getStatusHttp() != null) {
+                    return Reserva.repetir(new RespostaIdempotente(
+                            requisicao.getStatusHttp(),
+                            requisicao.getContentType(),
+                            requisicao.getLocation(),
+                            requisicao.getCorpo()));
+                }
+                if (System.nanoTime() > prazo) {
+                    return Reserva.EM_ANDAMENTO;
+                }
+
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return Reserva.EM_ANDAMENTO;
+                }
+            }
+        }
+    }
+
+    private void liberarEspaco() {
+        if (entradas.size() <= maximoEntradas) {
+            return;
+        }
+
+        entradas.values().removeIf(Entrada::expirada);
+
+        // Ainda cheio: descarta respostas já concluídas, que continuam disponíveis no banco.
+        var iterador = entradas.values().iterator();
+        while (entradas.size() > maximoEntradas && iterador.hasNext()) {
+            if (iterador.next().resposta().isDone()) {
+                iterador.remove();
+            }
+        }
+    }
+
+    public enum TipoReserva {
+        PROSSEGUIR,
+        REPETIR,
+        CONFLITO,
+        EM_ANDAMENTO
+    }
+
+    public record Reserva(TipoReserva tipo, RespostaIdempotente resposta) {
+
+        static final Reserva PROSSEGUIR = new Reserva(TipoReserva.PROSSEGUIR, null);
+        static final Reserva CONFLITO = new Reserva(TipoReserva.CONFLITO, null);
+        static final Reserva EM_ANDAMENTO = new Reserva(TipoReserva.EM_ANDAMENTO, null);
+
+        static Reserva repetir(RespostaIdempotente resposta) {
+            return new Reserva(TipoReserva.REPETIR, resposta);
+        }
+    }
+
+    public record RespostaIdempotente(int status, String contentType, String location, String corpo) {
+    }
+
+    private record Entrada(String hash, CompletableFuture<RespostaIdempotente> resposta, long expiraEm) {
+
+        boolean expirada() {
+            return System.currentTimeMillis() > expiraEm;
+        }
+    }
+}
@@ -2,52 +2,107 @@ package com.pedix.api.service;
 
 import com.pedix.api.domain.ItemCardapio;
 import com.pedix.api.domain.enums.CategoriaItem;
+import com.pedix.api.dto.CacheCardapioDTO;
 import com.pedix.api.dto.ItemCardapioDTO;
+import com.pedix.api.dto.Pagina;
 import com.pedix.api.repository.ItemCardapioRepository;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
 public class ItemCardapioService {
 
     private final ItemCardapioRepository itemCardapioRepository;
+    private final CardapioCache cardapioCache;
+    private final CardapioIndiceBusca cardapioIndiceBusca;
 
-    @Transactional(readOnly = true)
     public List<ItemCardapio> listarDisponiveis() {
-        return itemCardapioRepository.findByDisponivelTrue().stream()
-                .sorted(Comparator.comparing(ItemCardapio::getNome))
-                .collect(Collectors.toList());
+        return cardapioCache.atual().disponiveis();
     }
 
-    @Transactional(readOnly = true)
     public List<ItemCardapio> buscarDisponiveisPorNome(String busca) {
         if (busca == null || busca.trim().isEmpty()) {
             return listarDisponiveis();
         }
 
-        return itemCardapioRepository.findByDisponivelTrueAndNomeContainingIgnoreCase(busca.trim()).stream()
-                .sorted(Comparator.comparing(ItemCardapio::getNome))
-                .collect(Collectors.toList());
+        CardapioSnapshot snapshot = cardapioCache.atual();
+        return cardapioIndiceBusca.buscar(busca).stream()
+                .map(snapshot.porId()::get)
+                .filter(Objects::nonNull)
+                .toList();
     }
 
-    @Transactional(readOnly = true)
     public List<ItemCardapio> listarPorCategoria(CategoriaItem categoria) {
-        return itemCardapioRepository.findByDisponivelTrueAndCategoria(categoria).stream()
-                .sorted(Comparator.comparing(ItemCardapio::getNome))
-                .collect(Collectors.toList());
+        return cardapioCache.atual().disponiveisDa(categoria);
+    }
+
+    public Pagina<ItemCardapio> listarDisponiveisPagina(CategoriaItem categoria, String busca, Long apos, int limite) {
+        if (busca != null && !busca.trim().isEmpty()) {
+            return paginar(buscarDisponiveisPorNome(busca), apos, limite);
+        }
+
+        CardapioSnapshot snapshot = cardapioCache.atual();
+        List<ItemCardapio> itens = snapshot.disponiveisDa(categoria);
+        int inicio = 0;
+
+        if (apos != null) {
+            ItemCardapio cursor = snapshot.porId().get(apos);
+            if (cursor == null) {
+                throw new IllegalArgumentException("Cursor de página inválido: " + apos);
+            }
+            int posicao = Collections.binarySearch(itens, cursor, CardapioSnapshot.ORDEM);
+            inicio = posicao >= 0 ? posicao + 1 : -posicao - 1;
+        }
+
+        int fim = Math.min(itens.size(), inicio + limite + 1);
+        return Pagina.de(itens.subList(inicio, fim), limite, ItemCardapio::getId);
     }
 
-    @Transactional(readOnly = true)
     public ItemCardapio buscarPorId(Long id) {
-        return itemCardapioRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Item do cardápio não encontrado: " + id));
+        ItemCardapio item = cardapioCache.atual().porId().get(id);
+        if (item != null) {
+            return item;
+        }
+
+        cardapioCache.registrarFalta();
+        return carregar(id);
+    }
+
+    public Map<Long, ItemCardapio> cardapioEmMemoria() {
+        return cardapioCache.atual().porId();
+    }
+
+    public Map<Long, ItemCardapio> buscarPorIds(Collection<Long> ids) {
+        Map<Long, ItemCardapio> porId = cardapioCache.atual().porId();
+        Map<Long, ItemCardapio> encontrados = new HashMap<>();
+        List<Long> faltantes = new ArrayList<>();
+
+        for (Long id : ids) {
+            ItemCardapio item = porId.get(id);
+            if (item != null) {
+                encontrados.put(id, item);
+            } else if (id != null) {
+                faltantes.add(id);
+            }
+        }
+
+        if (!faltantes.isEmpty()) {
+            cardapioCache.registrarFalta();
+            itemCardapioRepository.findAllById(faltantes).forEach(item -> encontrados.put(item.getId(), item));
+        }
+
+        return encontrados;
     }
 
     @Transactional
@@ -61,12 +116,14 @@ public class ItemCardapioService {
                 .imagemUrl(dto.getImagemUrl())
                 .build();
 
-        return itemCardapioRepository.save(item);
+        ItemCardapio salvo = itemCardapioRepository.save(item);
+        cardapioCache.registrarAlteracao();
+        return salvo;
     }
 
     @Transactional
     public ItemCardapio atualizar(Long id, ItemCardapioDTO dto) {
-        ItemCardapio item = buscarPorId(id);
+        ItemCardapio item = carregar(id);
 
         item.atualizarInformacoes(
                 dto.getNome(),
@@ -77,12 +134,42 @@ public class ItemCardapioService {
                 dto.getImagemUrl()
         );
 
-        return itemCardapioRepository.save(item);
+        ItemCardapio salvo = itemCardapioRepository.save(item);
+        cardapioCache.registrarAlteracao();
+        return salvo;
     }
 
     @Transactional
     public void excluir(Long id) {
-        ItemCardapio item = buscarPorId(id);
+        ItemCardapio item = carregar(id);
         itemCardapioRepository.delete(item);
+        cardapioCache.registrarAlteracao();
+    }
+
+    public CacheCardapioDTO estatisticasCache() {
+        return cardapioCache.estatisticas();
+    }
+
+    private Pagina<ItemCardapio> paginar(List<ItemCardapio> ranqueados, Long apos, int limite) {
+        int inicio = 0;
+
+        if (apos != null) {
+            int posicao = 0;
+            while (posicao < ranqueados.size() && !ranqueados.get(posicao).getId().equals(apos)) {
+                posicao++;
+            }
+            if (posicao == ranqueados.size()) {
+                throw new IllegalArgumentException("Cursor de página inválido: " + apos);
+            }
+            inicio = posicao + 1;
+        }
+
+        int fim = Math.min(ranqueados.size(), inicio + limite + 1);
+        return Pagina.de(ranqueados.subList(inicio, fim), limite, ItemCardapio::getId);
+    }
+
+    private ItemCardapio carregar(Long id) {
+        return itemCardapioRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Item do cardápio não encontrado: " + id));
     }
-}
\ No newline at end of file
+}
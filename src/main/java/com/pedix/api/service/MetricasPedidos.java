@@ -0,0 +1,64 @@
+package com.pedix.api.service;
+
+import com.pedix.api.domain.enums.StatusPedido;
+import com.pedix.api.dto.PedidoEvento;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Component
+public class MetricasPedidos {
+
+    private final Counter pedidosCriados;
+    private final DistributionSummary itensPorPedido;
+    private final Map<StatusPedido, Timer> tempoNoStatus = new EnumMap<>(StatusPedido.class);
+
+    public MetricasPedidos(MeterRegistry registry) {
+        this.pedidosCriados = Counter.builder("pedix.pedidos.criados")
+                .description("Pedidos criados; a taxa por minuto vem de rate() no Prometheus")
+                .register(registry);
+
+        this.itensPorPedido = DistributionSummary.builder("pedix.pedidos.itens")
+                .description("Linhas por pedido criado")
+                .baseUnit("itens")
+                .publishPercentileHistogram()
+                .register(registry);
+
+        for (StatusPedido status : StatusPedido.values()) {
+            tempoNoStatus.put(status, Timer.builder("pedix.pedidos.tempo.status")
+                    .description("Tempo que o pedido permaneceu no status antes de mudar")
+                    .tag("status", status.name())
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofSeconds(1))
+                    .maximumExpectedValue(Duration.ofHours(4))
+                    .register(registry));
+        }
+    }
+
+    @TransactionalEventListener
+    public void registrar(PedidoEvento evento) {
+        switch (evento.getTipo()) {
+            case PEDIDO_CRIADO -> {
+                pedidosCriados.increment();
+                if (evento.getPedido() != null && evento.getPedido().getItens() != null) {
+                    itensPorPedido.record(evento.getPedido().getItens().size());
+                }
+            }
+            case STATUS_ALTERADO -> {
+                if (evento.getStatusAnterior() != null && evento.getStatusAnteriorDesde() != null) {
+                    tempoNoStatus.get(evento.getStatusAnterior())
+                            .record(Duration.between(evento.getStatusAnteriorDesde(), evento.getOcorridoEm()));
+                }
+            }
+            default -> {
+            }
+        }
+    }
+}
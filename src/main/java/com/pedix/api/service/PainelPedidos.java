@@ -0,0 +1,212 @@
+package com.pedix.api.service;
+
+import com.pedix.api.domain.ItemCardapio;
+import com.pedix.api.domain.enums.EstacaoPreparo;
+import com.pedix.api.domain.enums.StatusPedido;
+import com.pedix.api.dto.PainelPedidoDTO;
+import com.pedix.api.dto.PedidoEvento;
+import com.pedix.api.dto.PedidoItemResponseDTO;
+import com.pedix.api.dto.PedidoResponseDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PainelPedidos {
+
+    // Listeners de transações diferentes rodam em qualquer ordem; a saída só precisa ser lembrada pelo
+    // tempo que um evento atrasado do mesmo pedido ainda pode chegar.
+    private static final long RETENCAO_SAIDAS_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+    private final PedidoService pedidoService;
+    private final ItemCardapioService itemCardapioService;
+
+    // Cartões imutáveis, trocados por inteiro: leitores nunca bloqueiam.
+    private final Map<EstacaoPreparo, ConcurrentNavigableMap<Long, PainelPedidoDTO>> estacoes = criarEstacoes();
+
+    // Pedidos que saíram do painel (status inativo ou excluídos). Status inativo não volta a ser ativo,
+    // então um evento que chega depois da saída está atrasado e não pode recriar o cartão.
+    private final Map<Long, Long> saidas = new ConcurrentHashMap<>();
+    private volatile long proximaLimpezaSaidas = System.nanoTime() + RETENCAO_SAIDAS_NANOS;
+
+    public List<PainelPedidoDTO> listar(EstacaoPreparo estacao, Collection<StatusPedido> status) {
+        return estacoes.get(estacao).values().stream()
+                .filter(cartao -> status == null || status.isEmpty() || status.contains(cartao.getStatus()))
+                .toList();
+    }
+
+    public Map<EstacaoPreparo, List<PainelPedidoDTO>> listarTodas(Collection<StatusPedido> status) {
+        Map<EstacaoPreparo, List<PainelPedidoDTO>> resultado = new EnumMap<>(EstacaoPreparo.class);
+        for (EstacaoPreparo estacao : EstacaoPreparo.values()) {
+            resultado.put(estacao, listar(estacao, status));
+        }
+        return resultado;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregarNaInicializacao() {
+        List<PedidoResponseDTO> ativos = pedidoService.listarAtivosResponse();
+        ativos.forEach(this::substituir);
+        log.info("Painel de pedidos carregado com {} pedidos ativos.", ativos.size());
+    }
+
+    // Roda depois do commit: uma falha aqui não pode virar erro de uma escrita que já foi gravada.
+    @TransactionalEventListener
+    public void aplicar(PedidoEvento evento) {
+        try {
+            aplicarNoPainel(evento);
+        } catch (RuntimeException e) {
+            log.warn("Evento {} do pedido {} não aplicado no painel.", evento.getTipo(), evento.getPedidoId(), e);
+        }
+    }
+
+    private void aplicarNoPainel(PedidoEvento evento) {
+        switch (evento.getTipo()) {
+            case PEDIDO_CRIADO -> substituir(evento.getPedido());
+            case STATUS_ALTERADO -> alterarStatus(evento);
+            case PEDIDO_EXCLUIDO -> remover(evento.getPedidoId());
+            case ITEM_ADICIONADO -> ajustar(evento, evento.getItem(), 1);
+            case ITEM_ATUALIZADO -> {
+                ajustar(evento, evento.getItemAnterior(), -1);
+                ajustar(evento, evento.getItem(), 1);
+            }
+            case ITEM_REMOVIDO -> ajustar(evento, evento.getItem(), -1);
+        }
+    }
+
+    private void alterarStatus(PedidoEvento evento) {
+        if (!evento.getStatus().ativo()) {
+            remover(evento.getPedidoId());
+        } else {
+            estacoes.values().forEach(cartoes -> cartoes.computeIfPresent(evento.getPedidoId(),
+                    (id, cartao) -> cartao.toBuilder().status(evento.getStatus()).build()));
+        }
+    }
+
+    private void substituir(PedidoResponseDTO pedido) {
+        if (!pedido.getStatus().ativo()) {
+            remover(pedido.getId());
+            return;
+        }
+        if (saiu(pedido.getId())) {
+            return;
+        }
+
+        Map<EstacaoPreparo, Map<Long, PainelPedidoDTO.ItemPainel>> linhas = new EnumMap<>(EstacaoPreparo.class);
+        for (PedidoResponseDTO.ItemResumo item : pedido.getItens()) {
+            linhas.computeIfAbsent(estacaoDo(item.getItemCardapioId()), estacao -> new LinkedHashMap<>())
+                    .merge(item.getItemCardapioId(),
+                            new PainelPedidoDTO.ItemPainel(item.getItemCardapioId(), item.getNome(), item.getQuantidade()),
+                            PainelPedidos::somar);
+        }
+
+        for (EstacaoPreparo estacao : EstacaoPreparo.values()) {
+            Map<Long, PainelPedidoDTO.ItemPainel> daEstacao = linhas.get(estacao);
+            if (daEstacao == null) {
+                estacoes.get(estacao).remove(pedido.getId());
+                continue;
+            }
+
+            estacoes.get(estacao).put(pedido.getId(), PainelPedidoDTO.builder()
+                    .pedidoId(pedido.getId())
+                    .comandaId(pedido.getComandaId())
+                    .estacao(estacao)
+                    .status(pedido.getStatus())
+                    .garcomResponsavel(pedido.getGarcomResponsavel())
+                    .observacao(pedido.getObservacao())
+                    .dataHoraPedido(pedido.getDataCriacao())
+                    .itens(List.copyOf(daEstacao.values()))
+                    .build());
+        }
+        descartarSeSaiu(pedido.getId());
+    }
+
+    private void ajustar(PedidoEvento evento, PedidoItemResponseDTO item, int sinal) {
+        if (item == null || evento.getStatus() == null || !evento.getStatus().ativo() || saiu(evento.getPedidoId())) {
+            return;
+        }
+
+        EstacaoPreparo estacao = estacaoDo(item.getItemCardapioId());
+        PainelPedidoDTO.ItemPainel delta =
+                new PainelPedidoDTO.ItemPainel(item.getItemCardapioId(), item.getNomeItem(), sinal * item.getQuantidade());
+
+        estacoes.get(estacao).compute(evento.getPedidoId(), (id, cartao) -> {
+            PainelPedidoDTO base = cartao != null ? cartao : PainelPedidoDTO.builder()
+                    .pedidoId(evento.getPedidoId())
+                    .comandaId(evento.getComandaId())
+                    .estacao(estacao)
+                    .status(evento.getStatus())
+                    .garcomResponsavel(evento.getGarcomResponsavel())
+                    .dataHoraPedido(evento.getDataHoraPedido())
+                    .itens(List.of())
+                    .build();
+
+            Map<Long, PainelPedidoDTO.ItemPainel> linhas = new LinkedHashMap<>();
+            base.getItens().forEach(linha -> linhas.put(linha.getItemCardapioId(), linha));
+            linhas.merge(delta.getItemCardapioId(), delta, PainelPedidos::somar);
+            linhas.values().removeIf(linha -> linha.getQuantidade() <= 0);
+
+            return linhas.isEmpty() ? null : base.toBuilder().itens(List.copyOf(linhas.values())).build();
+        });
+        descartarSeSaiu(evento.getPedidoId());
+    }
+
+    private void remover(Long pedidoId) {
+        long agora = System.nanoTime();
+        saidas.put(pedidoId, agora);
+        estacoes.values().forEach(cartoes -> cartoes.remove(pedidoId));
+
+        if (agora - proximaLimpezaSaidas >= 0) {
+            proximaLimpezaSaidas = agora + RETENCAO_SAIDAS_NANOS;
+            saidas.values().removeIf(saida -> agora - saida > RETENCAO_SAIDAS_NANOS);
+        }
+    }
+
+    private boolean saiu(Long pedidoId) {
+        return saidas.containsKey(pedidoId);
+    }
+
+    // remover marca a saída antes de tirar os cartões; quem grava confere depois de gravar.
+    // Assim, se os dois correrem juntos, um dos lados sempre vê o outro e nenhum cartão fica para trás.
+    private void descartarSeSaiu(Long pedidoId) {
+        if (saiu(pedidoId)) {
+            estacoes.values().forEach(cartoes -> cartoes.remove(pedidoId));
+        }
+    }
+
+    // Só o snapshot em memória: item fora dele (excluído do cardápio) vai para a cozinha, sem ida ao banco.
+    private EstacaoPreparo estacaoDo(Long itemCardapioId) {
+        ItemCardapio item = itemCardapioService.cardapioEmMemoria().get(itemCardapioId);
+        return item != null ? EstacaoPreparo.de(item.getCategoria()) : EstacaoPreparo.COZINHA;
+    }
+
+    private static PainelPedidoDTO.ItemPainel somar(PainelPedidoDTO.ItemPainel atual, PainelPedidoDTO.ItemPainel delta) {
+        return new PainelPedidoDTO.ItemPainel(atual.getItemCardapioId(),
+                delta.getNome() != null ? delta.getNome() : atual.getNome(),
+                atual.getQuantidade() + delta.getQuantidade());
+    }
+
+    private static Map<EstacaoPreparo, ConcurrentNavigableMap<Long, PainelPedidoDTO>> criarEstacoes() {
+        Map<EstacaoPreparo, ConcurrentNavigableMap<Long, PainelPedidoDTO>> mapa = new EnumMap<>(EstacaoPreparo.class);
+        for (EstacaoPreparo estacao : EstacaoPreparo.values()) {
+            mapa.put(estacao, new ConcurrentSkipListMap<>());
+        }
+        return mapa;
+    }
+}
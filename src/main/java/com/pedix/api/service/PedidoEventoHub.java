@@ -0,0 +1,186 @@
+package com.pedix.api.service;
+
+import com.pedix.api.domain.enums.StatusPedido;
+import com.pedix.api.dto.PedidoEvento;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Slf4j
+@Component
+public class PedidoEventoHub {
+
+    private final int capacidadeHistorico;
+    private final long timeoutMs;
+
+    private final Deque<EventoSequenciado> historico = new ArrayDeque<>();
+    private final List<Assinatura> assinaturas = new CopyOnWriteArrayList<>();
+    private final ExecutorService entrega = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "pedido-eventos-sse");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private long sequencia;
+
+    public PedidoEventoHub(@Value("${pedix.pedido.eventos.historico:1000}") int capacidadeHistorico,
+                           @Value("${pedix.pedido.eventos.timeout-ms:1800000}") long timeoutMs) {
+        this.capacidadeHistorico = capacidadeHistorico;
+        this.timeoutMs = timeoutMs;
+    }
+
+    // A entrega entra na fila de thread única dentro do mesmo bloqueio que dá a sequência,
+    // então os assinantes recebem os eventos na ordem dos ids.
+    @TransactionalEventListener
+    public void publicar(PedidoEvento evento) {
+        synchronized (historico) {
+            EventoSequenciado sequenciado = new EventoSequenciado(++sequencia, evento);
+            historico.addLast(sequenciado);
+            if (historico.size() > capacidadeHistorico) {
+                historico.removeFirst();
+            }
+
+            entrega.execute(() -> assinaturas.stream()
+                    .filter(assinatura -> assinatura.filtro().aceita(evento))
+                    .forEach(assinatura -> enviar(assinatura, sequenciado)));
+        }
+    }
+
+    public SseEmitter assinar(Filtro filtro, Long ultimoEventoId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Assinatura assinatura = new Assinatura(emitter, filtro);
+
+        emitter.onCompletion(() -> assinaturas.remove(assinatura));
+        emitter.onTimeout(() -> assinaturas.remove(assinatura));
+        emitter.onError(erro -> assinaturas.remove(assinatura));
+
+        entrega.execute(() -> {
+            if (ultimoEventoId != null) {
+                reenviar(assinatura, ultimoEventoId);
+            }
+            assinaturas.add(assinatura);
+        });
+
+        return emitter;
+    }
+
+    public List<EventoSequenciado> eventosApos(long ultimoEventoId, Filtro filtro) {
+        synchronized (historico) {
+            return historico.stream()
+                    .filter(evento -> evento.id() > ultimoEventoId)
+                    .filter(evento -> filtro.aceita(evento.evento()))
+                    .toList();
+        }
+    }
+
+    public int assinantes() {
+        return assinaturas.size();
+    }
+
+    @Scheduled(fixedDelayString = "${pedix.pedido.eventos.heartbeat-ms:15000}")
+    public void heartbeat() {
+        entrega.execute(() -> assinaturas.forEach(assinatura -> {
+            try {
+                assinatura.emitter().send(SseEmitter.event().comment("ping"));
+            } catch (IOException | IllegalStateException e) {
+                descartar(assinatura);
+            }
+        }));
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        assinaturas.forEach(assinatura -> assinatura.emitter().complete());
+        entrega.shutdownNow();
+    }
+
+    private void reenviar(Assinatura assinatura, long ultimoEventoId) {
+        long maisAntigo;
+        synchronized (historico) {
+            maisAntigo = historico.isEmpty() ? sequencia + 1 : historico.getFirst().id();
+        }
+
+        if (ultimoEventoId + 1 < maisAntigo) {
+            try {
+                assinatura.emitter().send(SseEmitter.event()
+                        .name("RESSINCRONIZAR")
+                        .data("Eventos anteriores a " + maisAntigo + " não estão mais disponíveis."));
+            } catch (IOException | IllegalStateException e) {
+                descartar(assinatura);
+                return;
+            }
+        }
+
+        eventosApos(ultimoEventoId, assinatura.filtro()).forEach(evento -> enviar(assinatura, evento));
+    }
+
+    private void enviar(Assinatura assinatura, EventoSequenciado sequenciado) {
+        // O reenvio pode já ter mandado um evento cuja entrega ao vivo ainda estava na fila.
+        if (sequenciado.id() <= assinatura.ultimoEnviado) {
+            return;
+        }
+        assinatura.ultimoEnviado = sequenciado.id();
+        try {
+            assinatura.emitter().send(SseEmitter.event()
+                    .id(String.valueOf(sequenciado.id()))
+                    .name(sequenciado.evento().getTipo().name())
+                    .data(sequenciado.evento(), MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            descartar(assinatura);
+        }
+    }
+
+    private void descartar(Assinatura assinatura) {
+        log.debug("Removendo assinante SSE desconectado.");
+        assinaturas.remove(assinatura);
+        assinatura.emitter().completeWithError(new IOException("Assinante desconectado."));
+    }
+
+    public record EventoSequenciado(long id, PedidoEvento evento) {
+    }
+
+    public record Filtro(Set<StatusPedido> status, Long comandaId) {
+
+        public static final Filtro TODOS = new Filtro(Set.of(), null);
+
+        public boolean aceita(PedidoEvento evento) {
+            return (status == null || status.isEmpty() || status.contains(evento.getStatus()))
+                    && (comandaId == null || comandaId.equals(evento.getComandaId()));
+        }
+    }
+
+    // Só a thread de entrega lê e grava ultimoEnviado.
+    private static final class Assinatura {
+
+        private final SseEmitter emitter;
+        private final Filtro filtro;
+        private long ultimoEnviado;
+
+        private Assinatura(SseEmitter emitter, Filtro filtro) {
+            this.emitter = emitter;
+            this.filtro = filtro;
+        }
+
+        SseEmitter emitter() {
+            return emitter;
+        }
+
+        Filtro filtro() {
+            return filtro;
+        }
+    }
+}
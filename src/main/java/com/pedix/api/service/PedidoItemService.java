@@ -3,20 +3,21 @@ package com.pedix.api.service;
 import com.pedix.api.domain.ItemCardapio;
 import com.pedix.api.domain.Pedido;
 import com.pedix.api.domain.PedidoItem;
+import com.pedix.api.domain.enums.TipoEventoPedido;
+import com.pedix.api.dto.Pagina;
 import com.pedix.api.dto.PedidoItemRequestDTO;
 import com.pedix.api.dto.PedidoItemResponseDTO;
 import com.pedix.api.repository.PedidoItemRepository;
 import com.pedix.api.repository.PedidoRepository;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -25,18 +26,22 @@ public class PedidoItemService {
     private final PedidoItemRepository pedidoItemRepository;
     private final PedidoRepository pedidoRepository;
     private final ItemCardapioService itemCardapioService;
+    private final ResumoPedidos resumos;
+    private final ApplicationEventPublisher eventos;
 
     @Transactional(readOnly = true)
-    public List<PedidoItemResponseDTO> listarTodosDTO() {
-        return pedidoItemRepository.findAll().stream()
-                .sorted(Comparator.comparing(PedidoItem::getId))
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+    public Pagina<PedidoItemResponseDTO> listarPaginaDTO(Long apos, int limite) {
+        List<PedidoItemResponseDTO> linhas = pedidoItemRepository.listarResumosApos(
+                apos != null ? apos : 0L,
+                Pagina.consulta(limite)
+        );
+        return Pagina.de(linhas, limite, PedidoItemResponseDTO::getId);
     }
 
     @Transactional(readOnly = true)
     public PedidoItemResponseDTO buscarDTOPorId(Long id) {
-        return toResponse(buscarPorId(id));
+        return pedidoItemRepository.buscarResumoPorId(id)
+                .orElseThrow(() -> new EntityNotFoundException("Item de pedido não encontrado: " + id));
     }
 
     @Transactional(readOnly = true)
@@ -49,41 +54,41 @@ public class PedidoItemService {
     public PedidoItemResponseDTO criar(PedidoItemRequestDTO dto) {
         validarCriacao(dto);
 
-        Pedido pedido = pedidoRepository.findById(dto.getPedidoId())
-                .orElseThrow(() -> new EntityNotFoundException("Pedido não encontrado: " + dto.getPedidoId()));
-
         ItemCardapio itemCardapio = itemCardapioService.buscarPorId(dto.getItemCardapioId());
 
         if (!Boolean.TRUE.equals(itemCardapio.getDisponivel())) {
             throw new IllegalArgumentException("Item indisponível: " + itemCardapio.getNome());
         }
 
+        BigDecimal precoUnitario = dto.getPrecoUnitario() != null ? dto.getPrecoUnitario() : itemCardapio.getPreco();
+        BigDecimal subtotal = calcSubtotal(precoUnitario, dto.getQuantidade());
+
+        Pedido pedido = aplicarDelta(dto.getPedidoId(), 1, subtotal);
+
         PedidoItem entity = PedidoItem.builder()
                 .pedido(pedido)
                 .itemCardapio(itemCardapio)
                 .quantidade(dto.getQuantidade())
+                .precoUnitario(precoUnitario)
+                .subtotal(subtotal)
                 .build();
 
-        if (dto.getPrecoUnitario() != null) {
-            entity.setPrecoUnitario(dto.getPrecoUnitario());
-        } else {
-            entity.setPrecoUnitario(itemCardapio.getPreco());
-        }
-
-        entity.setSubtotal(calcSubtotal(entity.getPrecoUnitario(), entity.getQuantidade()));
-        pedido.adicionarItem(entity);
-
         PedidoItem salvo = pedidoItemRepository.save(entity);
-        pedidoRepository.save(pedido);
 
-        return toResponse(salvo);
+        PedidoItemResponseDTO response = toResponse(salvo);
+        eventos.publishEvent(EventosPedido.de(TipoEventoPedido.ITEM_ADICIONADO, pedido)
+                .item(response)
+                .build());
+
+        return response;
     }
 
     @Transactional
     public PedidoItemResponseDTO atualizar(Long id, PedidoItemRequestDTO dto) {
         validarAtualizacao(dto);
 
-        PedidoItem entity = buscarPorId(id);
+        PedidoItem entity = bloquearPorId(id);
+        PedidoItemResponseDTO anterior = toResponse(entity);
 
         if (dto.getItemCardapioId() != null
                 && !dto.getItemCardapioId().equals(entity.getItemCardapio().getId())) {
@@ -107,27 +112,30 @@ public class PedidoItemService {
 
         entity.setSubtotal(calcSubtotal(entity.getPrecoUnitario(), entity.getQuantidade()));
 
-        PedidoItem atualizado = pedidoItemRepository.save(entity);
+        Pedido pedido = aplicarDelta(anterior.getPedidoId(), 0, entity.getSubtotal().subtract(anterior.getSubtotal()));
 
-        Pedido pedido = atualizado.getPedido();
-        pedido.recalcularTotal();
-        pedidoRepository.save(pedido);
+        PedidoItemResponseDTO response = toResponse(entity);
+        eventos.publishEvent(EventosPedido.de(TipoEventoPedido.ITEM_ATUALIZADO, pedido)
+                .item(response)
+                .itemAnterior(anterior)
+                .build());
 
-        return toResponse(atualizado);
+        return response;
     }
 
     @Transactional
     public Long deletar(Long id) {
-        PedidoItem entity = buscarPorId(id);
-        Pedido pedido = entity.getPedido();
-        Long pedidoId = pedido.getId();
+        PedidoItem entity = bloquearPorId(id);
+        PedidoItemResponseDTO removido = toResponse(entity);
 
-        pedido.removerItem(entity);
         pedidoItemRepository.delete(entity);
-        pedido.recalcularTotal();
-        pedidoRepository.save(pedido);
+        Pedido pedido = aplicarDelta(removido.getPedidoId(), -1, removido.getSubtotal().negate());
+
+        eventos.publishEvent(EventosPedido.de(TipoEventoPedido.ITEM_REMOVIDO, pedido)
+                .item(removido)
+                .build());
 
-        return pedidoId;
+        return pedido.getId();
     }
 
     public PedidoItemResponseDTO toResponse(PedidoItem item) {
@@ -142,6 +150,25 @@ public class PedidoItemService {
                 .build();
     }
 
+    // O delta de atualizar/deletar sai do subtotal lido aqui: sem o bloqueio, duas alterações da mesma linha
+    // partiriam do mesmo subtotal antigo e as duas diferenças iriam para o total.
+    private PedidoItem bloquearPorId(Long id) {
+        return pedidoItemRepository.bloquearPorId(id)
+                .orElseThrow(() -> new EntityNotFoundException("Item de pedido não encontrado: " + id));
+    }
+
+    // Soma a diferença direto no banco (total = total + delta), sem carregar as linhas do pedido.
+    // A versão sobe junto, então quem salvar uma cópia antiga do pedido falha em vez de sobrescrever o total.
+    private Pedido aplicarDelta(Long pedidoId, int itens, BigDecimal delta) {
+        if (pedidoRepository.somarAoTotal(pedidoId, delta) == 0) {
+            throw new EntityNotFoundException("Pedido não encontrado: " + pedidoId);
+        }
+        resumos.somarItens(pedidoId, itens, delta);
+
+        return pedidoRepository.findById(pedidoId)
+                .orElseThrow(() -> new EntityNotFoundException("Pedido não encontrado: " + pedidoId));
+    }
+
     private void validarCriacao(PedidoItemRequestDTO dto) {
         if (dto.getPedidoId() == null || dto.getPedidoId() <= 0) {
             throw new IllegalArgumentException("PedidoId inválido: " + dto.getPedidoId());
@@ -3,32 +3,58 @@ package com.pedix.api.service;
 import com.pedix.api.domain.ItemCardapio;
 import com.pedix.api.domain.Pedido;
 import com.pedix.api.domain.PedidoItem;
+import com.pedix.api.domain.enums.ModoLote;
+import com.pedix.api.domain.enums.ResultadoTransicao;
 import com.pedix.api.domain.enums.StatusPedido;
+import com.pedix.api.domain.enums.TipoEventoPedido;
+import com.pedix.api.dto.Pagina;
+import com.pedix.api.dto.PedidoCabecalhoDTO;
 import com.pedix.api.dto.PedidoDTO;
 import com.pedix.api.dto.PedidoItemDTO;
+import com.pedix.api.dto.PedidoRecebidoDTO;
 import com.pedix.api.dto.PedidoResponseDTO;
+import com.pedix.api.dto.ResultadoLotePedidoDTO;
+import com.pedix.api.dto.TransicaoStatusDTO;
+import com.pedix.api.exception.TransicaoStatusException;
 import com.pedix.api.repository.PedidoRepository;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Comparator;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class PedidoService {
 
+    public static final int LIMITE_LOTE_STATUS = 500;
+    public static final int LIMITE_LOTE_PEDIDOS = 200;
+
     private final PedidoRepository pedidoRepository;
     private final ItemCardapioService itemCardapioService;
+    private final ResumoPedidos resumos;
+    private final ApplicationEventPublisher eventos;
+
+    @Value("${pedix.pedido.lote.modo-padrao:MELHOR_ESFORCO}")
+    private ModoLote modoLotePadrao;
 
     @Transactional(readOnly = true)
     public List<Pedido> listarTodos() {
-        return pedidoRepository.findAll().stream()
-                .sorted(Comparator.comparing(Pedido::getId))
-                .collect(Collectors.toList());
+        return pedidoRepository.findAllByOrderByIdAsc();
     }
 
     @Transactional(readOnly = true)
@@ -39,12 +65,23 @@ public class PedidoService {
     }
 
     @Transactional(readOnly = true)
-    public List<Pedido> listarPorGarcom(String loginGarcom) {
-        return pedidoRepository.findByGarcomResponsavel(loginGarcom).stream()
-                .sorted(Comparator.comparing(Pedido::getId))
+    public Pagina<PedidoResponseDTO> listarPaginaResponse(Long apos, int limite) {
+        List<Long> ids = pedidoRepository.buscarIdsApos(cursor(apos), Pagina.consulta(limite));
+        return carregarPagina(Pagina.de(ids, limite, id -> id));
+    }
+
+    @Transactional(readOnly = true)
+    public List<PedidoResponseDTO> listarAtivosResponse() {
+        return pedidoRepository.findByStatusInOrderByIdAsc(List.of(StatusPedido.EM_PREPARO, StatusPedido.PRONTO)).stream()
+                .map(this::toResponse)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    public List<Pedido> listarPorGarcom(String loginGarcom) {
+        return pedidoRepository.findByGarcomResponsavelOrderByIdAsc(loginGarcom);
+    }
+
     @Transactional(readOnly = true)
     public List<PedidoResponseDTO> listarPorGarcomResponse(String loginGarcom) {
         return listarPorGarcom(loginGarcom).stream()
@@ -54,11 +91,22 @@ public class PedidoService {
 
     @Transactional(readOnly = true)
     public List<Pedido> listarPorComanda(Long comandaId) {
-        return pedidoRepository.findByComandaId(comandaId).stream()
-                .sorted(Comparator.comparing(Pedido::getId))
+        return pedidoRepository.findByComandaIdOrderByIdAsc(comandaId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<PedidoResponseDTO> listarPorComandaResponse(Long comandaId) {
+        return listarPorComanda(comandaId).stream()
+                .map(this::toResponse)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    public Pagina<PedidoResponseDTO> listarPorComandaPaginaResponse(Long comandaId, Long apos, int limite) {
+        List<Long> ids = pedidoRepository.buscarIdsPorComandaApos(comandaId, cursor(apos), Pagina.consulta(limite));
+        return carregarPagina(Pagina.de(ids, limite, id -> id));
+    }
+
     @Transactional(readOnly = true)
     public Pedido buscarPorId(Long id) {
         return pedidoRepository.findById(id)
@@ -67,40 +115,54 @@ public class PedidoService {
 
     @Transactional(readOnly = true)
     public PedidoResponseDTO buscarResponsePorId(Long id) {
-        return toResponse(buscarPorId(id));
+        return pedidoRepository.findComItensById(id)
+                .map(this::toResponse)
+                .orElseThrow(() -> new EntityNotFoundException("Pedido não encontrado: " + id));
     }
 
     @Transactional
     public Pedido criar(PedidoDTO dto, String loginGarcom) {
         validarPedidoDTO(dto);
 
-        Pedido pedido = new Pedido();
-        pedido.setComandaId(dto.getComandaId());
-        pedido.setObservacao(dto.getObservacao());
-        pedido.setGarcomResponsavel(loginGarcom);
-        pedido.setStatus(StatusPedido.EM_PREPARO);
+        Map<Long, ItemCardapio> cardapio = itemCardapioService.buscarPorIds(idsDoCardapio(List.of(dto)));
+        Pedido salvo = pedidoRepository.save(montarPedido(dto, loginGarcom, null, cardapio));
+        resumos.registrar(List.of(salvo.getId()));
 
-        for (PedidoItemDTO itemDTO : dto.getItens()) {
-            ItemCardapio itemCardapio = itemCardapioService.buscarPorId(itemDTO.getItemCardapioId());
+        publicarCriacao(salvo);
+        return salvo;
+    }
 
-            if (!Boolean.TRUE.equals(itemCardapio.getDisponivel())) {
-                throw new IllegalArgumentException("Item indisponível: " + itemCardapio.getNome());
-            }
+    @Transactional
+    public List<ResultadoLotePedidoDTO> criarEmLote(List<PedidoDTO> pedidos, ModoLote modo, String loginGarcom) {
+        if (pedidos == null || pedidos.isEmpty() || pedidos.size() > LIMITE_LOTE_PEDIDOS) {
+            throw new IllegalArgumentException("Informe entre 1 e " + LIMITE_LOTE_PEDIDOS + " pedidos.");
+        }
 
-            PedidoItem pedidoItem = PedidoItem.builder()
-                    .pedido(pedido)
-                    .itemCardapio(itemCardapio)
-                    .quantidade(itemDTO.getQuantidade())
-                    .build();
+        List<PedidoRecebidoDTO> entradas = pedidos.stream()
+                .map(dto -> PedidoRecebidoDTO.builder().pedido(dto).loginGarcom(loginGarcom).build())
+                .toList();
 
-            pedidoItem.definirPrecoPadrao();
-            pedidoItem.recalcularSubtotal();
+        return gravar(entradas, modo != null ? modo : modoLotePadrao, Map.of());
+    }
 
-            pedido.adicionarItem(pedidoItem);
-        }
+    @Transactional
+    public List<ResultadoLotePedidoDTO> gravarRecebidos(List<PedidoRecebidoDTO> recebidos) {
+        List<String> codigos = recebidos.stream()
+                .map(PedidoRecebidoDTO::getRastreio)
+                .filter(Objects::nonNull)
+                .toList();
 
-        pedido.recalcularTotal();
-        return pedidoRepository.save(pedido);
+        // Reentregas do diário após uma queda entre o commit e o registro de conclusão.
+        Map<String, Long> jaGravados = codigos.isEmpty() ? Map.of()
+                : pedidoRepository.buscarIdsPorCodigoRastreio(codigos).stream()
+                        .collect(Collectors.toMap(linha -> (String) linha[0], linha -> (Long) linha[1]));
+
+        return gravar(recebidos, ModoLote.MELHOR_ESFORCO, jaGravados);
+    }
+
+    public void validarContraCardapio(PedidoDTO dto) {
+        validarPedidoDTO(dto);
+        montarPedido(dto, null, null, itemCardapioService.cardapioEmMemoria());
     }
 
     @Transactional
@@ -115,24 +177,124 @@ public class PedidoService {
         return toResponse(pedido);
     }
 
+    // Leitura do cabeçalho, UPDATE compare-and-set do status e UPDATE do resumo: três comandos por troca.
     @Transactional
-    public PedidoResponseDTO atualizarStatus(Long id, StatusPedido status) {
-        Pedido pedido = buscarPorId(id);
-        pedido.atualizarStatus(status);
-        return toResponse(pedidoRepository.save(pedido));
+    public PedidoCabecalhoDTO atualizarStatus(Long id, StatusPedido status) {
+        if (status == null) {
+            throw new IllegalArgumentException("Status não informado.");
+        }
+
+        PedidoCabecalhoDTO atual = pedidoRepository.buscarCabecalho(id)
+                .orElseThrow(() -> new EntityNotFoundException("Pedido não encontrado: " + id));
+
+        if (atual.getStatus() == status) {
+            return atual;
+        }
+
+        if (!atual.getStatus().podeMudarPara(status)) {
+            throw new TransicaoStatusException(id, atual.getStatus(), status);
+        }
+
+        // Compare-and-set: se outra requisição mudou o status entre a leitura e o UPDATE, nada é alterado.
+        LocalDateTime agora = LocalDateTime.now();
+        if (pedidoRepository.trocarStatus(id, atual.getStatus(), status, agora) == 0) {
+            StatusPedido vigente = pedidoRepository.buscarCabecalho(id)
+                    .map(PedidoCabecalhoDTO::getStatus)
+                    .orElseThrow(() -> new EntityNotFoundException("Pedido não encontrado: " + id));
+            throw new TransicaoStatusException(id, vigente, status);
+        }
+        resumos.trocarStatus(List.of(id), status);
+
+        PedidoCabecalhoDTO atualizado = atual.toBuilder().status(status).statusAlteradoEm(agora).build();
+        eventos.publishEvent(EventosPedido.de(TipoEventoPedido.STATUS_ALTERADO, atualizado)
+                .statusAnterior(atual.getStatus())
+                .statusAnteriorDesde(atual.getStatusAlteradoEm())
+                .build());
+
+        return atualizado;
     }
 
     @Transactional
-    public Pedido cancelarPedido(Long id) {
-        Pedido pedido = buscarPorId(id);
-        pedido.cancelar();
-        return pedidoRepository.save(pedido);
+    public List<TransicaoStatusDTO> atualizarStatusEmLote(Collection<Long> ids, StatusPedido status) {
+        if (status == null) {
+            throw new IllegalArgumentException("Status não informado.");
+        }
+
+        Set<Long> distintos = new LinkedHashSet<>(ids);
+        if (distintos.isEmpty() || distintos.size() > LIMITE_LOTE_STATUS) {
+            throw new IllegalArgumentException("Informe entre 1 e " + LIMITE_LOTE_STATUS + " pedidos.");
+        }
+
+        // Linhas bloqueadas em ordem de id: os UPDATEs por origem abaixo não encontram corrida.
+        Map<Long, PedidoCabecalhoDTO> atuais = pedidoRepository.bloquearCabecalhos(distintos).stream()
+                .collect(Collectors.toMap(PedidoCabecalhoDTO::getId, Function.identity()));
+
+        Map<StatusPedido, List<Long>> porOrigem = new EnumMap<>(StatusPedido.class);
+        Map<Long, TransicaoStatusDTO> resultados = new LinkedHashMap<>();
+
+        for (Long id : distintos) {
+            PedidoCabecalhoDTO atual = atuais.get(id);
+            TransicaoStatusDTO.TransicaoStatusDTOBuilder resultado = TransicaoStatusDTO.builder().pedidoId(id);
+
+            if (atual == null) {
+                resultado.resultado(ResultadoTransicao.NAO_ENCONTRADO).mensagem("Pedido não encontrado: " + id);
+            } else if (atual.getStatus() == status) {
+                resultado.resultado(ResultadoTransicao.SEM_ALTERACAO).statusAnterior(status).status(status);
+            } else if (!atual.getStatus().podeMudarPara(status)) {
+                resultado.resultado(ResultadoTransicao.CONFLITO)
+                        .statusAnterior(atual.getStatus())
+                        .status(atual.getStatus())
+                        .mensagem(new TransicaoStatusException(id, atual.getStatus(), status).getMessage());
+            } else {
+                porOrigem.computeIfAbsent(atual.getStatus(), origem -> new ArrayList<>()).add(id);
+                resultado.resultado(ResultadoTransicao.ALTERADO).statusAnterior(atual.getStatus()).status(status);
+            }
+
+            resultados.put(id, resultado.build());
+        }
+
+        LocalDateTime agora = LocalDateTime.now();
+        porOrigem.forEach((origem, grupo) -> {
+            int alterados = pedidoRepository.trocarStatusEmLote(grupo, origem, status, agora);
+            if (alterados != grupo.size()) {
+                throw new IllegalStateException("Status alterado durante o lote mesmo com as linhas bloqueadas.");
+            }
+            resumos.trocarStatus(grupo, status);
+
+            grupo.forEach(id -> eventos.publishEvent(EventosPedido.de(
+                            TipoEventoPedido.STATUS_ALTERADO,
+                            atuais.get(id).toBuilder().status(status).statusAlteradoEm(agora).build())
+                    .statusAnterior(origem)
+                    .statusAnteriorDesde(atuais.get(id).getStatusAlteradoEm())
+                    .build()));
+        });
+
+        return new ArrayList<>(resultados.values());
+    }
+
+    // PUT /api/pedido/{id}/status devolve o pedido completo, como antes da troca por compare-and-set.
+    @Transactional
+    public PedidoResponseDTO atualizarStatusResponse(Long id, StatusPedido status) {
+        atualizarStatus(id, status);
+        return buscarResponsePorId(id);
+    }
+
+    @Transactional
+    public PedidoCabecalhoDTO cancelarPedido(Long id) {
+        return atualizarStatus(id, StatusPedido.CANCELADO);
     }
 
     @Transactional
     public void excluir(Long id) {
         Pedido pedido = buscarPorId(id);
+        // Os itens vão junto no evento para quem precisa desfazer o que contou do pedido (rollups de venda).
+        PedidoResponseDTO excluido = toResponse(pedido);
         pedidoRepository.delete(pedido);
+        resumos.remover(id);
+
+        eventos.publishEvent(EventosPedido.de(TipoEventoPedido.PEDIDO_EXCLUIDO, pedido)
+                .pedido(excluido)
+                .build());
     }
 
     @Transactional(readOnly = true)
@@ -157,6 +319,135 @@ public class PedidoService {
                 .build();
     }
 
+    private Pagina<PedidoResponseDTO> carregarPagina(Pagina<Long> ids) {
+        if (ids.itens().isEmpty()) {
+            return new Pagina<>(List.of(), null);
+        }
+
+        List<PedidoResponseDTO> pedidos = pedidoRepository.findByIdInOrderByIdAsc(ids.itens()).stream()
+                .map(this::toResponse)
+                .collect(Collectors.toList());
+
+        return new Pagina<>(pedidos, ids.proximo());
+    }
+
+    private List<ResultadoLotePedidoDTO> gravar(List<PedidoRecebidoDTO> entradas,
+                                                ModoLote modo,
+                                                Map<String, Long> jaGravados) {
+        Map<Long, ItemCardapio> cardapio = itemCardapioService.buscarPorIds(idsDoCardapio(entradas.stream()
+                .map(PedidoRecebidoDTO::getPedido)
+                .toList()));
+
+        List<ResultadoLotePedidoDTO> resultados = new ArrayList<>(entradas.size());
+        List<Pedido> validos = new ArrayList<>(entradas.size());
+        List<ResultadoLotePedidoDTO> aceitos = new ArrayList<>(entradas.size());
+
+        for (int i = 0; i < entradas.size(); i++) {
+            PedidoRecebidoDTO entrada = entradas.get(i);
+            PedidoDTO dto = entrada.getPedido();
+            ResultadoLotePedidoDTO resultado = ResultadoLotePedidoDTO.builder()
+                    .indice(i)
+                    .comandaId(dto != null ? dto.getComandaId() : null)
+                    .build();
+            resultados.add(resultado);
+
+            Long existente = entrada.getRastreio() != null ? jaGravados.get(entrada.getRastreio()) : null;
+            if (existente != null) {
+                resultado.setCriado(true);
+                resultado.setPedidoId(existente);
+                resultado.setMensagem("Pedido já gravado anteriormente.");
+                continue;
+            }
+
+            try {
+                validarPedidoDTO(dto);
+                validos.add(montarPedido(dto, entrada.getLoginGarcom(), entrada.getRastreio(), cardapio));
+                aceitos.add(resultado);
+            } catch (IllegalArgumentException | EntityNotFoundException e) {
+                resultado.setMensagem(e.getMessage());
+            }
+        }
+
+        if (modo == ModoLote.TUDO_OU_NADA && validos.size() < entradas.size()) {
+            aceitos.forEach(resultado -> resultado.setMensagem("Não gravado: outro pedido do lote é inválido."));
+            return resultados;
+        }
+
+        // Um único saveAll: com sequence pooled-lo e order_inserts, vira poucos INSERTs em batch.
+        List<Pedido> salvos = pedidoRepository.saveAll(validos);
+        resumos.registrar(salvos.stream().map(Pedido::getId).toList());
+
+        for (int i = 0; i < salvos.size(); i++) {
+            Pedido salvo = salvos.get(i);
+            ResultadoLotePedidoDTO resultado = aceitos.get(i);
+            resultado.setCriado(true);
+            resultado.setPedidoId(salvo.getId());
+            resultado.setTotal(salvo.getTotal());
+            publicarCriacao(salvo);
+        }
+
+        return resultados;
+    }
+
+    private Pedido montarPedido(PedidoDTO dto,
+                                String loginGarcom,
+                                String codigoRastreio,
+                                Map<Long, ItemCardapio> cardapio) {
+        Pedido pedido = new Pedido();
+        pedido.setCodigoRastreio(codigoRastreio);
+        pedido.setComandaId(dto.getComandaId());
+        pedido.setObservacao(dto.getObservacao());
+        pedido.setGarcomResponsavel(loginGarcom);
+        pedido.setStatus(StatusPedido.EM_PREPARO);
+
+        for (PedidoItemDTO itemDTO : dto.getItens()) {
+            ItemCardapio itemCardapio = cardapio.get(itemDTO.getItemCardapioId());
+
+            if (itemCardapio == null) {
+                throw new EntityNotFoundException("Item do cardápio não encontrado: " + itemDTO.getItemCardapioId());
+            }
+
+            if (!Boolean.TRUE.equals(itemCardapio.getDisponivel())) {
+                throw new IllegalArgumentException("Item indisponível: " + itemCardapio.getNome());
+            }
+
+            PedidoItem pedidoItem = PedidoItem.builder()
+                    .pedido(pedido)
+                    .itemCardapio(itemCardapio)
+                    .quantidade(itemDTO.getQuantidade())
+                    .build();
+
+            pedidoItem.definirPrecoPadrao();
+            pedidoItem.recalcularSubtotal();
+
+            pedido.adicionarItem(pedidoItem);
+        }
+
+        pedido.recalcularTotal();
+        return pedido;
+    }
+
+    private void publicarCriacao(Pedido pedido) {
+        eventos.publishEvent(EventosPedido.de(TipoEventoPedido.PEDIDO_CRIADO, pedido)
+                .pedido(toResponse(pedido))
+                .build());
+    }
+
+    private Set<Long> idsDoCardapio(List<PedidoDTO> pedidos) {
+        return pedidos.stream()
+                .filter(Objects::nonNull)
+                .filter(dto -> dto.getItens() != null)
+                .flatMap(dto -> dto.getItens().stream())
+                .filter(Objects::nonNull)
+                .map(PedidoItemDTO::getItemCardapioId)
+                .filter(id -> id != null && id > 0)
+                .collect(Collectors.toSet());
+    }
+
+    private Long cursor(Long apos) {
+        return apos != null ? apos : 0L;
+    }
+
     private void validarPedidoDTO(PedidoDTO dto) {
         if (dto == null) {
             throw new IllegalArgumentException("Pedido não informado.");
@@ -0,0 +1,287 @@
+package com.pedix.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pedix.api.domain.enums.SituacaoRecebimento;
+import com.pedix.api.dto.PedidoDTO;
+import com.pedix.api.dto.PedidoRecebidoDTO;
+import com.pedix.api.dto.RecebimentoPedidoDTO;
+import com.pedix.api.dto.ResultadoLotePedidoDTO;
+import com.pedix.api.exception.FilaCheiaException;
+import com.pedix.api.repository.PedidoRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+@Slf4j
+@Component
+public class RecebimentoPedidos {
+
+    private final PedidoService pedidoService;
+    private final PedidoRepository pedidoRepository;
+    private final ObjectMapper objectMapper;
+
+    private final boolean habilitado;
+    private final int tamanhoLote;
+    private final int maximoTentativas;
+    private final long janelaMs;
+    private final long retencaoMs;
+    private final long limiteCompactacao;
+    private final Path arquivoDiario;
+
+    private final BlockingQueue<PedidoRecebidoDTO> fila = new LinkedBlockingQueue<>();
+    private final Semaphore vagas;
+    private final Map<String, RecebimentoPedidoDTO> situacoes = new ConcurrentHashMap<>();
+    private final LongAdder gravacoes = new LongAdder();
+
+    private volatile DiarioRecebimentos diario;
+    private volatile boolean executando;
+    private Thread gravador;
+
+    public RecebimentoPedidos(PedidoService pedidoService,
+                              PedidoRepository pedidoRepository,
+                              ObjectMapper objectMapper,
+                              @Value("${pedix.pedido.recebimento.assincrono:false}") boolean habilitado,
+                              @Value("${pedix.pedido.recebimento.capacidade-fila:1000}") int capacidadeFila,
+                              @Value("${pedix.pedido.recebimento.tamanho-lote:100}") int tamanhoLote,
+                              @Value("${pedix.pedido.recebimento.janela-ms:20}") long janelaMs,
+                              @Value("${pedix.pedido.recebimento.maximo-tentativas:8}") int maximoTentativas,
+                              @Value("${pedix.pedido.recebimento.retencao-ms:3600000}") long retencaoMs,
+                              @Value("${pedix.pedido.recebimento.diario:data/pedidos-recebidos.jsonl}") String arquivoDiario,
+                              @Value("${pedix.pedido.recebimento.diario-limite-bytes:10485760}") long limiteCompactacao) {
+        this.pedidoService = pedidoService;
+        this.pedidoRepository = pedidoRepository;
+        this.objectMapper = objectMapper;
+        this.habilitado = habilitado;
+        this.vagas = new Semaphore(capacidadeFila);
+        this.tamanhoLote = tamanhoLote;
+        this.janelaMs = janelaMs;
+        this.maximoTentativas = maximoTentativas;
+        this.retencaoMs = retencaoMs;
+        this.limiteCompactacao = limiteCompactacao;
+        this.arquivoDiario = Path.of(arquivoDiario);
+    }
+
+    public boolean ativo() {
+        return habilitado && diario != null && executando;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void iniciar() throws IOException {
+        if (!habilitado || diario != null) {
+            return;
+        }
+
+        diario = new DiarioRecebimentos(arquivoDiario, objectMapper, limiteCompactacao);
+        List<PedidoRecebidoDTO> reentregas = diario.pendentes();
+        reentregas.forEach(recebido -> situacoes.put(recebido.getRastreio(), pendente(recebido)));
+
+        if (!reentregas.isEmpty()) {
+            log.info("Reentregando {} pedidos pendentes do diário {}.", reentregas.size(), arquivoDiario);
+        }
+
+        executando = true;
+        gravador = new Thread(() -> executar(reentregas), "pedido-recebimento");
+        gravador.setDaemon(true);
+        gravador.start();
+    }
+
+    public RecebimentoPedidoDTO receber(Long comandaId, PedidoDTO dto, String loginGarcom) {
+        PedidoDTO pedido = PedidoDTO.builder()
+                .comandaId(comandaId)
+                .itens(dto.getItens())
+                .observacao(dto.getObservacao())
+                .build();
+
+        pedidoService.validarContraCardapio(pedido);
+
+        if (!vagas.tryAcquire()) {
+            throw new FilaCheiaException("Fila de pedidos cheia, tente novamente em instantes.");
+        }
+
+        PedidoRecebidoDTO recebido = PedidoRecebidoDTO.builder()
+                .rastreio(UUID.randomUUID().toString())
+                .loginGarcom(loginGarcom)
+                .pedido(pedido)
+                .recebidoEm(LocalDateTime.now())
+                .build();
+
+        try {
+            diario.registrarRecebido(recebido);
+        } catch (IOException e) {
+            vagas.release();
+            throw new UncheckedIOException("Falha ao registrar pedido no diário.", e);
+        }
+
+        RecebimentoPedidoDTO situacao = pendente(recebido);
+        situacoes.put(recebido.getRastreio(), situacao);
+        fila.add(recebido);
+        return situacao;
+    }
+
+    public Optional<RecebimentoPedidoDTO> consultar(String rastreio) {
+        RecebimentoPedidoDTO situacao = situacoes.get(rastreio);
+        if (situacao != null) {
+            return Optional.of(situacao);
+        }
+
+        // Já saiu da memória (retenção ou reinício): o código de rastreio gravado no pedido ainda responde.
+        return pedidoRepository.buscarCabecalhoPorCodigoRastreio(rastreio)
+                .map(pedido -> RecebimentoPedidoDTO.builder()
+                        .rastreio(rastreio)
+                        .situacao(SituacaoRecebimento.GRAVADO)
+                        .comandaId(pedido.getComandaId())
+                        .pedidoId(pedido.getId())
+                        .recebidoEm(pedido.getDataHora())
+                        .concluidoEm(pedido.getDataHora())
+                        .build());
+    }
+
+    public int pendentes() {
+        return fila.size();
+    }
+
+    public long gravacoes() {
+        return gravacoes.sum();
+    }
+
+    @Scheduled(fixedDelayString = "${pedix.pedido.recebimento.limpeza-ms:60000}")
+    public void descartarConcluidos() {
+        LocalDateTime limite = LocalDateTime.now().minusNanos(retencaoMs * 1_000_000);
+        situacoes.values().removeIf(situacao -> situacao.getConcluidoEm() != null
+                && situacao.getConcluidoEm().isBefore(limite));
+    }
+
+    @PreDestroy
+    public void encerrar() throws InterruptedException, IOException {
+        executando = false;
+        if (gravador != null) {
+            gravador.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        if (diario != null) {
+            diario.close();
+        }
+    }
+
+    private void executar(List<PedidoRecebidoDTO> reentregas) {
+        for (int inicio = 0; inicio < reentregas.size(); inicio += tamanhoLote) {
+            gravarComRetentativa(reentregas.subList(inicio, Math.min(reentregas.size(), inicio + tamanhoLote)));
+        }
+
+        while (executando || !fila.isEmpty()) {
+            try {
+                PedidoRecebidoDTO primeiro = fila.poll(500, TimeUnit.MILLISECONDS);
+                if (primeiro == null) {
+                    continue;
+                }
+
+                // Group commit: espera uma janela curta para juntar o que chegar junto.
+                List<PedidoRecebidoDTO> lote = new ArrayList<>(tamanhoLote);
+                lote.add(primeiro);
+                long prazo = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(janelaMs);
+                while (lote.size() < tamanhoLote) {
+                    PedidoRecebidoDTO proximo = fila.poll(Math.max(0, prazo - System.nanoTime()), TimeUnit.NANOSECONDS);
+                    if (proximo == null) {
+                        break;
+                    }
+                    lote.add(proximo);
+                }
+
+                gravarComRetentativa(lote);
+                vagas.release(lote.size());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void gravarComRetentativa(List<PedidoRecebidoDTO> lote) {
+        long espera = 500;
+
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                List<ResultadoLotePedidoDTO> resultados = pedidoService.gravarRecebidos(lote);
+                gravacoes.increment();
+                for (ResultadoLotePedidoDTO resultado : resultados) {
+                    concluir(lote.get(resultado.getIndice()), resultado.isCriado(), resultado.getPedidoId(), resultado.getMensagem());
+                }
+                return;
+            } catch (DataIntegrityViolationException e) {
+                if (lote.size() > 1) {
+                    lote.forEach(recebido -> gravarComRetentativa(List.of(recebido)));
+                } else {
+                    concluir(lote.get(0), false, null, "Pedido rejeitado pelo banco: " + e.getMostSpecificCause().getMessage());
+                }
+                return;
+            } catch (RuntimeException e) {
+                if (!executando) {
+                    log.warn("Encerrando com {} pedidos pendentes no diário; serão reentregues na próxima inicialização.", lote.size());
+                    return;
+                }
+
+                if (tentativa >= maximoTentativas) {
+                    log.error("Lote de {} pedidos descartado após {} tentativas.", lote.size(), tentativa, e);
+                    String mensagem = "Falha ao gravar após " + tentativa + " tentativas: " + e.getMessage();
+                    lote.forEach(recebido -> concluir(recebido, false, null, mensagem));
+                    return;
+                }
+
+                log.warn("Falha ao gravar lote de {} pedidos, nova tentativa em {} ms.", lote.size(), espera, e);
+                try {
+                    Thread.sleep(espera);
+                } catch (InterruptedException interrompido) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                espera = Math.min(espera * 2, 30_000);
+            }
+        }
+    }
+
+    private void concluir(PedidoRecebidoDTO recebido, boolean gravado, Long pedidoId, String mensagem) {
+        SituacaoRecebimento situacao = gravado ? SituacaoRecebimento.GRAVADO : SituacaoRecebimento.REJEITADO;
+
+        try {
+            diario.registrarConclusao(recebido.getRastreio(), situacao, pedidoId, mensagem);
+        } catch (IOException e) {
+            log.warn("Falha ao registrar conclusão do pedido {} no diário.", recebido.getRastreio(), e);
+        }
+
+        situacoes.put(recebido.getRastreio(), pendente(recebido).toBuilder()
+                .situacao(situacao)
+                .pedidoId(pedidoId)
+                .mensagem(mensagem)
+                .concluidoEm(LocalDateTime.now())
+                .build());
+    }
+
+    private RecebimentoPedidoDTO pendente(PedidoRecebidoDTO recebido) {
+        return RecebimentoPedidoDTO.builder()
+                .rastreio(recebido.getRastreio())
+                .situacao(SituacaoRecebimento.PENDENTE)
+                .comandaId(recebido.getPedido() != null ? recebido.getPedido().getComandaId() : null)
+                .recebidoEm(recebido.getRecebidoEm())
+                .build();
+    }
+}
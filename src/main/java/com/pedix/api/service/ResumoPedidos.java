@@ -0,0 +1,150 @@
+package com.pedix.api.service;
+
+import com.pedix.api.domain.enums.StatusPedido;
+import com.pedix.api.dto.ConsistenciaResumoDTO;
+import com.pedix.api.dto.Pagina;
+import com.pedix.api.dto.PedidoResumoDTO;
+import com.pedix.api.repository.PedidoRepository;
+import com.pedix.api.repository.PedidoResumoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Tabela PEDIDO_RESUMO: um cartão por pedido (comanda, garçom, status, observação, quantidade de itens
+ * e total) para as listagens lerem com uma consulta só, sem montar o pedido com os itens.
+ * <p>
+ * As escritas exigem transação aberta ({@link Propagation#MANDATORY}): quem altera pedido ou item chama
+ * daqui na mesma transação, e o resumo nunca fica à frente nem atrás do que foi confirmado.
+ * {@link #verificar()} compara as duas tabelas e {@link #reconstruir()} refaz o resumo a partir dos pedidos.
+ */
+@Slf4j
+@Service
+public class ResumoPedidos {
+
+    private static final int AMOSTRA_VERIFICACAO = 20;
+    private static final int LOTE_RECONSTRUCAO = 1_000;
+
+    private final PedidoResumoRepository resumoRepository;
+    private final PedidoRepository pedidoRepository;
+    private final TransactionTemplate transacaoPropria;
+
+    public ResumoPedidos(PedidoResumoRepository resumoRepository,
+                         PedidoRepository pedidoRepository,
+                         PlatformTransactionManager transactionManager) {
+        this.resumoRepository = resumoRepository;
+        this.pedidoRepository = pedidoRepository;
+        this.transacaoPropria = new TransactionTemplate(transactionManager);
+        this.transacaoPropria.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrar(Collection<Long> pedidoIds) {
+        if (pedidoIds.isEmpty()) {
+            return;
+        }
+        int inseridos = resumoRepository.inserirDosPedidos(pedidoIds);
+        if (inseridos != pedidoIds.size()) {
+            throw new IllegalStateException("Resumo gravado para " + inseridos + " de " + pedidoIds.size() + " pedidos.");
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void trocarStatus(Collection<Long> pedidoIds, StatusPedido status) {
+        if (!pedidoIds.isEmpty()) {
+            resumoRepository.trocarStatus(pedidoIds, status);
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void somarItens(Long pedidoId, int itens, BigDecimal delta) {
+        resumoRepository.somarItens(pedidoId, itens, delta);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void remover(Long pedidoId) {
+        resumoRepository.remover(pedidoId);
+    }
+
+    @Transactional(readOnly = true)
+    public Pagina<PedidoResumoDTO> listar(Long apos, int limite) {
+        List<PedidoResumoDTO> linhas = resumoRepository.listarApos(apos != null ? apos : 0L, Pagina.consulta(limite));
+        return Pagina.de(linhas, limite, PedidoResumoDTO::getId);
+    }
+
+    @Transactional(readOnly = true)
+    public Pagina<PedidoResumoDTO> listarPorGarcom(String loginGarcom, Long apos, int limite) {
+        List<PedidoResumoDTO> linhas = resumoRepository.listarPorGarcomApos(
+                loginGarcom, apos != null ? apos : 0L, Pagina.consulta(limite));
+        return Pagina.de(linhas, limite, PedidoResumoDTO::getId);
+    }
+
+    @Transactional(readOnly = true)
+    public ConsistenciaResumoDTO verificar() {
+        Limit amostra = Limit.of(AMOSTRA_VERIFICACAO);
+        List<Long> semResumo = resumoRepository.buscarPedidosSemResumo(amostra);
+        List<Long> semPedido = resumoRepository.buscarResumosSemPedido(amostra);
+        List<Long> divergentes = resumoRepository.buscarDivergentes(amostra);
+
+        return ConsistenciaResumoDTO.builder()
+                .consistente(semResumo.isEmpty() && semPedido.isEmpty() && divergentes.isEmpty())
+                .semResumo(semResumo)
+                .semPedido(semPedido)
+                .divergentes(divergentes)
+                .build();
+    }
+
+    @Scheduled(fixedDelayString = "${pedix.pedido.resumo.verificacao-ms:3600000}",
+            initialDelayString = "${pedix.pedido.resumo.verificacao-ms:3600000}")
+    public void verificarPeriodicamente() {
+        ConsistenciaResumoDTO resultado = verificar();
+        if (!resultado.isConsistente()) {
+            log.warn("PEDIDO_RESUMO divergente de PEDIDO (amostra): sem resumo={}, sem pedido={}, divergentes={}",
+                    resultado.getSemResumo(), resultado.getSemPedido(), resultado.getDivergentes());
+        }
+    }
+
+    /**
+     * Refaz o resumo em faixas de ids, cada uma na sua transação (apaga a faixa e insere de novo a partir
+     * dos pedidos). Pode rodar com o sistema no ar: uma escrita concorrente espera o lock da linha e
+     * aplica o seu delta sobre o valor reconstruído.
+     */
+    public Reconstrucao reconstruir() {
+        long cursor = 0L;
+        long pedidos = 0;
+        int lotes = 0;
+
+        while (true) {
+            List<Long> ids = pedidoRepository.buscarIdsApos(cursor, Limit.of(LOTE_RECONSTRUCAO));
+            if (ids.isEmpty()) {
+                break;
+            }
+
+            long apos = cursor;
+            long ate = ids.get(ids.size() - 1);
+            pedidos += transacaoPropria.execute(status -> {
+                resumoRepository.removerFaixa(apos, ate);
+                return resumoRepository.inserirFaixa(apos, ate);
+            });
+            lotes++;
+            cursor = ate;
+        }
+
+        long ultimo = cursor;
+        int orfaos = transacaoPropria.execute(status -> resumoRepository.removerApos(ultimo));
+        return new Reconstrucao(pedidos, lotes, orfaos);
+    }
+
+    public record Reconstrucao(long pedidos, int lotes, int resumosSemPedidoRemovidos) {
+    }
+}
@@ -0,0 +1,435 @@
+package com.pedix.api.service;
+
+import com.pedix.api.domain.ItemCardapio;
+import com.pedix.api.domain.RollupVenda;
+import com.pedix.api.domain.enums.CategoriaItem;
+import com.pedix.api.domain.enums.DimensaoVenda;
+import com.pedix.api.domain.enums.StatusPedido;
+import com.pedix.api.dto.LinhaVendaDTO;
+import com.pedix.api.dto.PedidoEvento;
+import com.pedix.api.dto.PedidoItemResponseDTO;
+import com.pedix.api.dto.PedidoResponseDTO;
+import com.pedix.api.dto.VendaAgregadaDTO;
+import com.pedix.api.repository.PedidoRepository;
+import com.pedix.api.repository.RollupVendaRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Vendas pré-agregadas por hora em quatro dimensões: item do cardápio, categoria, total da hora e
+ * garçom. A hora é a da criação do pedido; pedidos cancelados não contam.
+ * <p>
+ * Cada evento de pedido confirmado soma (ou subtrai) nos contadores em memória deste nó, que são
+ * descarregados de tempos em tempos como incrementos na tabela ROLLUP_VENDA. Os relatórios leem só
+ * a tabela, então ficam atrasados no máximo um intervalo de descarga.
+ * <p>
+ * O evento de cancelamento não traz os itens; os pedidos cancelados ficam numa fila e as linhas deles
+ * são lidas numa consulta só na descarga, para um cancelamento em lote não virar uma consulta por pedido.
+ */
+@Slf4j
+@Service
+public class RollupVendas {
+
+    private static final int CAPACIDADE_INICIAL = 256;
+    private static final int VALOR_TOTAL = 0;
+    private static final long DIAS_MAXIMOS_CONSULTA = 366;
+    private static final int LOTE_CANCELAMENTOS = 500;
+
+    private final RollupVendaRepository rollupRepository;
+    private final PedidoRepository pedidoRepository;
+    private final ItemCardapioService itemCardapioService;
+    private final TransactionTemplate transacaoPropria;
+    private final TransactionTemplate leituraPropria;
+
+    private final Object trava = new Object();
+    private final ReentrantLock descarga = new ReentrantLock();
+    private Map<DimensaoVenda, ContadoresVenda> pendentes = novosContadores();
+    private Set<Long> cancelamentosPendentes = new HashSet<>();
+
+    // Login do garçom e id do item -> int da chave primitiva; só crescem com garçons e itens vendidos.
+    private final Map<String, Integer> idsGarcom = new HashMap<>();
+    private final List<String> garcons = new ArrayList<>();
+    private final Map<Long, Integer> idsItem = new HashMap<>();
+    private final List<Long> itensCardapio = new ArrayList<>();
+
+    public RollupVendas(RollupVendaRepository rollupRepository,
+                        PedidoRepository pedidoRepository,
+                        ItemCardapioService itemCardapioService,
+                        PlatformTransactionManager transactionManager) {
+        this.rollupRepository = rollupRepository;
+        this.pedidoRepository = pedidoRepository;
+        this.itemCardapioService = itemCardapioService;
+
+        this.transacaoPropria = new TransactionTemplate(transactionManager);
+        this.transacaoPropria.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        this.leituraPropria = new TransactionTemplate(transactionManager);
+        this.leituraPropria.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.leituraPropria.setReadOnly(true);
+    }
+
+    @TransactionalEventListener
+    public void registrar(PedidoEvento evento) {
+        switch (evento.getTipo()) {
+            case PEDIDO_CRIADO -> {
+                if (evento.getPedido() != null) {
+                    somarPedido(evento, evento.getPedido(), 1);
+                }
+            }
+            case ITEM_ADICIONADO -> somarItem(evento, evento.getItem(), 1);
+            case ITEM_ATUALIZADO -> {
+                somarItem(evento, evento.getItemAnterior(), -1);
+                somarItem(evento, evento.getItem(), 1);
+            }
+            case ITEM_REMOVIDO -> somarItem(evento, evento.getItem(), -1);
+            case STATUS_ALTERADO -> {
+                if (evento.getStatus() == StatusPedido.CANCELADO && evento.getStatusAnterior() != StatusPedido.CANCELADO) {
+                    synchronized (trava) {
+                        cancelamentosPendentes.add(evento.getPedidoId());
+                    }
+                }
+            }
+            case PEDIDO_EXCLUIDO -> {
+                if (evento.getPedido() != null
+                        && (evento.getStatus() != StatusPedido.CANCELADO || retirarCancelamento(evento.getPedidoId()))) {
+                    somarPedido(evento, evento.getPedido(), -1);
+                }
+            }
+        }
+    }
+
+    /** Grava os contadores pendentes como incrementos; se falhar, eles voltam para a próxima descarga. */
+    @Scheduled(fixedDelayString = "${pedix.vendas.rollup.intervalo-ms:10000}")
+    @PreDestroy
+    public void descarregar() {
+        descarga.lock();
+        try {
+            Map<DimensaoVenda, ContadoresVenda> lote;
+            Set<Long> cancelados;
+            synchronized (trava) {
+                lote = pendentes;
+                cancelados = cancelamentosPendentes;
+                pendentes = novosContadores();
+                cancelamentosPendentes = new HashSet<>();
+            }
+
+            try {
+                transacaoPropria.executeWithoutResult(status -> {
+                    Map<DimensaoVenda, ContadoresVenda> aGravar = novosContadores();
+                    lote.forEach((dimensao, contadores) -> aGravar.get(dimensao).somarTudo(contadores));
+
+                    List<LinhaVendaDTO> linhas = linhasDosCancelados(cancelados);
+                    List<String> nomesGarcom;
+                    List<Long> itens;
+                    synchronized (trava) {
+                        somarLinhas(aGravar, linhas, -1);
+                        nomesGarcom = List.copyOf(garcons);
+                        itens = List.copyOf(itensCardapio);
+                    }
+                    gravar(aGravar, nomesGarcom, itens);
+                });
+            } catch (RuntimeException e) {
+                log.warn("Falha ao descarregar rollups de venda; tentando de novo na próxima descarga", e);
+                synchronized (trava) {
+                    lote.forEach((dimensao, contadores) -> pendentes.get(dimensao).somarTudo(contadores));
+                    cancelamentosPendentes.addAll(cancelados);
+                }
+            }
+        } finally {
+            descarga.unlock();
+        }
+    }
+
+    /**
+     * Recalcula os rollups dos dias informados (inclusive) a partir dos pedidos. Pensado para backfill de
+     * períodos fechados: vendas confirmadas durante a reconstrução de uma hora em curso podem contar duas vezes.
+     */
+    public Reconstrucao reconstruir(LocalDate de, LocalDate ate) {
+        validarPeriodo(de, ate);
+        LocalDateTime inicio = de.atStartOfDay();
+        LocalDateTime fim = ate.plusDays(1).atStartOfDay();
+
+        descarga.lock();
+        try {
+            descarregar();
+            return transacaoPropria.execute(status -> {
+                int removidos = rollupRepository.removerPeriodo(inicio, fim);
+
+                Map<DimensaoVenda, ContadoresVenda> contadores = novosContadores();
+                Map<String, Integer> ids = new HashMap<>();
+                List<String> nomes = new ArrayList<>();
+                Map<Long, Integer> idsItens = new HashMap<>();
+                List<Long> itens = new ArrayList<>();
+                long pedidos = 0;
+                long linhas = 0;
+
+                try (Stream<LinhaVendaDTO> stream = pedidoRepository.linhasDeVenda(inicio, fim)) {
+                    Long pedidoAtual = null;
+                    for (LinhaVendaDTO linha : (Iterable<LinhaVendaDTO>) stream::iterator) {
+                        int hora = hora(linha.getDataHora());
+                        int garcom = linha.getGarcomResponsavel() == null ? -1
+                                : ids.computeIfAbsent(linha.getGarcomResponsavel(), login -> {
+                                    nomes.add(login);
+                                    return nomes.size() - 1;
+                                });
+
+                        if (!linha.getPedidoId().equals(pedidoAtual)) {
+                            pedidoAtual = linha.getPedidoId();
+                            pedidos++;
+                            contarPedido(contadores, hora, garcom, 1);
+                        }
+                        if (linha.getItemCardapioId() != null) {
+                            linhas++;
+                            int item = idsItens.computeIfAbsent(linha.getItemCardapioId(), id -> {
+                                itens.add(id);
+                                return itens.size() - 1;
+                            });
+                            contarLinha(contadores, hora, garcom, item, linha.getCategoria(),
+                                    centavos(linha.getSubtotal()), linha.getQuantidade(), 1);
+                        }
+                    }
+                }
+
+                gravar(contadores, nomes, itens);
+                return new Reconstrucao(de, ate, removidos, pedidos, linhas);
+            });
+        } finally {
+            descarga.unlock();
+        }
+    }
+
+    /** Soma os buckets do período: o custo depende de horas x chaves, não do número de pedidos. */
+    public List<VendaAgregadaDTO> consultar(DimensaoVenda dimensao, LocalDate de, LocalDate ate) {
+        validarPeriodo(de, ate);
+        LocalDateTime inicio = de.atStartOfDay();
+        LocalDateTime fim = ate.plusDays(1).atStartOfDay();
+
+        return leituraPropria.execute(status -> {
+            if (dimensao == DimensaoVenda.HORA) {
+                return rollupRepository.listarHoras(inicio, fim).stream()
+                        .map(linha -> VendaAgregadaDTO.builder()
+                                .dimensao(dimensao)
+                                .chave(RollupVenda.CHAVE_TOTAL)
+                                .hora((LocalDateTime) linha[0])
+                                .receita((BigDecimal) linha[1])
+                                .quantidade((Long) linha[2])
+                                .pedidos((Long) linha[3])
+                                .build())
+                        .toList();
+            }
+
+            Map<Long, ItemCardapio> cardapio = dimensao == DimensaoVenda.ITEM
+                    ? itemCardapioService.cardapioEmMemoria()
+                    : Map.of();
+
+            return rollupRepository.somarPorChave(dimensao, inicio, fim).stream()
+                    .map(linha -> {
+                        String chave = (String) linha[0];
+                        return VendaAgregadaDTO.builder()
+                                .dimensao(dimensao)
+                                .chave(chave)
+                                .nome(nome(dimensao, chave, cardapio))
+                                .receita((BigDecimal) linha[1])
+                                .quantidade((Long) linha[2])
+                                .pedidos((Long) linha[3])
+                                .build();
+                    })
+                    .toList();
+        });
+    }
+
+    private void somarPedido(PedidoEvento evento, PedidoResponseDTO pedido, int sinal) {
+        Map<Long, ItemCardapio> cardapio = itemCardapioService.cardapioEmMemoria();
+        LocalDateTime dataHora = pedido.getDataCriacao() != null ? pedido.getDataCriacao() : evento.getDataHoraPedido();
+
+        synchronized (trava) {
+            int hora = hora(dataHora);
+            int garcom = idGarcom(evento.getGarcomResponsavel());
+            contarPedido(pendentes, hora, garcom, sinal);
+
+            if (pedido.getItens() != null) {
+                for (PedidoResponseDTO.ItemResumo item : pedido.getItens()) {
+                    contarLinha(pendentes, hora, garcom, idItem(item.getItemCardapioId()),
+                            categoria(cardapio, item.getItemCardapioId()),
+                            centavos(item.getSubtotal()), item.getQuantidade(), sinal);
+                }
+            }
+        }
+    }
+
+    // Item de pedido cancelado só conta enquanto o cancelamento está na fila: a descarga desconta as
+    // linhas como estiverem no banco, então as mudanças feitas até lá precisam ter sido somadas.
+    private void somarItem(PedidoEvento evento, PedidoItemResponseDTO item, int sinal) {
+        if (item == null) {
+            return;
+        }
+        CategoriaItem categoria = categoria(itemCardapioService.cardapioEmMemoria(), item.getItemCardapioId());
+
+        synchronized (trava) {
+            if (evento.getStatus() == StatusPedido.CANCELADO && !cancelamentosPendentes.contains(evento.getPedidoId())) {
+                return;
+            }
+            contarLinha(pendentes, hora(evento.getDataHoraPedido()), idGarcom(evento.getGarcomResponsavel()),
+                    idItem(item.getItemCardapioId()), categoria, centavos(item.getSubtotal()), item.getQuantidade(), sinal);
+        }
+    }
+
+    private boolean retirarCancelamento(Long pedidoId) {
+        synchronized (trava) {
+            return cancelamentosPendentes.remove(pedidoId);
+        }
+    }
+
+    private List<LinhaVendaDTO> linhasDosCancelados(Set<Long> cancelados) {
+        List<LinhaVendaDTO> linhas = new ArrayList<>();
+        List<Long> ids = new ArrayList<>(cancelados);
+        for (int i = 0; i < ids.size(); i += LOTE_CANCELAMENTOS) {
+            linhas.addAll(pedidoRepository.linhasDeVendaDosPedidos(ids.subList(i, Math.min(i + LOTE_CANCELAMENTOS, ids.size()))));
+        }
+        return linhas;
+    }
+
+    // Linhas ordenadas por pedido; cada pedido novo conta também como pedido.
+    private void somarLinhas(Map<DimensaoVenda, ContadoresVenda> contadores, List<LinhaVendaDTO> linhas, int sinal) {
+        Long pedidoAtual = null;
+        int hora = 0;
+        int garcom = -1;
+        for (LinhaVendaDTO linha : linhas) {
+            if (!linha.getPedidoId().equals(pedidoAtual)) {
+                pedidoAtual = linha.getPedidoId();
+                hora = hora(linha.getDataHora());
+                garcom = idGarcom(linha.getGarcomResponsavel());
+                contarPedido(contadores, hora, garcom, sinal);
+            }
+            if (linha.getItemCardapioId() != null) {
+                contarLinha(contadores, hora, garcom, idItem(linha.getItemCardapioId()), linha.getCategoria(),
+                        centavos(linha.getSubtotal()), linha.getQuantidade(), sinal);
+            }
+        }
+    }
+
+    private static void contarPedido(Map<DimensaoVenda, ContadoresVenda> contadores, int hora, int garcom, int sinal) {
+        contadores.get(DimensaoVenda.HORA).somar(ContadoresVenda.chave(hora, VALOR_TOTAL), 0, 0, sinal);
+        if (garcom >= 0) {
+            contadores.get(DimensaoVenda.GARCOM).somar(ContadoresVenda.chave(hora, garcom), 0, 0, sinal);
+        }
+    }
+
+    private static void contarLinha(Map<DimensaoVenda, ContadoresVenda> contadores, int hora, int garcom,
+                                    int item, CategoriaItem categoria,
+                                    long centavos, Integer quantidade, int sinal) {
+        long receita = sinal * centavos;
+        long itens = sinal * (quantidade != null ? quantidade : 0L);
+
+        contadores.get(DimensaoVenda.HORA).somar(ContadoresVenda.chave(hora, VALOR_TOTAL), receita, itens, 0);
+        contadores.get(DimensaoVenda.ITEM).somar(ContadoresVenda.chave(hora, item), receita, itens, 0);
+        if (categoria != null) {
+            contadores.get(DimensaoVenda.CATEGORIA).somar(ContadoresVenda.chave(hora, categoria.ordinal()), receita, itens, 0);
+        }
+        if (garcom >= 0) {
+            contadores.get(DimensaoVenda.GARCOM).somar(ContadoresVenda.chave(hora, garcom), receita, itens, 0);
+        }
+    }
+
+    private void gravar(Map<DimensaoVenda, ContadoresVenda> contadores, List<String> nomesGarcom, List<Long> itens) {
+        contadores.forEach((dimensao, porChave) -> porChave.paraCada((chave, receitaCentavos, quantidade, pedidos) -> {
+            LocalDateTime hora = LocalDateTime.ofEpochSecond(ContadoresVenda.hora(chave) * 3600L, 0, ZoneOffset.UTC);
+            String valor = chaveTexto(dimensao, ContadoresVenda.valor(chave), nomesGarcom, itens);
+            BigDecimal receita = BigDecimal.valueOf(receitaCentavos, 2);
+
+            if (rollupRepository.somar(dimensao, hora, valor, receita, quantidade, pedidos) == 0) {
+                rollupRepository.inserir(dimensao.name(), hora, valor, receita, quantidade, pedidos);
+            }
+        }));
+    }
+
+    private static String chaveTexto(DimensaoVenda dimensao, int valor, List<String> nomesGarcom, List<Long> itens) {
+        return switch (dimensao) {
+            case HORA -> RollupVenda.CHAVE_TOTAL;
+            case ITEM -> itens.get(valor).toString();
+            case CATEGORIA -> CategoriaItem.values()[valor].name();
+            case GARCOM -> nomesGarcom.get(valor);
+        };
+    }
+
+    private static String nome(DimensaoVenda dimensao, String chave, Map<Long, ItemCardapio> cardapio) {
+        if (dimensao != DimensaoVenda.ITEM) {
+            return chave;
+        }
+        ItemCardapio item = cardapio.get(Long.valueOf(chave));
+        return item != null ? item.getNome() : null;
+    }
+
+    private int idGarcom(String login) {
+        if (login == null) {
+            return -1;
+        }
+        return idsGarcom.computeIfAbsent(login, novo -> {
+            garcons.add(novo);
+            return garcons.size() - 1;
+        });
+    }
+
+    private int idItem(Long itemCardapioId) {
+        return idsItem.computeIfAbsent(itemCardapioId, novo -> {
+            itensCardapio.add(novo);
+            return itensCardapio.size() - 1;
+        });
+    }
+
+    private static CategoriaItem categoria(Map<Long, ItemCardapio> cardapio, Long itemCardapioId) {
+        ItemCardapio item = cardapio.get(itemCardapioId);
+        return item != null ? item.getCategoria() : null;
+    }
+
+    private static int hora(LocalDateTime dataHora) {
+        LocalDateTime momento = dataHora != null ? dataHora : LocalDateTime.now();
+        return Math.toIntExact(momento.truncatedTo(ChronoUnit.HOURS).toEpochSecond(ZoneOffset.UTC) / 3600);
+    }
+
+    private static long centavos(BigDecimal valor) {
+        return valor == null ? 0 : valor.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private static void validarPeriodo(LocalDate de, LocalDate ate) {
+        if (de == null || ate == null || de.isAfter(ate)) {
+            throw new IllegalArgumentException("Período inválido: " + de + " a " + ate);
+        }
+        if (ChronoUnit.DAYS.between(de, ate) >= DIAS_MAXIMOS_CONSULTA) {
+            throw new IllegalArgumentException("Período maior que " + DIAS_MAXIMOS_CONSULTA + " dias.");
+        }
+    }
+
+    private static Map<DimensaoVenda, ContadoresVenda> novosContadores() {
+        Map<DimensaoVenda, ContadoresVenda> contadores = new EnumMap<>(DimensaoVenda.class);
+        for (DimensaoVenda dimensao : DimensaoVenda.values()) {
+            contadores.put(dimensao, new ContadoresVenda(CAPACIDADE_INICIAL));
+        }
+        return contadores;
+    }
+
+    public record Reconstrucao(LocalDate de, LocalDate ate, int bucketsRemovidos, long pedidos, long linhas) {
+    }
+}
@@ -0,0 +1,120 @@
+package com.pedix.api.service;
+
+import com.pedix.api.dto.TokenAcessoDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Tokens curtos assinados com HMAC-SHA256 no formato {@code carga.assinatura}, ambos em Base64 URL.
+ * A carga leva usuário, perfis e expiração, então a validação não consulta usuários nem roda BCrypt.
+ */
+@Service
+public class TokenAcessoService {
+
+    public static final String TIPO = "Bearer";
+
+    private static final String ALGORITMO = "HmacSHA256";
+    private static final Base64.Encoder CODIFICADOR = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODIFICADOR = Base64.getUrlDecoder();
+
+    private final SecretKeySpec chave;
+    private final long validadeSegundos;
+    private final Clock relogio;
+    private final ThreadLocal<Mac> macs;
+
+    @Autowired
+    public TokenAcessoService(@Value("${pedix.seguranca.token.segredo:}") String segredo,
+                              @Value("${pedix.seguranca.token.validade-s:900}") long validadeSegundos) {
+        this(segredo, validadeSegundos, Clock.systemUTC());
+    }
+
+    TokenAcessoService(String segredo, long validadeSegundos, Clock relogio) {
+        // Sem segredo configurado, cada instância gera o seu: tokens deixam de valer ao reiniciar.
+        byte[] bytesChave = segredo == null || segredo.isBlank()
+                ? aleatorio()
+                : segredo.getBytes(StandardCharsets.UTF_8);
+        this.chave = new SecretKeySpec(bytesChave, ALGORITMO);
+        this.validadeSegundos = validadeSegundos;
+        this.relogio = relogio;
+        this.macs = ThreadLocal.withInitial(this::novoMac);
+    }
+
+    public TokenAcessoDTO emitir(Authentication autenticacao) {
+        Instant expiraEm = relogio.instant().plusSeconds(validadeSegundos);
+        String perfis = autenticacao.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.joining(","));
+
+        String carga = CODIFICADOR.encodeToString(
+                (autenticacao.getName() + '\n' + perfis + '\n' + expiraEm.getEpochSecond())
+                        .getBytes(StandardCharsets.UTF_8));
+
+        return TokenAcessoDTO.builder()
+                .token(carga + '.' + CODIFICADOR.encodeToString(assinar(carga)))
+                .tipo(TIPO)
+                .expiraEm(expiraEm)
+                .build();
+    }
+
+    public Optional<Authentication> validar(String token) {
+        int separador = token.indexOf('.');
+        if (separador <= 0 || separador == token.length() - 1) {
+            return Optional.empty();
+        }
+
+        String carga = token.substring(0, separador);
+        try {
+            byte[] assinatura = DECODIFICADOR.decode(token.substring(separador + 1));
+            if (!MessageDigest.isEqual(assinatura, assinar(carga))) {
+                return Optional.empty();
+            }
+
+            String[] campos = new String(DECODIFICADOR.decode(carga), StandardCharsets.UTF_8).split("\n", -1);
+            if (campos.length != 3 || relogio.instant().getEpochSecond() >= Long.parseLong(campos[2])) {
+                return Optional.empty();
+            }
+
+            return Optional.of(UsernamePasswordAuthenticationToken.authenticated(
+                    campos[0], null, AuthorityUtils.commaSeparatedStringToAuthorityList(campos[1])));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private byte[] assinar(String carga) {
+        return macs.get().doFinal(carga.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private Mac novoMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITMO);
+            mac.init(chave);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 indisponível.", e);
+        }
+    }
+
+    private static byte[] aleatorio() {
+        byte[] bytes = new byte[32];
+        new SecureRandom().nextBytes(bytes);
+        return bytes;
+    }
+}
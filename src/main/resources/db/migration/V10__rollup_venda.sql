@@ -0,0 +1,14 @@
+-- ====================================================
+-- V10__rollup_venda.sql
+-- Vendas pre-agregadas por hora (item, categoria, total da hora, garcom)
+-- ====================================================
+
+CREATE TABLE rollup_venda (
+    dimensao    VARCHAR2(20)  NOT NULL,
+    hora        TIMESTAMP     NOT NULL,
+    chave       VARCHAR2(150) NOT NULL,
+    receita     NUMBER(14,2)  DEFAULT 0 NOT NULL,
+    quantidade  NUMBER(12)    DEFAULT 0 NOT NULL,
+    pedidos     NUMBER(12)    DEFAULT 0 NOT NULL,
+    CONSTRAINT pk_rollup_venda PRIMARY KEY (dimensao, hora, chave)
+);
@@ -0,0 +1,24 @@
+-- ====================================================
+-- V11__pedido_resumo.sql
+-- Resumo desnormalizado de pedido para as listagens (um cartao por pedido)
+-- Mantido na mesma transacao das escritas de pedido e item
+-- ====================================================
+
+CREATE TABLE pedido_resumo (
+    id                  NUMBER PRIMARY KEY,
+    id_comanda          NUMBER NOT NULL,
+    status              VARCHAR2(50) NOT NULL,
+    garcom_responsavel  VARCHAR2(150),
+    observacao          VARCHAR2(500),
+    quantidade_itens    NUMBER(6) DEFAULT 0 NOT NULL,
+    total               NUMBER(12,2) DEFAULT 0 NOT NULL
+);
+
+-- Listagem do garcom; o id no final atende o ORDER BY id e o cursor de pagina
+CREATE INDEX idx_pedido_resumo_garcom ON pedido_resumo (garcom_responsavel, id);
+
+INSERT INTO pedido_resumo (id, id_comanda, status, garcom_responsavel, observacao, quantidade_itens, total)
+SELECT p.id, p.id_comanda, p.status, p.garcom_responsavel, p.observacao,
+       (SELECT COUNT(*) FROM pedido_item i WHERE i.pedido_id = p.id),
+       p.total
+  FROM pedido p;
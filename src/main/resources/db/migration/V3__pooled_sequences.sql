@@ -0,0 +1,11 @@
+-- ====================================================
+-- V3__pooled_sequences.sql
+-- Sequences em blocos para alocacao pooled-lo no Hibernate
+-- ====================================================
+-- Cada NEXTVAL reserva 50 ids (allocationSize = 50 nas entidades),
+-- eliminando um round trip por linha inserida. O valor retornado e o
+-- limite inferior do bloco, entao os ids ja existentes nao colidem.
+
+ALTER SEQUENCE item_cardapio_seq INCREMENT BY 50 CACHE 20;
+ALTER SEQUENCE pedido_seq INCREMENT BY 50 CACHE 20;
+ALTER SEQUENCE pedido_item_seq INCREMENT BY 50 CACHE 20;
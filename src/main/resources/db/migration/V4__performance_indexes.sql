@@ -0,0 +1,22 @@
+-- ====================================================
+-- V4__performance_indexes.sql
+-- Indices secundarios para as consultas dos repositorios
+-- ====================================================
+
+-- Join de itens por pedido (fetch de itens e ON DELETE CASCADE)
+CREATE INDEX idx_pedido_item_pedido ON pedido_item (pedido_id);
+
+-- FK para o cardapio (evita lock de tabela ao excluir item do cardapio)
+CREATE INDEX idx_pedido_item_cardapio ON pedido_item (item_cardapio_id);
+
+-- Filtros de pedido; o id no final atende o ORDER BY id e o cursor de pagina
+CREATE INDEX idx_pedido_comanda ON pedido (id_comanda, id);
+CREATE INDEX idx_pedido_status ON pedido (status, id);
+CREATE INDEX idx_pedido_garcom ON pedido (garcom_responsavel, id);
+CREATE INDEX idx_pedido_data_hora ON pedido (data_hora);
+
+-- Listagem do cardapio disponivel, por categoria e ordenada por nome
+CREATE INDEX idx_item_cardapio_disponivel ON item_cardapio (disponivel, categoria, nome, id);
+
+-- Busca por nome sem diferenciar maiusculas (UPPER(nome) LIKE UPPER(?))
+CREATE INDEX idx_item_cardapio_nome_upper ON item_cardapio (UPPER(nome));
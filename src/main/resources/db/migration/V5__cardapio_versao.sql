@@ -0,0 +1,13 @@
+-- ====================================================
+-- V5__cardapio_versao.sql
+-- Versao do cardapio para invalidacao do cache entre nos
+-- ====================================================
+
+CREATE TABLE cardapio_versao (
+    id      NUMBER PRIMARY KEY,
+    versao  NUMBER(19) DEFAULT 0 NOT NULL
+);
+
+INSERT INTO cardapio_versao (id, versao) VALUES (1, 0);
+
+COMMIT;
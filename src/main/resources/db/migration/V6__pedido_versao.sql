@@ -0,0 +1,6 @@
+-- ====================================================
+-- V6__pedido_versao.sql
+-- Coluna de versao para controle otimista do pedido
+-- ====================================================
+
+ALTER TABLE pedido ADD versao NUMBER(19) DEFAULT 0 NOT NULL;
@@ -0,0 +1,8 @@
+-- ====================================================
+-- V7__pedido_codigo_rastreio.sql
+-- Codigo de rastreio dos pedidos recebidos de forma assincrona
+-- ====================================================
+
+ALTER TABLE pedido ADD codigo_rastreio VARCHAR2(36);
+
+CREATE UNIQUE INDEX uk_pedido_codigo_rastreio ON pedido (codigo_rastreio);
@@ -0,0 +1,17 @@
+-- ====================================================
+-- V8__idempotencia_requisicao.sql
+-- Respostas de requisicoes com Idempotency-Key (compartilhadas entre nos)
+-- ====================================================
+
+CREATE TABLE idempotencia_requisicao (
+    chave            VARCHAR2(64) PRIMARY KEY,
+    hash_requisicao  VARCHAR2(64) NOT NULL,
+    status_http      NUMBER(3),
+    content_type     VARCHAR2(100),
+    location         VARCHAR2(500),
+    corpo            CLOB,
+    criado_em        TIMESTAMP NOT NULL,
+    expira_em        TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_idempotencia_expira_em ON idempotencia_requisicao (expira_em);
@@ -0,0 +1,8 @@
+-- ====================================================
+-- V9__pedido_status_alterado_em.sql
+-- Momento da ultima troca de status (tempo em cada status)
+-- ====================================================
+
+ALTER TABLE pedido ADD status_alterado_em TIMESTAMP;
+
+UPDATE pedido SET status_alterado_em = data_hora;
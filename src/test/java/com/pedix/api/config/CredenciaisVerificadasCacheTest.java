@@ -0,0 +1,70 @@
+package com.pedix.api.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// O custo por requisição (BCrypt, cache e token) é medido em AutenticacaoBenchmark.
+class CredenciaisVerificadasCacheTest {
+
+    private final AtomicInteger verificacoes = new AtomicInteger();
+    private final BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(4);
+    private final PasswordEncoder contador = new PasswordEncoder() {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return bcrypt.encode(rawPassword);
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            verificacoes.incrementAndGet();
+            return bcrypt.matches(rawPassword, encodedPassword);
+        }
+    };
+
+    @Test
+    void soVerificaNoBCryptNaPrimeiraVezOuComSenhaDiferente() {
+        CredenciaisVerificadasCache cache = new CredenciaisVerificadasCache(contador, 60_000, 10);
+        String hash = cache.encode("admin123");
+
+        assertThat(cache.matches("admin123", hash)).isTrue();
+        assertThat(cache.matches("admin123", hash)).isTrue();
+        assertThat(verificacoes).hasValue(1);
+
+        assertThat(cache.matches("errada", hash)).isFalse();
+        assertThat(cache.matches("errada", hash)).isFalse();
+        assertThat(verificacoes).hasValue(3);
+
+        assertThat(cache.matches("admin123", cache.encode("admin123"))).isTrue();
+        assertThat(verificacoes).hasValue(4);
+    }
+
+    @Test
+    void entradaVencidaVoltaAoBCrypt() {
+        CredenciaisVerificadasCache cache = new CredenciaisVerificadasCache(contador, 0, 10);
+        String hash = cache.encode("admin123");
+
+        assertThat(cache.matches("admin123", hash)).isTrue();
+        assertThat(cache.matches("admin123", hash)).isTrue();
+        assertThat(verificacoes).hasValue(2);
+    }
+
+    @Test
+    void cacheCheioNaoGuardaNovasCredenciais() {
+        CredenciaisVerificadasCache cache = new CredenciaisVerificadasCache(contador, 60_000, 1);
+        String primeiro = cache.encode("admin123");
+        String segundo = cache.encode("garcom123");
+
+        assertThat(cache.matches("admin123", primeiro)).isTrue();
+        assertThat(cache.matches("garcom123", segundo)).isTrue();
+        assertThat(cache.matches("garcom123", segundo)).isTrue();
+        assertThat(verificacoes).hasValue(3);
+
+        assertThat(cache.matches("admin123", primeiro)).isTrue();
+        assertThat(verificacoes).hasValue(3);
+    }
+}
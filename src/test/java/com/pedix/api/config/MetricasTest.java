@@ -0,0 +1,105 @@
+package com.pedix.api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pedix.api.domain.ItemCardapio;
+import com.pedix.api.domain.enums.CategoriaItem;
+import com.pedix.api.domain.enums.StatusPedido;
+import com.pedix.api.dto.PedidoDTO;
+import com.pedix.api.dto.PedidoItemDTO;
+import com.pedix.api.repository.ItemCardapioRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class MetricasTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private ItemCardapioRepository itemCardapioRepository;
+
+    @Test
+    void endpointPrometheusSoParaAdmin() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("garcom", "garcom123")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("admin", "admin123")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void expoeLatenciaPorCamadaPoolHibernateENegocio() throws Exception {
+        ItemCardapio item = itemCardapioRepository.save(ItemCardapio.builder()
+                .nome("Metrificado")
+                .categoria(CategoriaItem.PRATO)
+                .preco(new BigDecimal("15.00"))
+                .disponivel(true)
+                .build());
+        double tempoEmPreparoAntes = contagemTempoStatus(StatusPedido.EM_PREPARO);
+
+        PedidoDTO pedido = PedidoDTO.builder()
+                .comandaId(9101L)
+                .itens(List.of(
+                        PedidoItemDTO.builder().itemCardapioId(item.getId()).quantidade(1).build(),
+                        PedidoItemDTO.builder().itemCardapioId(item.getId()).quantidade(2).build()))
+                .build();
+        String criado = mockMvc.perform(post("/api/pedido/comanda/9101")
+                        .with(httpBasic("admin", "admin123"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(pedido)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long id = objectMapper.readTree(criado).get("pedido").get("id").asLong();
+
+        mockMvc.perform(put("/api/pedido/" + id + "/status")
+                        .param("status", StatusPedido.PRONTO.name())
+                        .with(httpBasic("admin", "admin123")))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/pedido/" + id).with(httpBasic("admin", "admin123")))
+                .andExpect(status().isOk());
+
+        String metricas = mockMvc.perform(get("/actuator/prometheus").with(httpBasic("admin", "admin123")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(metricas)
+                .contains("http_server_requests_seconds_bucket{application=\"pedix-api\",camada=\"api\"")
+                .contains("hikaricp_connections_acquire_seconds_bucket")
+                .contains("pedix_requisicao_hibernate_comandos_count{application=\"pedix-api\",method=\"GET\",uri=\"/api/pedido/{id}\"")
+                .contains("pedix_requisicao_hibernate_entidades_sum")
+                .contains("pedix_pedidos_criados_total")
+                .contains("pedix_pedidos_itens_sum");
+        assertThat(contagemTempoStatus(StatusPedido.EM_PREPARO)).isEqualTo(tempoEmPreparoAntes + 1);
+    }
+
+    private double contagemTempoStatus(StatusPedido status) {
+        return registry.get("pedix.pedidos.tempo.status").tag("status", status.name()).timer().count();
+    }
+}
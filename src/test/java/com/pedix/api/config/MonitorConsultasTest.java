@@ -0,0 +1,120 @@
+package com.pedix.api.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pedix.api.domain.ItemCardapio;
+import com.pedix.api.domain.enums.CategoriaItem;
+import com.pedix.api.dto.ConsultaMonitoradaDTO;
+import com.pedix.api.dto.PedidoDTO;
+import com.pedix.api.dto.PedidoItemDTO;
+import com.pedix.api.repository.ItemCardapioRepository;
+import com.pedix.api.service.PedidoService;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser(roles = "ADMIN")
+@TestPropertySource(properties = {
+        "pedix.sql.monitor.limiar-ms=600000",
+        "pedix.sql.monitor.taxa-amostragem=1.0"
+})
+class MonitorConsultasTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private ItemCardapioRepository itemCardapioRepository;
+
+    @Test
+    void rankingTrazOrigemParametrosELinhasDasConsultasAmostradas() throws Exception {
+        ItemCardapio item = itemCardapioRepository.save(ItemCardapio.builder()
+                .nome("Monitorado")
+                .categoria(CategoriaItem.PRATO)
+                .preco(new BigDecimal("12.00"))
+                .disponivel(true)
+                .build());
+        for (int i = 0; i < 3; i++) {
+            pedidoService.criar(PedidoDTO.builder()
+                    .comandaId(9201L)
+                    .itens(List.of(PedidoItemDTO.builder().itemCardapioId(item.getId()).quantidade(1).build()))
+                    .build(), "garcom");
+        }
+
+        mockMvc.perform(get("/api/pedido/comanda/9201")).andExpect(status().isOk());
+
+        String corpo = mockMvc.perform(get("/api/diagnostico/consultas-lentas").param("limite", "100"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        List<JsonNode> doController = objectMapper.readTree(corpo).findParents("origem").stream()
+                .filter(consulta -> consulta.get("origem").asText().equals("PedidoController.listarPorComanda"))
+                .toList();
+
+        assertThat(doController).isNotEmpty();
+        assertThat(doController).anySatisfy(consulta -> {
+            assertThat(consulta.get("sql").asText().toLowerCase()).startsWith("select").contains("pedido");
+            assertThat(consulta.get("linhas").asLong()).isEqualTo(3);
+            assertThat(consulta.get("parametros").asText()).contains("9201");
+            assertThat(consulta.get("amostrada").asBoolean()).isTrue();
+        });
+    }
+
+    @Test
+    void registraSoOsComandosAcimaDoLimiar() {
+        MonitorConsultas lento = new MonitorConsultas(0, 0, 10);
+        MonitorConsultas rapido = new MonitorConsultas(600_000, 0, 10);
+
+        executar(lento);
+        executar(rapido);
+
+        assertThat(rapido.maisLentas(10)).isEmpty();
+        assertThat(lento.maisLentas(10))
+                .extracting(ConsultaMonitoradaDTO::getSql, ConsultaMonitoradaDTO::getLinhas, ConsultaMonitoradaDTO::isAmostrada)
+                .contains(
+                        tuple("INSERT INTO numero VALUES (?)", 4L, false),
+                        tuple("SELECT n FROM numero WHERE n > ?", 3L, false));
+    }
+
+    private static void executar(MonitorConsultas monitor) {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:monitor-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        DataSource dataSource = ProxyDataSourceBuilder.create(h2)
+                .listener(monitor)
+                .proxyResultSet()
+                .jdbcProxyFactory(monitor)
+                .build();
+
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE numero (n INT)");
+        jdbc.batchUpdate("INSERT INTO numero VALUES (?)", List.of(
+                new Object[]{1}, new Object[]{2}, new Object[]{3}, new Object[]{4}));
+        assertThat(jdbc.queryForList("SELECT n FROM numero WHERE n > ?", Integer.class, 1)).hasSize(3);
+    }
+}
@@ -0,0 +1,118 @@
+package com.pedix.api.config;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "pedix.datasource.roteamento.habilitado=true",
+        "pedix.datasource.roteamento.maximo-atraso-ms=1000",
+        "pedix.datasource.roteamento.aderencia-escrita-ms=60000",
+        "pedix.datasource.roteamento.intervalo-verificacao-ms=3600000",
+        "pedix.datasource.roteamento.consulta-atraso=SELECT atraso_ms FROM atraso_replica",
+        "pedix.datasource.replica.jdbc-url=jdbc:h2:mem:pedix-replica-${random.uuid};MODE=Oracle;DB_CLOSE_DELAY=-1",
+        "pedix.datasource.replica.username=sa",
+        "pedix.datasource.replica.password=",
+        "pedix.datasource.replica.driver-class-name=org.h2.Driver"
+})
+class RoteamentoDataSourceTest {
+
+    @Autowired
+    @Qualifier("primarioDataSource")
+    private DataSource primario;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replica;
+
+    @Autowired
+    private AtrasoReplica atrasoReplica;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        prepararOrigem(new JdbcTemplate(primario), "primario");
+        prepararOrigem(new JdbcTemplate(replica), "replica");
+
+        JdbcTemplate jdbcReplica = new JdbcTemplate(replica);
+        jdbcReplica.execute("CREATE TABLE IF NOT EXISTS atraso_replica (atraso_ms NUMBER)");
+        jdbcReplica.update("DELETE FROM atraso_replica");
+        jdbcReplica.update("INSERT INTO atraso_replica VALUES (0)");
+        atrasoReplica.verificar();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void leituraVaiParaReplicaEEscritaParaPrimario() {
+        assertThat(origem(true)).isEqualTo("replica");
+        assertThat(origem(false)).isEqualTo("primario");
+    }
+
+    @Test
+    void leituraDepoisDeEscreverFicaNoPrimarioParaAMesmaSessao() {
+        autenticar("garcom-a");
+        assertThat(origem(true)).isEqualTo("replica");
+        assertThat(origem(false)).isEqualTo("primario");
+        assertThat(origem(true)).isEqualTo("primario");
+
+        autenticar("garcom-b");
+        assertThat(origem(true)).isEqualTo("replica");
+    }
+
+    @Test
+    void replicaAtrasadaAlemDaToleranciaDeixaDeReceberLeituras() {
+        new JdbcTemplate(replica).update("UPDATE atraso_replica SET atraso_ms = 5000");
+        atrasoReplica.verificar();
+        assertThat(atrasoReplica.atrasoMs()).isEqualTo(5000);
+        assertThat(origem(true)).isEqualTo("primario");
+
+        new JdbcTemplate(replica).update("UPDATE atraso_replica SET atraso_ms = 200");
+        atrasoReplica.verificar();
+        assertThat(origem(true)).isEqualTo("replica");
+    }
+
+    private String origem(boolean somenteLeitura) {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        transacao.setReadOnly(somenteLeitura);
+        return transacao.execute(status ->
+                (String) entityManager.createNativeQuery("SELECT banco FROM origem_teste").getSingleResult());
+    }
+
+    private static void prepararOrigem(JdbcTemplate jdbc, String banco) {
+        jdbc.execute("CREATE TABLE IF NOT EXISTS origem_teste (banco VARCHAR2(20))");
+        jdbc.update("DELETE FROM origem_teste");
+        jdbc.update("INSERT INTO origem_teste VALUES (?)", banco);
+    }
+
+    private static void autenticar(String usuario) {
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                usuario, null, AuthorityUtils.createAuthorityList("ROLE_GARCOM")));
+    }
+}
@@ -0,0 +1,124 @@
+package com.pedix.api.controller.api;
+
+import com.pedix.api.domain.ItemCardapio;
+import com.pedix.api.domain.Pedido;
+import com.pedix.api.domain.enums.CategoriaItem;
+import com.pedix.api.dto.ItemCardapioDTO;
+import com.pedix.api.dto.PedidoDTO;
+import com.pedix.api.dto.PedidoItemDTO;
+import com.pedix.api.service.ItemCardapioService;
+import com.pedix.api.service.PedidoService;
+import com.pedix.api.support.MedidorAlocacao;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Orçamento de alocação das listagens da API, chamando os controllers direto (sem MockMvc e sem
+ * serialização) sobre uma página fixa de 20 pedidos com 3 itens cada. Inclui Hibernate e links.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class AlocacaoListagemTest {
+
+    private static final int PEDIDOS = 20;
+    private static final int ITENS_POR_PEDIDO = 3;
+
+    private static final long ORCAMENTO_LISTAR_PEDIDOS = 450_000;
+    private static final long ORCAMENTO_LISTAR_ITENS = 220_000;
+    private static final long ORCAMENTO_LISTAR_CARDAPIO = 8_192;
+
+    private static final int AQUECIMENTO = 500;
+    private static final int REPETICOES_GRAVACAO = 200;
+
+    @Autowired
+    private PedidoController pedidoController;
+
+    @Autowired
+    private PedidoItemController pedidoItemController;
+
+    @Autowired
+    private ItemCardapioController itemCardapioController;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private ItemCardapioService itemCardapioService;
+
+    private List<Pedido> pedidos;
+    private String busca;
+
+    @BeforeEach
+    void preparar() {
+        // Cada teste grava o próprio cardápio: a busca por nome não pode achar o dos testes anteriores.
+        busca = "Zabaione " + UUID.randomUUID().toString().substring(0, 8);
+        List<ItemCardapio> cardapio = new ArrayList<>();
+        for (int i = 1; i <= ITENS_POR_PEDIDO; i++) {
+            cardapio.add(itemCardapioService.criar(ItemCardapioDTO.builder()
+                    .nome(busca + " " + i)
+                    .categoria(CategoriaItem.SOBREMESA)
+                    .preco(new BigDecimal("12.50"))
+                    .build()));
+        }
+
+        pedidos = new ArrayList<>();
+        for (int i = 0; i < PEDIDOS; i++) {
+            pedidos.add(pedidoService.criar(PedidoDTO.builder()
+                    .comandaId(9700L)
+                    .itens(cardapio.stream()
+                            .map(item -> PedidoItemDTO.builder().itemCardapioId(item.getId()).quantidade(1).build())
+                            .toList())
+                    .build(), "garcom"));
+        }
+
+        RequestContextHolder.setRequestAttributes(
+                new ServletRequestAttributes(new MockHttpServletRequest("GET", "/api/pedido")));
+    }
+
+    @AfterEach
+    void encerrar() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void listarPedidos() {
+        Long apos = pedidos.get(0).getId() - 1;
+        assertThat(pedidoController.listarTodos(apos, PEDIDOS).getBody()).hasSize(PEDIDOS);
+
+        MedidorAlocacao.assertNoMaximo("PedidoController.listarTodos", ORCAMENTO_LISTAR_PEDIDOS,
+                () -> pedidoController.listarTodos(apos, PEDIDOS), AQUECIMENTO, REPETICOES_GRAVACAO);
+    }
+
+    @Test
+    void listarItensDePedido() {
+        Long apos = pedidos.get(0).getItens().get(0).getId() - 1;
+        int limite = PEDIDOS * ITENS_POR_PEDIDO;
+        assertThat(pedidoItemController.listarTodos(apos, limite).getBody()).hasSize(limite);
+
+        MedidorAlocacao.assertNoMaximo("PedidoItemController.listarTodos", ORCAMENTO_LISTAR_ITENS,
+                () -> pedidoItemController.listarTodos(apos, limite), AQUECIMENTO, REPETICOES_GRAVACAO);
+    }
+
+    @Test
+    void listarCardapio() {
+        assertThat(itemCardapioController.listar(null, busca, null, null).getBody())
+                .hasSize(ITENS_POR_PEDIDO);
+
+        MedidorAlocacao.assertNoMaximo("ItemCardapioController.listar", ORCAMENTO_LISTAR_CARDAPIO,
+                () -> itemCardapioController.listar(null, busca, null, null), AQUECIMENTO, REPETICOES_GRAVACAO);
+    }
+}
@@ -0,0 +1,67 @@
+package com.pedix.api.controller.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pedix.api.dto.TokenAcessoDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AutenticacaoApiTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void tokenEmitidoComBasicDaAcessoAApiSemSessao() throws Exception {
+        String token = emitirToken("admin", "admin123");
+
+        mockMvc.perform(get("/api/painel").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(result -> assertThat(result.getRequest().getSession(false)).isNull());
+    }
+
+    @Test
+    void recusaTokenAdulteradoOuAusente() throws Exception {
+        String token = emitirToken("admin", "admin123");
+        String adulterado = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        mockMvc.perform(get("/api/painel").header(HttpHeaders.AUTHORIZATION, "Bearer " + adulterado))
+                .andExpect(status().isUnauthorized())
+                .andExpect(header().string(HttpHeaders.WWW_AUTHENTICATE, "Bearer error=\"invalid_token\""));
+
+        mockMvc.perform(get("/api/painel")).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void tokenCarregaOsPerfisDoUsuario() throws Exception {
+        String token = emitirToken("garcom", "garcom123");
+
+        mockMvc.perform(get("/api/painel").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isForbidden());
+    }
+
+    private String emitirToken(String usuario, String senha) throws Exception {
+        String corpo = mockMvc.perform(post("/api/auth/token").with(httpBasic(usuario, senha)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        return objectMapper.readValue(corpo, TokenAcessoDTO.class).getToken();
+    }
+}
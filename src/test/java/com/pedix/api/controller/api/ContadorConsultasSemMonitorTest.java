@@ -0,0 +1,32 @@
+package com.pedix.api.controller.api;
+
+import com.pedix.api.config.ContadorConsultasFilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "pedix.sql.monitor.habilitado=false")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser(roles = "ADMIN")
+class ContadorConsultasSemMonitorTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void contaComandosComOMonitorDesligado() throws Exception {
+        mockMvc.perform(get("/api/pedido"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ContadorConsultasFilter.CABECALHO_QUANTIDADE, not("0")));
+    }
+}
@@ -0,0 +1,170 @@
+package com.pedix.api.controller.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pedix.api.domain.ItemCardapio;
+import com.pedix.api.domain.enums.CategoriaItem;
+import com.pedix.api.domain.enums.StatusPedido;
+import com.pedix.api.dto.ItemCardapioDTO;
+import com.pedix.api.dto.PedidoDTO;
+import com.pedix.api.dto.PedidoItemDTO;
+import com.pedix.api.service.ItemCardapioService;
+import com.pedix.api.service.PedidoService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser(roles = "ADMIN")
+class ExportacaoPedidosTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private ItemCardapioService itemCardapioService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void ndjsonTrazUmPedidoPorLinhaComOsItens() throws Exception {
+        ItemCardapio prato = novoItem("Moqueca exportada", "54.90");
+        ItemCardapio bebida = novoItem("Suco exportado", "9.50");
+        Long primeiro = novoPedido(9801L, "2019-03-10T12:30:00", StatusPedido.FINALIZADO, null, prato, bebida);
+        Long segundo = novoPedido(9802L, "2019-03-11T20:00:00", StatusPedido.CANCELADO, "sem sal", prato);
+        novoPedido(9803L, "2019-03-12T09:00:00", StatusPedido.FINALIZADO, null, bebida);
+
+        List<JsonNode> pedidos = new ArrayList<>();
+        for (String linha : exportar(get("/api/pedido/exportacao")
+                .param("de", "2019-03-10")
+                .param("ate", "2019-03-11")).split("\n")) {
+            pedidos.add(objectMapper.readTree(linha));
+        }
+
+        assertThat(pedidos).extracting(p -> p.get("id").asLong()).containsExactly(primeiro, segundo);
+        JsonNode pedido = pedidos.get(0);
+        assertThat(pedido.get("comandaId").asLong()).isEqualTo(9801L);
+        assertThat(pedido.get("status").asText()).isEqualTo("FINALIZADO");
+        assertThat(pedido.get("dataCriacao").asText()).isEqualTo("2019-03-10T12:30:00");
+        assertThat(pedido.get("itens")).hasSize(2);
+        assertThat(pedido.get("itens").get(0).get("nome").asText()).isEqualTo("Moqueca exportada");
+        assertThat(pedido.get("itens").get(1).get("quantidade").asInt()).isEqualTo(2);
+        assertThat(pedido.has("_links")).isFalse();
+        assertThat(pedidos.get(1).get("observacao").asText()).isEqualTo("sem sal");
+    }
+
+    @Test
+    void csvTemUmaLinhaPorItemEFiltraPorStatus() throws Exception {
+        ItemCardapio prato = novoItem("Baião, de dois", "31.00");
+        Long finalizado = novoPedido(9811L, "2019-04-02T13:00:00", StatusPedido.FINALIZADO, "=1+1", prato, prato);
+        novoPedido(9812L, "2019-04-02T14:00:00", StatusPedido.CANCELADO, null, prato);
+
+        String csv = exportar(get("/api/pedido/exportacao")
+                .param("formato", "CSV")
+                .param("de", "2019-04-02")
+                .param("ate", "2019-04-02")
+                .param("status", "FINALIZADO"));
+
+        String[] linhas = csv.split("\r\n");
+        assertThat(linhas).hasSize(3);
+        assertThat(linhas[0]).isEqualTo("pedido_id,comanda_id,status,data_criacao,garcom_responsavel,observacao,total,"
+                + "item_cardapio_id,item_nome,quantidade,preco_unitario,subtotal");
+        assertThat(linhas[1]).startsWith(finalizado + ",9811,FINALIZADO,2019-04-02T13:00:00,garcom,'=1+1,")
+                .contains(",\"Baião, de dois\",1,31.00,31.00");
+        assertThat(linhas[2]).startsWith(finalizado + ",");
+    }
+
+    @Test
+    void exportacaoNaoCarregaEntidades() throws Exception {
+        ItemCardapio prato = novoItem("Feijoada exportada", "45.00");
+        for (int i = 0; i < 40; i++) {
+            novoPedido(9820L, "2019-05-01T12:00:00", StatusPedido.FINALIZADO, null, prato, prato);
+        }
+
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long carregadas = estatisticas.getEntityLoadCount();
+
+        String ndjson = exportar(get("/api/pedido/exportacao").param("de", "2019-05-01").param("ate", "2019-05-01"));
+
+        assertThat(ndjson.split("\n")).hasSize(40);
+        assertThat(estatisticas.getEntityLoadCount()).isEqualTo(carregadas);
+    }
+
+    @Test
+    void periodoInvertidoEhRequisicaoInvalida() throws Exception {
+        mockMvc.perform(get("/api/pedido/exportacao").param("de", "2019-03-12").param("ate", "2019-03-10"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private String exportar(MockHttpServletRequestBuilder requisicao) throws Exception {
+        MvcResult resultado = mockMvc.perform(requisicao)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        MvcResult concluido = mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertThat(concluido.getResponse().getHeader(HttpHeaders.CONTENT_DISPOSITION)).startsWith("attachment");
+        return concluido.getResponse().getContentAsString(StandardCharsets.UTF_8);
+    }
+
+    private Long novoPedido(Long comandaId, String dataHora, StatusPedido status, String observacao, ItemCardapio... itens) {
+        List<PedidoItemDTO> linhas = new ArrayList<>();
+        for (int i = 0; i < itens.length; i++) {
+            linhas.add(PedidoItemDTO.builder().itemCardapioId(itens[i].getId()).quantidade(i + 1).build());
+        }
+        Long id = pedidoService.criar(PedidoDTO.builder()
+                .comandaId(comandaId)
+                .observacao(observacao)
+                .itens(linhas)
+                .build(), "garcom").getId();
+
+        jdbcTemplate.update("UPDATE PEDIDO SET DATA_HORA = ?, STATUS = ? WHERE ID = ?",
+                LocalDateTime.parse(dataHora), status.name(), id);
+        return id;
+    }
+
+    private ItemCardapio novoItem(String nome, String preco) {
+        return itemCardapioService.criar(ItemCardapioDTO.builder()
+                .nome(nome)
+                .categoria(CategoriaItem.PRATO)
+                .preco(new BigDecimal(preco))
+                .build());
+    }
+}
@@ -0,0 +1,194 @@
+package com.pedix.api.controller.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pedix.api.config.IdempotenciaFilter;
+import com.pedix.api.domain.ItemCardapio;
+import com.pedix.api.domain.enums.CategoriaItem;
+import com.pedix.api.dto.PedidoDTO;
+import com.pedix.api.dto.PedidoItemDTO;
+import com.pedix.api.repository.ItemCardapioRepository;
+import com.pedix.api.repository.PedidoRepository;
+import com.pedix.api.service.IdempotenciaService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import jakarta.servlet.ReadListener;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class IdempotenciaPedidoTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ItemCardapioRepository itemCardapioRepository;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private IdempotenciaService idempotenciaService;
+
+    @Autowired
+    private IdempotenciaFilter idempotenciaFilter;
+
+    private ItemCardapio item;
+
+    @BeforeEach
+    void setUp() {
+        item = itemCardapioRepository.save(ItemCardapio.builder()
+                .nome("Suco")
+                .categoria(CategoriaItem.BEBIDA)
+                .preco(new BigDecimal("9.00"))
+                .disponivel(true)
+                .build());
+    }
+
+    @Test
+    void repeteRespostaOriginalSemCriarOutroPedido() throws Exception {
+        long antes = pedidoRepository.count();
+
+        MvcResult primeira = enviar(7001L, "chave-repetida", 2);
+        MvcResult segunda = enviar(7001L, "chave-repetida", 2);
+
+        assertThat(primeira.getResponse().getStatus()).isEqualTo(201);
+        assertThat(segunda.getResponse().getStatus()).isEqualTo(201);
+        assertThat(segunda.getResponse().getContentAsString()).isEqualTo(primeira.getResponse().getContentAsString());
+        assertThat(segunda.getResponse().getHeader(IdempotenciaFilter.CABECALHO_REPETIDA)).isEqualTo("true");
+        assertThat(pedidoRepository.count()).isEqualTo(antes + 1);
+    }
+
+    @Test
+    void recusaMesmaChaveComOutroCorpo() throws Exception {
+        assertThat(enviar(7002L, "chave-conflito", 1).getResponse().getStatus()).isEqualTo(201);
+        assertThat(enviar(7002L, "chave-conflito", 3).getResponse().getStatus()).isEqualTo(422);
+    }
+
+    @Test
+    void repeteAPartirDoBancoQuandoMemoriaFoiPerdida() throws Exception {
+        long antes = pedidoRepository.count();
+        MvcResult primeira = enviar(7003L, "chave-reinicio", 1);
+
+        ReflectionTestUtils.invokeMethod(idempotenciaService, "esquecerLocalmente");
+        MvcResult segunda = enviar(7003L, "chave-reinicio", 1);
+
+        assertThat(segunda.getResponse().getContentAsString()).isEqualTo(primeira.getResponse().getContentAsString());
+        assertThat(pedidoRepository.count()).isEqualTo(antes + 1);
+    }
+
+    @Test
+    void retentativasConcorrentesCriamUmUnicoPedido() throws Exception {
+        long antes = pedidoRepository.count();
+        int tentativas = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(tentativas);
+        CountDownLatch largada = new CountDownLatch(1);
+
+        try {
+            List<Future<MvcResult>> respostas = new ArrayList<>();
+            for (int i = 0; i < tentativas; i++) {
+                respostas.add(executor.submit(() -> {
+                    largada.await();
+                    return enviar(7004L, "chave-concorrente", 1);
+                }));
+            }
+            largada.countDown();
+
+            List<String> corpos = new ArrayList<>();
+            for (Future<MvcResult> resposta : respostas) {
+                MvcResult resultado = resposta.get();
+                assertThat(resultado.getResponse().getStatus()).isEqualTo(201);
+                corpos.add(resultado.getResponse().getContentAsString());
+            }
+
+            assertThat(corpos).allMatch(corpos.get(0)::equals);
+            assertThat(pedidoRepository.count()).isEqualTo(antes + 1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void recusaCorpoAcimaDoLimiteSemReservarAChave() throws Exception {
+        byte[] corpo = ("{\"observacao\":\"" + "x".repeat(1_100_000) + "\"}").getBytes(StandardCharsets.UTF_8);
+
+        MvcResult grande = mockMvc.perform(post("/api/pedido/comanda/7005")
+                        .with(user("admin").roles("ADMIN"))
+                        .header(IdempotenciaFilter.CABECALHO_CHAVE, "chave-grande")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(corpo))
+                .andReturn();
+
+        assertThat(grande.getResponse().getStatus()).isEqualTo(413);
+        assertThat(enviar(7005L, "chave-grande", 1).getResponse().getStatus()).isEqualTo(201);
+    }
+
+    @Test
+    void corpoRelidoAtendeLeituraAssincrona() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/pedido/comanda/7006");
+        request.addHeader(IdempotenciaFilter.CABECALHO_CHAVE, "chave-assincrona");
+        request.setContent("{}".getBytes(StandardCharsets.UTF_8));
+        List<String> eventos = new ArrayList<>();
+
+        idempotenciaFilter.doFilter(request, new MockHttpServletResponse(), (req, res) ->
+                req.getInputStream().setReadListener(new ReadListener() {
+                    @Override
+                    public void onDataAvailable() throws IOException {
+                        eventos.add("dados:" + new String(req.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+                    }
+
+                    @Override
+                    public void onAllDataRead() {
+                        eventos.add("fim");
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        eventos.add("erro");
+                    }
+                }));
+
+        assertThat(eventos).containsExactly("dados:{}", "fim");
+    }
+
+    private MvcResult enviar(Long comandaId, String chave, int quantidade) throws Exception {
+        PedidoDTO pedido = PedidoDTO.builder()
+                .comandaId(comandaId)
+                .itens(List.of(PedidoItemDTO.builder().itemCardapioId(item.getId()).quantidade(quantidade).build()))
+                .build();
+
+        return mockMvc.perform(post("/api/pedido/comanda/" + comandaId)
+                        .with(user("admin").roles("ADMIN"))
+                        .header(IdempotenciaFilter.CABECALHO_CHAVE, chave)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(pedido)))
+                .andReturn();
+    }
+}
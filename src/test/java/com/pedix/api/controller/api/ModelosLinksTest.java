@@ -0,0 +1,106 @@
+package com.pedix.api.controller.api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.EvoInflectorLinkRelationProvider;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+class ModelosLinksTest {
+
+    private final ModelosLinks modelosLinks = new ModelosLinks();
+    private final ObjectMapper hal = mapperHal();
+
+    @AfterEach
+    void encerrar() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "http, localhost, 80, ''",
+            "http, localhost, 8080, ''",
+            "https, pedix.example.com, 443, /pedix",
+            "https, 10.0.0.7, 8443, /app"})
+    void linksIguaisAosDoLinkTo(String esquema, String host, int porta, String contexto) {
+        requisicao(esquema, host, porta, contexto);
+        ModelosLinks.Modelos links = modelosLinks.daRequisicao();
+
+        for (long id : new long[]{1L, 7L, 10L, 80L, 443L, 8080L, Long.MAX_VALUE}) {
+            assertMesmosLinks(
+                    List.of(links.pedido().self(id),
+                            links.todosPedidos()),
+                    List.of(linkTo(methodOn(PedidoController.class).obter(id)).withSelfRel(),
+                            linkTo(methodOn(PedidoController.class).listarTodos(null, null)).withRel("todos_pedidos")));
+            assertMesmosLinks(
+                    List.of(links.pedidoItem().self(id),
+                            links.todosItensPedido(),
+                            links.pedido().com(id, LinkRelation.of("pedido"))),
+                    List.of(linkTo(methodOn(PedidoItemController.class).buscarPorId(id)).withSelfRel(),
+                            linkTo(methodOn(PedidoItemController.class).listarTodos(null, null)).withRel("todos_itens"),
+                            linkTo(methodOn(PedidoController.class).obter(id)).withRel("pedido")));
+            assertMesmosLinks(
+                    List.of(links.itemCardapio().self(id),
+                            links.todosItensCardapio()),
+                    List.of(linkTo(methodOn(ItemCardapioController.class).buscarPorId(id)).withSelfRel(),
+                            linkTo(methodOn(ItemCardapioController.class).listar(null, null, null, null)).withRel("todos_itens")));
+        }
+    }
+
+    @Test
+    void modelosSaoReaproveitadosPorBase() {
+        requisicao("http", "localhost", 8080, "");
+        ModelosLinks.Modelos primeiro = modelosLinks.daRequisicao();
+        assertThat(modelosLinks.daRequisicao()).isSameAs(primeiro);
+
+        requisicao("https", "pedix.example.com", 443, "");
+        ModelosLinks.Modelos outraBase = modelosLinks.daRequisicao();
+        assertThat(outraBase).isNotSameAs(primeiro);
+        assertThat(outraBase.pedido().self(5L).getHref()).isEqualTo("https://pedix.example.com/api/pedido/5");
+    }
+
+    // Compara o que vai para a resposta: o _links em HAL.
+    private void assertMesmosLinks(List<Link> precalculados, List<Link> linkTo) {
+        try {
+            assertThat(hal.writeValueAsString(EntityModel.of(Map.of(), precalculados)))
+                    .contains("\"_links\"")
+                    .isEqualTo(hal.writeValueAsString(EntityModel.of(Map.of(), linkTo)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static ObjectMapper mapperHal() {
+        ObjectMapper mapper = new ObjectMapper().registerModule(new Jackson2HalModule());
+        mapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(
+                new EvoInflectorLinkRelationProvider(), CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY));
+        return mapper;
+    }
+
+    private static void requisicao(String esquema, String host, int porta, String contexto) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", contexto + "/api/pedido");
+        request.setScheme(esquema);
+        request.setServerName(host);
+        request.setServerPort(porta);
+        request.setContextPath(contexto);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+}
@@ -0,0 +1,100 @@
+package com.pedix.api.controller.api;
+
+import com.pedix.api.config.ContadorConsultasFilter;
+import com.pedix.api.domain.ItemCardapio;
+import com.pedix.api.domain.enums.CategoriaItem;
+import com.pedix.api.dto.PedidoDTO;
+import com.pedix.api.dto.PedidoItemDTO;
+import com.pedix.api.repository.ItemCardapioRepository;
+import com.pedix.api.service.PedidoService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static com.pedix.api.support.OrcamentoConsultasMatchers.dentroDoOrcamento;
+import static com.pedix.api.support.OrcamentoConsultasMatchers.noMaximo;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser(roles = "ADMIN")
+class OrcamentoConsultasTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private ItemCardapioRepository itemCardapioRepository;
+
+    // O número de comandos não pode crescer com o número de linhas devolvidas.
+    @ParameterizedTest
+    @ValueSource(ints = {1, 3, 30})
+    void endpointsDeLeituraRespeitamOOrcamento(int pedidos) throws Exception {
+        long comandaId = 9300L + pedidos;
+        ItemCardapio prato = novoItem("Prato orçado", CategoriaItem.PRATO);
+        ItemCardapio bebida = novoItem("Bebida orçada", CategoriaItem.BEBIDA);
+
+        Long ultimoPedido = null;
+        for (int i = 0; i < pedidos; i++) {
+            ultimoPedido = pedidoService.criar(PedidoDTO.builder()
+                    .comandaId(comandaId)
+                    .itens(List.of(
+                            PedidoItemDTO.builder().itemCardapioId(prato.getId()).quantidade(1).build(),
+                            PedidoItemDTO.builder().itemCardapioId(bebida.getId()).quantidade(2).build()))
+                    .build(), "garcom").getId();
+        }
+
+        for (String url : List.of(
+                "/api/pedido",
+                "/api/pedido?limite=100",
+                "/api/pedido/" + ultimoPedido,
+                "/api/pedido/comanda/" + comandaId,
+                "/api/pedido-item",
+                "/api/pedido-item?limite=100",
+                "/api/item-cardapio")) {
+            mockMvc.perform(get(url))
+                    .andExpect(status().isOk())
+                    .andExpect(dentroDoOrcamento());
+        }
+    }
+
+    @Test
+    void falhaQuandoOEndpointPassaDoLimite() {
+        assertThatThrownBy(() -> mockMvc.perform(get("/api/pedido")).andExpect(noMaximo(0)))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("comandos SQL de GET /api/pedido");
+    }
+
+    @Test
+    void respostaTrazQuantidadeETempoDeBanco() throws Exception {
+        mockMvc.perform(get("/api/pedido"))
+                .andExpect(header().exists(ContadorConsultasFilter.CABECALHO_QUANTIDADE))
+                .andExpect(header().exists(ContadorConsultasFilter.CABECALHO_TEMPO))
+                .andExpect(header().string(ContadorConsultasFilter.CABECALHO_ORCAMENTO, "3"));
+    }
+
+    private ItemCardapio novoItem(String nome, CategoriaItem categoria) {
+        return itemCardapioRepository.save(ItemCardapio.builder()
+                .nome(nome)
+                .categoria(categoria)
+                .preco(new BigDecimal("10.00"))
+                .disponivel(true)
+                .build());
+    }
+}
@@ -0,0 +1,106 @@
+package com.pedix.api.controller.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pedix.api.domain.ItemCardapio;
+import com.pedix.api.domain.enums.CategoriaItem;
+import com.pedix.api.dto.ItemCardapioDTO;
+import com.pedix.api.dto.PedidoDTO;
+import com.pedix.api.dto.PedidoItemDTO;
+import com.pedix.api.repository.ItemCardapioRepository;
+import com.pedix.api.service.ItemCardapioService;
+import com.pedix.api.service.PedidoService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser(roles = "ADMIN")
+class PaginacaoKeysetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private ItemCardapioRepository itemCardapioRepository;
+
+    @Autowired
+    private ItemCardapioService itemCardapioService;
+
+    @Test
+    void percorrePedidosDaComandaPorCursorSemRepetirNemPular() throws Exception {
+        ItemCardapio item = itemCardapioRepository.save(ItemCardapio.builder()
+                .nome("Paginado")
+                .categoria(CategoriaItem.PRATO)
+                .preco(new BigDecimal("20.00"))
+                .disponivel(true)
+                .build());
+
+        List<Long> criados = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            criados.add(pedidoService.criar(PedidoDTO.builder()
+                    .comandaId(4001L)
+                    .itens(List.of(PedidoItemDTO.builder().itemCardapioId(item.getId()).quantidade(1).build()))
+                    .build(), "garcom").getId());
+        }
+
+        List<Long> lidos = new ArrayList<>();
+        String url = "/api/pedido/comanda/4001?limite=2";
+        int paginas = 0;
+
+        while (url != null) {
+            MvcResult resultado = mockMvc.perform(get(url)).andExpect(status().isOk()).andReturn();
+            JsonNode corpo = objectMapper.readTree(resultado.getResponse().getContentAsString());
+            corpo.forEach(pedido -> lidos.add(pedido.get("id").asLong()));
+
+            String link = resultado.getResponse().getHeader(HttpHeaders.LINK);
+            url = link != null ? link.substring(link.indexOf("/api/"), link.indexOf('>')) : null;
+            paginas++;
+        }
+
+        assertThat(lidos).containsExactlyElementsOf(criados);
+        assertThat(paginas).isEqualTo(3);
+    }
+
+    @Test
+    void ultimoElementoDaPaginaCarregaLinkNext() throws Exception {
+        itemCardapioService.criar(ItemCardapioDTO.builder().nome("Agua").categoria(CategoriaItem.BEBIDA).preco(BigDecimal.ONE).disponivel(true).build());
+        itemCardapioService.criar(ItemCardapioDTO.builder().nome("Cafe").categoria(CategoriaItem.BEBIDA).preco(BigDecimal.ONE).disponivel(true).build());
+
+        MvcResult resultado = mockMvc.perform(get("/api/item-cardapio?categoria=BEBIDA&limite=1"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        JsonNode corpo = objectMapper.readTree(resultado.getResponse().getContentAsString());
+        assertThat(corpo).hasSize(1);
+        assertThat(corpo.get(0).at("/links").toString()).contains("\"rel\":\"next\"");
+        assertThat(resultado.getResponse().getHeader(HttpHeaders.LINK)).contains("rel=\"next\"");
+    }
+
+    @Test
+    void limiteInvalidoRetornaBadRequest() throws Exception {
+        mockMvc.perform(get("/api/pedido?limite=0")).andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,240 @@
+package com.pedix.api.repository;
+
+import com.pedix.api.domain.ItemCardapio;
+import com.pedix.api.domain.Pedido;
+import com.pedix.api.domain.PedidoItem;
+import com.pedix.api.domain.enums.CategoriaItem;
+import com.pedix.api.domain.enums.StatusPedido;
+import com.pedix.api.dto.ItemCardapioDTO;
+import com.pedix.api.dto.Pagina;
+import com.pedix.api.service.ItemCardapioService;
+import com.pedix.api.support.RegistroConsultas;
+import com.pedix.api.support.RegistroConsultasConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Executa cada consulta filtrada dos repositórios, captura o SQL gerado pelo
+ * Hibernate e valida com EXPLAIN que nenhuma tabela é lida por varredura completa.
+ * <p>
+ * Os testes rodam sem Flyway (schema do Hibernate), e as migrações inteiras não rodam no H2.
+ * Por isso o EXPLAIN roda num schema à parte, com as tabelas copiadas e só os CREATE INDEX das
+ * migrações. Só fica de fora o índice funcional em UPPER(nome), que o H2 não cria.
+ * <p>
+ * As listagens sem filtro varrem a tabela por definição. A busca por nome também fica de fora:
+ * com LIKE '%x%' nenhum índice B-tree ajudaria, e ela é atendida pelo índice em memória do
+ * cardápio, sem SQL.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(RegistroConsultasConfig.class)
+class PlanoConsultasRepositorioTest {
+
+    private static final Pattern CRIACAO_INDICE = Pattern.compile(
+            "CREATE\\s+(?:UNIQUE\\s+)?INDEX\\s+\\w+\\s+ON\\s+\\w+\\s*\\([^;]*\\)\\s*;",
+            Pattern.CASE_INSENSITIVE);
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private PedidoItemRepository pedidoItemRepository;
+
+    @Autowired
+    private ItemCardapioRepository itemCardapioRepository;
+
+    @Autowired
+    private ItemCardapioService itemCardapioService;
+
+    @Autowired
+    private RegistroConsultas registroConsultas;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long pedidoId;
+    private Long itemId;
+
+    @BeforeEach
+    void prepararDados() throws IOException {
+        ItemCardapio item = itemCardapioRepository.save(ItemCardapio.builder()
+                .nome("Plano")
+                .categoria(CategoriaItem.PRATO)
+                .preco(BigDecimal.TEN)
+                .disponivel(true)
+                .build());
+
+        Pedido pedido = new Pedido();
+        pedido.setComandaId(5001L);
+        pedido.setGarcomResponsavel("garcom");
+        pedido.setStatus(StatusPedido.EM_PREPARO);
+        PedidoItem linha = PedidoItem.builder().itemCardapio(item).quantidade(1).build();
+        linha.definirPrecoPadrao();
+        pedido.adicionarItem(linha);
+
+        pedidoId = pedidoRepository.save(pedido).getId();
+        itemId = item.getId();
+
+        montarSchemaMigrado();
+    }
+
+    @TestFactory
+    Stream<DynamicTest> consultasFiltradasUsamIndice() {
+        Map<String, Runnable> consultas = new LinkedHashMap<>();
+        consultas.put("findByComandaId", () -> pedidoRepository.findByComandaId(5001L));
+        consultas.put("findByStatus", () -> pedidoRepository.findByStatus(StatusPedido.PRONTO));
+        consultas.put("findByGarcomResponsavel", () -> pedidoRepository.findByGarcomResponsavel("garcom"));
+        consultas.put("findByComandaIdOrderByIdAsc", () -> pedidoRepository.findByComandaIdOrderByIdAsc(5001L));
+        consultas.put("findByGarcomResponsavelOrderByIdAsc", () -> pedidoRepository.findByGarcomResponsavelOrderByIdAsc("garcom"));
+        consultas.put("findComItensById", () -> pedidoRepository.findComItensById(pedidoId));
+        consultas.put("findByIdInOrderByIdAsc", () -> pedidoRepository.findByIdInOrderByIdAsc(List.of(pedidoId)));
+        consultas.put("buscarIdsApos", () -> pedidoRepository.buscarIdsApos(pedidoId, Pagina.consulta(10)));
+        consultas.put("buscarIdsPorComandaApos", () -> pedidoRepository.buscarIdsPorComandaApos(5001L, 0L, Pagina.consulta(10)));
+        consultas.put("buscarPorStatusEObservacao", () -> pedidoRepository.buscarPorStatusEObservacao(StatusPedido.PRONTO, "mesa"));
+        consultas.put("listarResumosApos", () -> pedidoItemRepository.listarResumosApos(0L, Pagina.consulta(10)));
+        consultas.put("buscarResumoPorId", () -> pedidoItemRepository.buscarResumoPorId(itemId));
+        consultas.put("findByDisponivelTrueAndCategoria", () -> itemCardapioRepository.findByDisponivelTrueAndCategoria(CategoriaItem.BEBIDA));
+
+        return consultas.entrySet().stream().map(consulta -> DynamicTest.dynamicTest(consulta.getKey(), () -> {
+            registroConsultas.limpar();
+            transactionTemplate.executeWithoutResult(status -> consulta.getValue().run());
+            List<RegistroConsultas.Execucao> selects = registroConsultas.filtrar(RegistroConsultas.Execucao::consulta);
+
+            assertThat(selects).isNotEmpty();
+            for (RegistroConsultas.Execucao select : selects) {
+                String plano = explicarNoSchemaMigrado(select);
+                assertThat(plano)
+                        .as("Plano de %s:%n%s", consulta.getKey(), plano)
+                        .doesNotContainIgnoringCase("tableScan");
+            }
+        }));
+    }
+
+    @Test
+    void buscaPorNomeNaoConsultaOBanco() {
+        ItemCardapio item = itemCardapioService.criar(ItemCardapioDTO.builder()
+                .nome("Plano de busca")
+                .categoria(CategoriaItem.PRATO)
+                .preco(BigDecimal.TEN)
+                .build());
+        itemCardapioService.buscarDisponiveisPorNome("busca");
+        registroConsultas.limpar();
+
+        assertThat(itemCardapioService.buscarDisponiveisPorNome("de bus")).extracting(ItemCardapio::getId).contains(item.getId());
+        assertThat(registroConsultas.total()).isZero();
+    }
+
+    // Cópia das tabelas (dados e chave primária) sem os índices do Hibernate, só com os das migrações.
+    private void montarSchemaMigrado() throws IOException {
+        List<String> criacoes = indicesDasMigracoes();
+        List<String> tabelas = jdbcTemplate.queryForList("""
+                SELECT TABLE_NAME FROM INFORMATION_SCHEMA.TABLES
+                WHERE TABLE_SCHEMA = 'PUBLIC' AND TABLE_TYPE = 'BASE TABLE'
+                """, String.class);
+
+        jdbcTemplate.execute("DROP SCHEMA IF EXISTS MIGRADO CASCADE");
+        jdbcTemplate.execute("CREATE SCHEMA MIGRADO");
+        for (String tabela : tabelas) {
+            jdbcTemplate.execute("CREATE TABLE MIGRADO." + tabela + " AS SELECT * FROM PUBLIC." + tabela);
+            List<String> chave = jdbcTemplate.queryForList("""
+                    SELECT k.COLUMN_NAME FROM INFORMATION_SCHEMA.KEY_COLUMN_USAGE k
+                    JOIN INFORMATION_SCHEMA.TABLE_CONSTRAINTS c
+                      ON c.CONSTRAINT_SCHEMA = k.CONSTRAINT_SCHEMA AND c.CONSTRAINT_NAME = k.CONSTRAINT_NAME
+                    WHERE c.TABLE_SCHEMA = 'PUBLIC' AND c.TABLE_NAME = ? AND c.CONSTRAINT_TYPE = 'PRIMARY KEY'
+                    ORDER BY k.ORDINAL_POSITION
+                    """, String.class, tabela);
+            for (String coluna : chave) {
+                jdbcTemplate.execute("ALTER TABLE MIGRADO." + tabela + " ALTER COLUMN " + coluna + " SET NOT NULL");
+            }
+            if (!chave.isEmpty()) {
+                jdbcTemplate.execute("ALTER TABLE MIGRADO." + tabela + " ADD PRIMARY KEY (" + String.join(", ", chave) + ")");
+            }
+        }
+        noSchemaMigrado(conexao -> {
+            for (String criacao : criacoes) {
+                conexao.createStatement().execute(criacao);
+            }
+            return null;
+        });
+    }
+
+    private String explicarNoSchemaMigrado(RegistroConsultas.Execucao select) {
+        return noSchemaMigrado(conexao -> {
+            try (PreparedStatement explain = conexao.prepareStatement("EXPLAIN " + select.sql())) {
+                for (int i = 0; i < select.parametros().size(); i++) {
+                    explain.setObject(i + 1, select.parametros().get(i));
+                }
+                try (ResultSet plano = explain.executeQuery()) {
+                    plano.next();
+                    return plano.getString(1);
+                }
+            }
+        });
+    }
+
+    private <T> T noSchemaMigrado(ConnectionCallback<T> acao) {
+        return jdbcTemplate.execute((ConnectionCallback<T>) conexao -> {
+            conexao.createStatement().execute("SET SCHEMA MIGRADO");
+            try {
+                return acao.doInConnection(conexao);
+            } finally {
+                conexao.createStatement().execute("SET SCHEMA PUBLIC");
+            }
+        });
+    }
+
+    // CREATE INDEX de todas as migrações, em ordem de versão; o H2 não cria índice sobre expressão.
+    private static List<String> indicesDasMigracoes() throws IOException {
+        Resource[] migracoes = new PathMatchingResourcePatternResolver().getResources("classpath:db/migration/V*.sql");
+        Arrays.sort(migracoes, Comparator.comparingInt(PlanoConsultasRepositorioTest::versao));
+
+        List<String> criacoes = new ArrayList<>();
+        for (Resource migracao : migracoes) {
+            Matcher matcher = CRIACAO_INDICE.matcher(migracao.getContentAsString(StandardCharsets.UTF_8));
+            while (matcher.find()) {
+                String criacao = matcher.group();
+                if (!criacao.substring(criacao.indexOf('(') + 1).contains("(")) {
+                    criacoes.add(criacao.substring(0, criacao.length() - 1));
+                }
+            }
+        }
+        assertThat(criacoes).isNotEmpty();
+        return criacoes;
+    }
+
+    private static int versao(Resource migracao) {
+        String nome = migracao.getFilename();
+        return Integer.parseInt(nome.substring(1, nome.indexOf("__")));
+    }
+}
@@ -0,0 +1,67 @@
+package com.pedix.api.service;
+
+import com.pedix.api.domain.ItemCardapio;
+import com.pedix.api.domain.Pedido;
+import com.pedix.api.domain.PedidoItem;
+import com.pedix.api.support.DadosPedidos;
+import com.pedix.api.support.MedidorAlocacao;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Orçamento de bytes alocados por chamada nos mapeamentos de resposta, com pedidos montados em memória.
+ * Se uma mudança passar do orçamento, revise a alocação antes de subir o número aqui.
+ */
+class AlocacaoMapeamentoTest {
+
+    private static final long ORCAMENTO_ITEM_TO_RESPONSE = 96;
+    // Mesmo orçamento por pedido do caso de 3 itens abaixo; com a suíte inteira o JIT chega a outro perfil.
+    private static final long ORCAMENTO_LISTA_50_PEDIDOS = 50 * 768;
+
+    private final PedidoService pedidoService = new PedidoService(null, null, null, null);
+    private final PedidoItemService pedidoItemService = new PedidoItemService(null, null, null, null, null);
+    private final List<ItemCardapio> cardapio = DadosPedidos.cardapio(20);
+
+    @ParameterizedTest
+    @CsvSource({"1, 640", "3, 768", "10, 1280"})
+    void pedidoToResponse(int itens, long orcamento) {
+        Pedido pedido = DadosPedidos.pedido(1, itens, cardapio);
+
+        MedidorAlocacao.assertNoMaximo("PedidoService.toResponse com " + itens + " itens", orcamento,
+                () -> pedidoService.toResponse(pedido));
+    }
+
+    @Test
+    void pedidoItemToResponse() {
+        PedidoItem item = DadosPedidos.pedido(1, 1, cardapio).getItens().get(0);
+
+        MedidorAlocacao.assertNoMaximo("PedidoItemService.toResponse", ORCAMENTO_ITEM_TO_RESPONSE,
+                () -> pedidoItemService.toResponse(item));
+    }
+
+    @Test
+    void paginaDePedidosToResponse() {
+        List<Pedido> pedidos = DadosPedidos.pedidos(50, 3);
+
+        MedidorAlocacao.assertNoMaximo("PedidoService.toResponse em 50 pedidos", ORCAMENTO_LISTA_50_PEDIDOS,
+                () -> pedidos.forEach(pedidoService::toResponse));
+    }
+
+    @Test
+    void falhaComOsPrincipaisPontosDeAlocacao() {
+        Pedido pedido = DadosPedidos.pedido(1, 3, cardapio);
+
+        assertThatThrownBy(() -> MedidorAlocacao.assertNoMaximo("PedidoService.toResponse", 0,
+                () -> pedidoService.toResponse(pedido)))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("PedidoService.toResponse alocou")
+                .hasMessageContaining("Principais pontos de alocação")
+                // O ponto pode cair no próprio toResponse ou no lambda que ele usa para os itens.
+                .hasMessageFindingMatch("com\\.pedix\\.api\\.service\\.PedidoService\\.(toResponse|lambda\\$toResponse\\$\\d+):\\d+");
+    }
+}
@@ -0,0 +1,80 @@
+package com.pedix.api.service;
+
+import com.pedix.api.domain.CardapioVersao;
+import com.pedix.api.domain.ItemCardapio;
+import com.pedix.api.domain.enums.CategoriaItem;
+import com.pedix.api.dto.ItemCardapioDTO;
+import com.pedix.api.repository.CardapioVersaoRepository;
+import com.pedix.api.repository.ItemCardapioRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CardapioCacheTest {
+
+    @Autowired
+    private ItemCardapioService itemCardapioService;
+
+    @Autowired
+    private CardapioCache cardapioCache;
+
+    @Autowired
+    private ItemCardapioRepository itemCardapioRepository;
+
+    @Autowired
+    private CardapioVersaoRepository cardapioVersaoRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void escritaLocalTrocaSnapshotAposCommit() {
+        long versaoAnterior = cardapioCache.atual().versao();
+
+        ItemCardapio criado = itemCardapioService.criar(ItemCardapioDTO.builder()
+                .nome("Cuscuz")
+                .categoria(CategoriaItem.PRATO)
+                .preco(new BigDecimal("18.00"))
+                .build());
+
+        CardapioSnapshot snapshot = cardapioCache.atual();
+        assertThat(snapshot.versao()).isGreaterThan(versaoAnterior);
+        assertThat(snapshot.porId()).containsKey(criado.getId());
+        assertThat(itemCardapioService.listarPorCategoria(CategoriaItem.PRATO))
+                .extracting(ItemCardapio::getId)
+                .contains(criado.getId());
+    }
+
+    @Test
+    void mudancaDeVersaoDeOutroNoRecarregaSnapshot() {
+        CardapioSnapshot antes = cardapioCache.atual();
+
+        ItemCardapio externo = transactionTemplate.execute(status -> {
+            ItemCardapio item = itemCardapioRepository.save(ItemCardapio.builder()
+                    .nome("Tapioca")
+                    .categoria(CategoriaItem.PRATO)
+                    .preco(new BigDecimal("14.00"))
+                    .disponivel(true)
+                    .build());
+            if (cardapioVersaoRepository.incrementar(CardapioVersao.ID_UNICO) == 0) {
+                cardapioVersaoRepository.save(new CardapioVersao(CardapioVersao.ID_UNICO, antes.versao() + 1));
+            }
+            return item;
+        });
+
+        assertThat(cardapioCache.atual().porId()).doesNotContainKey(externo.getId());
+
+        cardapioCache.verificarVersao();
+
+        assertThat(cardapioCache.atual().porId()).containsKey(externo.getId());
+        assertThat(cardapioCache.estatisticas().getRecargas()).isGreaterThan(1);
+    }
+}
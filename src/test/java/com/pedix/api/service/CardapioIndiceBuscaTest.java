@@ -0,0 +1,81 @@
+package com.pedix.api.service;
+
+import com.pedix.api.domain.ItemCardapio;
+import com.pedix.api.domain.enums.CategoriaItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CardapioIndiceBuscaTest {
+
+    private CardapioIndiceBusca indice;
+    private CardapioSnapshot snapshot;
+
+    @BeforeEach
+    void indexarCardapio() {
+        indice = new CardapioIndiceBusca();
+        snapshot = CardapioSnapshot.de(1, List.of(
+                item(1L, "Hambúrguer Artesanal", "Pão brioche, carne artesanal e queijo.", true),
+                item(2L, "Açaí na Tigela", "Açaí batido com banana e granola.", true),
+                item(3L, "Suco de Laranja", "Suco natural sem conservantes.", true),
+                item(4L, "Pizza Calabresa", "Molho de tomate, mussarela e calabresa.", true),
+                item(5L, "Sanduíche Natural", "Frango desfiado e cenoura.", false)
+        ));
+        indice.aoAtualizarCardapio(new CardapioAtualizadoEvent(null, snapshot));
+    }
+
+    @Test
+    void ignoraAcentosNosDoisSentidos() {
+        assertThat(indice.buscar("hamburguer")).containsExactly(1L);
+        assertThat(indice.buscar("acai")).containsExactly(2L);
+        assertThat(indice.buscar("AÇAÍ")).containsExactly(2L);
+    }
+
+    @Test
+    void encontraPorPrefixoTrechoEErroDeDigitacao() {
+        assertThat(indice.buscar("calab")).containsExactly(4L);
+        assertThat(indice.buscar("burgu")).containsExactly(1L);
+        assertThat(indice.buscar("hamburger")).containsExactly(1L);
+        assertThat(indice.buscar("laranaj")).containsExactly(3L);
+    }
+
+    @Test
+    void priorizaNomeSobreDescricaoEExigeTodosOsTermos() {
+        assertThat(indice.buscar("natural")).containsExactly(3L);
+        assertThat(indice.buscar("suco natural")).containsExactly(3L);
+        assertThat(indice.buscar("suco pizza")).isEmpty();
+        assertThat(indice.buscar("artesanal")).containsExactly(1L);
+    }
+
+    @Test
+    void atualizaIncrementalmenteQuandoCardapioMuda() {
+        CardapioSnapshot novo = CardapioSnapshot.de(2, List.of(
+                item(1L, "Hambúrguer Artesanal", "Pão brioche, carne artesanal e queijo.", true),
+                item(2L, "Açaí na Tigela", "Açaí batido com banana e granola.", false),
+                item(3L, "Suco de Abacaxi", "Suco natural sem conservantes.", true),
+                item(5L, "Sanduíche Natural", "Frango desfiado e cenoura.", true)
+        ));
+        indice.aoAtualizarCardapio(new CardapioAtualizadoEvent(snapshot, novo));
+
+        assertThat(indice.buscar("acai")).isEmpty();
+        assertThat(indice.buscar("laranja")).isEmpty();
+        assertThat(indice.buscar("abacaxi")).containsExactly(3L);
+        assertThat(indice.buscar("calabresa")).isEmpty();
+        assertThat(indice.buscar("natural")).containsExactly(5L, 3L);
+    }
+
+    private ItemCardapio item(Long id, String nome, String descricao, boolean disponivel) {
+        return ItemCardapio.builder()
+                .id(id)
+                .nome(nome)
+                .descricao(descricao)
+                .categoria(CategoriaItem.PRATO)
+                .preco(BigDecimal.TEN)
+                .disponivel(disponivel)
+                .build();
+    }
+}
@@ -0,0 +1,47 @@
+package com.pedix.api.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContadoresVendaTest {
+
+    @Test
+    void cresceSemPerderSomas() {
+        ContadoresVenda contadores = new ContadoresVenda(8);
+        for (int hora = 0; hora < 50; hora++) {
+            for (int valor = 0; valor < 40; valor++) {
+                contadores.somar(ContadoresVenda.chave(490_000 + hora, valor), 100, 1, 0);
+                contadores.somar(ContadoresVenda.chave(490_000 + hora, valor), 50, 2, 1);
+            }
+        }
+
+        Map<Long, long[]> visitados = new HashMap<>();
+        contadores.paraCada((chave, receita, quantidade, pedidos) ->
+                visitados.put(chave, new long[]{receita, quantidade, pedidos}));
+
+        assertThat(contadores.tamanho()).isEqualTo(2_000);
+        assertThat(visitados).hasSize(2_000);
+        assertThat(visitados.get(ContadoresVenda.chave(490_049, 39))).containsExactly(150, 3, 1);
+        assertThat(ContadoresVenda.hora(ContadoresVenda.chave(490_049, 39))).isEqualTo(490_049);
+        assertThat(ContadoresVenda.valor(ContadoresVenda.chave(490_049, 39))).isEqualTo(39);
+    }
+
+    @Test
+    void somasQueSeAnulamNaoSaoVisitadas() {
+        ContadoresVenda contadores = new ContadoresVenda(16);
+        contadores.somar(ContadoresVenda.chave(1, 7), 1_850, 1, 1);
+        contadores.somar(ContadoresVenda.chave(1, 7), -1_850, -1, -1);
+        contadores.somar(ContadoresVenda.chave(1, 8), 600, 1, 0);
+
+        ContadoresVenda destino = new ContadoresVenda(16);
+        destino.somarTudo(contadores);
+
+        Map<Long, Long> receitas = new HashMap<>();
+        destino.paraCada((chave, receita, quantidade, pedidos) -> receitas.put(chave, receita));
+        assertThat(receitas).containsOnly(Map.entry(ContadoresVenda.chave(1, 8), 600L));
+    }
+}
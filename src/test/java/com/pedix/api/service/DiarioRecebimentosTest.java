@@ -0,0 +1,79 @@
+package com.pedix.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pedix.api.domain.enums.SituacaoRecebimento;
+import com.pedix.api.dto.PedidoDTO;
+import com.pedix.api.dto.PedidoItemDTO;
+import com.pedix.api.dto.PedidoRecebidoDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DiarioRecebimentosTest {
+
+    private final ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    void reaberturaDevolvePendentesNaOrdemDeChegada() throws Exception {
+        Path arquivo = diretorio.resolve("diario.jsonl");
+
+        try (DiarioRecebimentos diario = new DiarioRecebimentos(arquivo, mapper, Long.MAX_VALUE)) {
+            diario.registrarRecebido(recebido("a", 1L));
+            diario.registrarRecebido(recebido("b", 2L));
+            diario.registrarRecebido(recebido("c", 3L));
+            diario.registrarConclusao("a", SituacaoRecebimento.GRAVADO, 10L, null);
+        }
+
+        // Linha cortada no meio por uma queda durante a escrita.
+        Files.writeString(arquivo, "{\"situacao\":\"PENDENTE\",\"rastreio\":\"d\"", StandardCharsets.UTF_8,
+                StandardOpenOption.APPEND);
+
+        try (DiarioRecebimentos reaberto = new DiarioRecebimentos(arquivo, mapper, Long.MAX_VALUE)) {
+            List<PedidoRecebidoDTO> pendentes = reaberto.pendentes();
+
+            assertThat(pendentes).extracting(PedidoRecebidoDTO::getRastreio).containsExactly("b", "c");
+            assertThat(pendentes.get(0).getPedido().getComandaId()).isEqualTo(2L);
+            assertThat(pendentes.get(0).getPedido().getItens()).hasSize(1);
+        }
+
+        assertThat(Files.readAllLines(arquivo)).hasSize(2);
+    }
+
+    @Test
+    void truncaQuandoNaoHaPendentesEArquivoPassaDoLimite() throws Exception {
+        Path arquivo = diretorio.resolve("diario.jsonl");
+
+        try (DiarioRecebimentos diario = new DiarioRecebimentos(arquivo, mapper, 1)) {
+            diario.registrarRecebido(recebido("a", 1L));
+            diario.registrarRecebido(recebido("b", 1L));
+            diario.registrarConclusao("a", SituacaoRecebimento.GRAVADO, 10L, null);
+            assertThat(Files.size(arquivo)).isPositive();
+
+            diario.registrarConclusao("b", SituacaoRecebimento.REJEITADO, null, "Item indisponível");
+            assertThat(Files.size(arquivo)).isZero();
+        }
+    }
+
+    private PedidoRecebidoDTO recebido(String rastreio, Long comandaId) {
+        return PedidoRecebidoDTO.builder()
+                .rastreio(rastreio)
+                .loginGarcom("garcom")
+                .recebidoEm(LocalDateTime.now())
+                .pedido(PedidoDTO.builder()
+                        .comandaId(comandaId)
+                        .itens(List.of(PedidoItemDTO.builder().itemCardapioId(1L).quantidade(2).build()))
+                        .build())
+                .build();
+    }
+}
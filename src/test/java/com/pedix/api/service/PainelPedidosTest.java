@@ -0,0 +1,156 @@
+package com.pedix.api.service;
+
+import com.pedix.api.domain.ItemCardapio;
+import com.pedix.api.domain.Pedido;
+import com.pedix.api.domain.enums.CategoriaItem;
+import com.pedix.api.domain.enums.EstacaoPreparo;
+import com.pedix.api.domain.enums.StatusPedido;
+import com.pedix.api.domain.enums.TipoEventoPedido;
+import com.pedix.api.dto.PainelPedidoDTO;
+import com.pedix.api.dto.PedidoEvento;
+import com.pedix.api.dto.PedidoItemResponseDTO;
+import com.pedix.api.support.RegistroConsultas;
+import com.pedix.api.support.RegistroConsultasConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Optional;
+
+import static com.pedix.api.support.CenarioPedidos.criarItem;
+import static com.pedix.api.support.CenarioPedidos.linha;
+import static com.pedix.api.support.CenarioPedidos.linhaNoPedido;
+import static com.pedix.api.support.CenarioPedidos.pedido;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(RegistroConsultasConfig.class)
+class PainelPedidosTest {
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private PedidoItemService pedidoItemService;
+
+    @Autowired
+    private ItemCardapioService itemCardapioService;
+
+    @Autowired
+    private PainelPedidos painel;
+
+    @Autowired
+    private RegistroConsultas registroConsultas;
+
+    private ItemCardapio prato;
+    private ItemCardapio sobremesa;
+    private ItemCardapio bebida;
+
+    @BeforeEach
+    void prepararCardapio() {
+        prato = criarItem(itemCardapioService, CategoriaItem.PRATO, "12.00");
+        sobremesa = criarItem(itemCardapioService, CategoriaItem.SOBREMESA, "12.00");
+        bebida = criarItem(itemCardapioService, CategoriaItem.BEBIDA, "12.00");
+    }
+
+    @Test
+    void separaLinhasPorEstacaoSemConsultarBanco() {
+        Pedido pedido = pedidoService.criar(pedido(4001L, linha(prato, 2), linha(sobremesa, 1), linha(bebida, 3)), "garcom");
+
+        registroConsultas.limpar();
+        PainelPedidoDTO cozinha = cartao(EstacaoPreparo.COZINHA, pedido.getId()).orElseThrow();
+        PainelPedidoDTO bar = cartao(EstacaoPreparo.BAR, pedido.getId()).orElseThrow();
+        assertThat(registroConsultas.total()).isZero();
+
+        assertThat(cozinha.getItens())
+                .extracting(PainelPedidoDTO.ItemPainel::getItemCardapioId, PainelPedidoDTO.ItemPainel::getQuantidade)
+                .containsExactly(
+                        tuple(prato.getId(), 2),
+                        tuple(sobremesa.getId(), 1));
+        assertThat(bar.getItens())
+                .extracting(PainelPedidoDTO.ItemPainel::getQuantidade)
+                .containsExactly(3);
+    }
+
+    @Test
+    void acompanhaItensEStatusDoPedido() {
+        Pedido pedido = pedidoService.criar(pedido(4002L, linha(prato, 1)), "garcom");
+
+        assertThat(cartao(EstacaoPreparo.BAR, pedido.getId())).isEmpty();
+
+        Long linhaBebida = pedidoItemService.criar(linhaNoPedido(pedido.getId(), bebida, 2)).getId();
+        assertThat(cartao(EstacaoPreparo.BAR, pedido.getId())).isPresent();
+
+        pedidoService.atualizarStatus(pedido.getId(), StatusPedido.PRONTO);
+        assertThat(cartao(EstacaoPreparo.COZINHA, pedido.getId()).orElseThrow().getStatus())
+                .isEqualTo(StatusPedido.PRONTO);
+        assertThat(painel.listar(EstacaoPreparo.COZINHA, List.of(StatusPedido.EM_PREPARO)))
+                .extracting(PainelPedidoDTO::getPedidoId)
+                .doesNotContain(pedido.getId());
+
+        pedidoItemService.deletar(linhaBebida);
+        assertThat(cartao(EstacaoPreparo.BAR, pedido.getId())).isEmpty();
+
+        pedidoService.atualizarStatus(pedido.getId(), StatusPedido.ENTREGUE);
+        assertThat(cartao(EstacaoPreparo.COZINHA, pedido.getId())).isEmpty();
+    }
+
+    @Test
+    void eventoDeItemAtrasadoNaoRecriaCartaoDePedidoQueSaiu() {
+        Pedido pedido = pedidoService.criar(pedido(4003L, linha(prato, 1)), "garcom");
+        pedidoService.atualizarStatus(pedido.getId(), StatusPedido.CANCELADO);
+
+        // Adição que ainda viu o pedido ativo, com o listener rodando depois do cancelamento.
+        painel.aplicar(PedidoEvento.builder()
+                .tipo(TipoEventoPedido.ITEM_ADICIONADO)
+                .pedidoId(pedido.getId())
+                .comandaId(4003L)
+                .status(StatusPedido.EM_PREPARO)
+                .item(PedidoItemResponseDTO.builder()
+                        .pedidoId(pedido.getId())
+                        .itemCardapioId(bebida.getId())
+                        .nomeItem(bebida.getNome())
+                        .quantidade(1)
+                        .build())
+                .build());
+
+        assertThat(cartao(EstacaoPreparo.BAR, pedido.getId())).isEmpty();
+        assertThat(cartao(EstacaoPreparo.COZINHA, pedido.getId())).isEmpty();
+    }
+
+    @Test
+    void itemForaDoCardapioNaoQuebraOPainelNemConsultaBanco() {
+        Pedido pedido = pedidoService.criar(pedido(4004L, linha(prato, 1)), "garcom");
+
+        registroConsultas.limpar();
+        painel.aplicar(PedidoEvento.builder()
+                .tipo(TipoEventoPedido.ITEM_ADICIONADO)
+                .pedidoId(pedido.getId())
+                .comandaId(4004L)
+                .status(StatusPedido.EM_PREPARO)
+                .item(PedidoItemResponseDTO.builder()
+                        .pedidoId(pedido.getId())
+                        .itemCardapioId(-1L)
+                        .nomeItem("Item excluído")
+                        .quantidade(1)
+                        .build())
+                .build());
+
+        assertThat(registroConsultas.total()).isZero();
+        assertThat(cartao(EstacaoPreparo.COZINHA, pedido.getId()).orElseThrow().getItens())
+                .extracting(PainelPedidoDTO.ItemPainel::getItemCardapioId)
+                .containsExactly(prato.getId(), -1L);
+    }
+
+    private Optional<PainelPedidoDTO> cartao(EstacaoPreparo estacao, Long pedidoId) {
+        return painel.listar(estacao, null).stream()
+                .filter(cartao -> cartao.getPedidoId().equals(pedidoId))
+                .findFirst();
+    }
+}
@@ -0,0 +1,156 @@
+package com.pedix.api.service;
+
+import com.pedix.api.domain.ItemCardapio;
+import com.pedix.api.domain.Pedido;
+import com.pedix.api.domain.enums.CategoriaItem;
+import com.pedix.api.domain.enums.StatusPedido;
+import com.pedix.api.domain.enums.TipoEventoPedido;
+import com.pedix.api.dto.PedidoEvento;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+
+import static com.pedix.api.support.CenarioPedidos.criarItem;
+import static com.pedix.api.support.CenarioPedidos.linha;
+import static com.pedix.api.support.CenarioPedidos.pedido;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser(roles = "ADMIN")
+class PedidoEventoHubTest {
+
+    private static final int EVENTOS_POR_LOTE = 300;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private PedidoEventoHub eventoHub;
+
+    @Autowired
+    private ItemCardapioService itemCardapioService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private ItemCardapio item;
+
+    @BeforeEach
+    void prepararCardapio() {
+        item = criarItem(itemCardapioService, CategoriaItem.PRATO, "32.00");
+    }
+
+    @Test
+    void publicaEventosAposCommitNaOrdemDasEscritas() {
+        long ultimo = ultimoId();
+
+        Pedido pedido = pedidoService.criar(pedido(3001L, linha(item, 1)), "garcom");
+        pedidoService.atualizarStatus(pedido.getId(), StatusPedido.PRONTO);
+
+        List<PedidoEventoHub.EventoSequenciado> eventos = eventoHub.eventosApos(ultimo, PedidoEventoHub.Filtro.TODOS);
+
+        assertThat(eventos).extracting(evento -> evento.evento().getTipo())
+                .containsExactly(TipoEventoPedido.PEDIDO_CRIADO, TipoEventoPedido.STATUS_ALTERADO);
+        assertThat(eventos.get(0).evento().getPedido().getItens()).hasSize(1);
+        assertThat(eventos.get(1).evento().getStatusAnterior()).isEqualTo(StatusPedido.EM_PREPARO);
+        assertThat(eventos.get(1).id()).isGreaterThan(eventos.get(0).id());
+    }
+
+    @Test
+    void filtraPorComandaEStatus() {
+        long ultimo = ultimoId();
+
+        Pedido primeiro = pedidoService.criar(pedido(3002L, linha(item, 1)), "garcom");
+        pedidoService.criar(pedido(3003L, linha(item, 1)), "garcom");
+        pedidoService.atualizarStatus(primeiro.getId(), StatusPedido.PRONTO);
+        pedidoService.atualizarStatus(primeiro.getId(), StatusPedido.ENTREGUE);
+
+        assertThat(eventoHub.eventosApos(ultimo, new PedidoEventoHub.Filtro(Set.of(), 3002L)))
+                .extracting(evento -> evento.evento().getPedidoId())
+                .containsOnly(primeiro.getId())
+                .hasSize(3);
+
+        assertThat(eventoHub.eventosApos(ultimo, new PedidoEventoHub.Filtro(Set.of(StatusPedido.ENTREGUE), null)))
+                .extracting(evento -> evento.evento().getTipo())
+                .containsExactly(TipoEventoPedido.STATUS_ALTERADO);
+    }
+
+    @Test
+    void transacaoDesfeitaNaoPublica() {
+        long ultimo = ultimoId();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            pedidoService.criar(pedido(3004L, linha(item, 1)), "garcom");
+            status.setRollbackOnly();
+        });
+
+        assertThat(eventoHub.eventosApos(ultimo, PedidoEventoHub.Filtro.TODOS)).isEmpty();
+    }
+
+    @Test
+    void assinanteQueRetomaRecebeEventosEmOrdemSemRepeticao() throws Exception {
+        long ultimo = ultimoId();
+        // Um assinante já conectado deixa a fila de entrega com trabalho acumulado.
+        mockMvc.perform(get("/api/pedido/eventos")).andExpect(request().asyncStarted());
+
+        publicarEventos(EVENTOS_POR_LOTE);
+        MvcResult retomada = mockMvc.perform(get("/api/pedido/eventos")
+                        .param("comandaId", "3005")
+                        .header("Last-Event-ID", ultimo))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        // Entram no histórico antes de o reenvio rodar e também ficam na fila para a entrega ao vivo.
+        publicarEventos(EVENTOS_POR_LOTE);
+
+        int esperados = 2 * EVENTOS_POR_LOTE;
+        for (int tentativa = 0; tentativa < 200 && idsRecebidos(retomada).size() < esperados; tentativa++) {
+            Thread.sleep(25);
+        }
+        // Margem para uma repetição que ainda estivesse na fila aparecer.
+        Thread.sleep(100);
+
+        List<Long> ids = idsRecebidos(retomada);
+        assertThat(ids).hasSize(esperados).isSorted().doesNotHaveDuplicates();
+        assertThat(ids.get(0)).isEqualTo(ultimo + 1);
+    }
+
+    private static List<Long> idsRecebidos(MvcResult resultado) throws Exception {
+        return resultado.getResponse().getContentAsString().lines()
+                .filter(linha -> linha.startsWith("id:"))
+                .map(linha -> Long.parseLong(linha.substring(3).trim()))
+                .toList();
+    }
+
+    private void publicarEventos(int quantidade) {
+        for (int i = 0; i < quantidade; i++) {
+            eventoHub.publicar(PedidoEvento.builder()
+                    .tipo(TipoEventoPedido.STATUS_ALTERADO)
+                    .pedidoId((long) i)
+                    .comandaId(3005L)
+                    .status(StatusPedido.PRONTO)
+                    .build());
+        }
+    }
+
+    private long ultimoId() {
+        List<PedidoEventoHub.EventoSequenciado> eventos = eventoHub.eventosApos(0, PedidoEventoHub.Filtro.TODOS);
+        return eventos.isEmpty() ? 0 : eventos.get(eventos.size() - 1).id();
+    }
+}
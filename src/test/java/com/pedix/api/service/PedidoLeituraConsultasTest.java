@@ -0,0 +1,94 @@
+package com.pedix.api.service;
+
+import com.pedix.api.domain.ItemCardapio;
+import com.pedix.api.domain.Pedido;
+import com.pedix.api.domain.enums.CategoriaItem;
+import com.pedix.api.dto.Pagina;
+import com.pedix.api.dto.PedidoDTO;
+import com.pedix.api.dto.PedidoItemDTO;
+import com.pedix.api.dto.PedidoResponseDTO;
+import com.pedix.api.repository.ItemCardapioRepository;
+import com.pedix.api.support.RegistroConsultas;
+import com.pedix.api.support.RegistroConsultasConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(RegistroConsultasConfig.class)
+class PedidoLeituraConsultasTest {
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private PedidoItemService pedidoItemService;
+
+    @Autowired
+    private ItemCardapioRepository itemCardapioRepository;
+
+    @Autowired
+    private RegistroConsultas registroConsultas;
+
+    private Pedido ultimoPedido;
+
+    @BeforeEach
+    void prepararPedidos() {
+        List<ItemCardapio> cardapio = itemCardapioRepository.saveAll(IntStream.rangeClosed(1, 3)
+                .mapToObj(i -> ItemCardapio.builder()
+                        .nome("Leitura " + i)
+                        .categoria(CategoriaItem.BEBIDA)
+                        .preco(new BigDecimal("5.00"))
+                        .disponivel(true)
+                        .build())
+                .toList());
+
+        for (int i = 0; i < 8; i++) {
+            ultimoPedido = pedidoService.criar(PedidoDTO.builder()
+                    .comandaId(3001L)
+                    .itens(cardapio.stream()
+                            .map(item -> PedidoItemDTO.builder()
+                                    .itemCardapioId(item.getId())
+                                    .quantidade(1)
+                                    .build())
+                            .toList())
+                    .build(), "garcom");
+        }
+
+        registroConsultas.limpar();
+    }
+
+    @Test
+    void listagemDePedidosUsaUmaUnicaConsulta() {
+        List<PedidoResponseDTO> pedidos = pedidoService.listarTodosResponse();
+
+        assertThat(pedidos).hasSizeGreaterThanOrEqualTo(8);
+        assertThat(pedidos).allSatisfy(pedido -> assertThat(pedido.getItens()).isNotEmpty());
+        assertThat(registroConsultas.total()).isEqualTo(1);
+    }
+
+    @Test
+    void listagemPorComandaEDetalheUsamUmaConsultaCada() {
+        assertThat(pedidoService.listarPorComandaResponse(3001L)).hasSizeGreaterThanOrEqualTo(8);
+        assertThat(pedidoService.buscarResponsePorId(ultimoPedido.getId()).getItens()).hasSize(3);
+        assertThat(registroConsultas.total()).isEqualTo(2);
+    }
+
+    @Test
+    void listagemDeItensDePedidoUsaProjecao() {
+        assertThat(pedidoItemService.listarPaginaDTO(null, Pagina.LIMITE_MAXIMO).itens())
+                .hasSizeGreaterThanOrEqualTo(24)
+                .allSatisfy(item -> assertThat(item.getNomeItem()).isNotBlank());
+        assertThat(registroConsultas.total()).isEqualTo(1);
+    }
+}
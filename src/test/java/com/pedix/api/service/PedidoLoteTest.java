@@ -0,0 +1,116 @@
+package com.pedix.api.service;
+
+import com.pedix.api.domain.ItemCardapio;
+import com.pedix.api.domain.enums.CategoriaItem;
+import com.pedix.api.domain.enums.ModoLote;
+import com.pedix.api.dto.PedidoDTO;
+import com.pedix.api.dto.PedidoItemDTO;
+import com.pedix.api.dto.ResultadoLotePedidoDTO;
+import com.pedix.api.support.CenarioPedidos;
+import com.pedix.api.support.RegistroConsultas;
+import com.pedix.api.support.RegistroConsultasConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static com.pedix.api.support.CenarioPedidos.criarItem;
+import static com.pedix.api.support.CenarioPedidos.linha;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(RegistroConsultasConfig.class)
+class PedidoLoteTest {
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private ItemCardapioService itemCardapioService;
+
+    @Autowired
+    private RegistroConsultas registroConsultas;
+
+    private List<ItemCardapio> cardapio;
+
+    @BeforeEach
+    void prepararCardapio() {
+        cardapio = IntStream.rangeClosed(1, 5)
+                .mapToObj(i -> criarItem(itemCardapioService, CategoriaItem.PRATO, "9.00"))
+                .toList();
+
+        // Reserva os blocos de ids das sequences antes de medir.
+        pedidoService.criarEmLote(List.of(pedido(8000L, 1)), ModoLote.MELHOR_ESFORCO, "tablet");
+    }
+
+    @Test
+    void melhorEsforcoGravaValidosEmBatchSemConsultarCardapio() {
+        List<PedidoDTO> lote = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            lote.add(pedido(8001L + i % 4, 1 + i % 5));
+        }
+        lote.add(5, PedidoDTO.builder()
+                .comandaId(8001L)
+                .itens(List.of(PedidoItemDTO.builder().itemCardapioId(-99L).quantidade(1).build()))
+                .build());
+
+        registroConsultas.limpar();
+        List<ResultadoLotePedidoDTO> resultados = pedidoService.criarEmLote(lote, ModoLote.MELHOR_ESFORCO, "tablet");
+
+        assertThat(resultados).hasSize(21);
+        assertThat(resultados).filteredOn(ResultadoLotePedidoDTO::isCriado).hasSize(20);
+        assertThat(resultados.get(5).isCriado()).isFalse();
+        assertThat(resultados.get(5).getMensagem()).contains("Item do cardápio inválido");
+
+        assertThat(registroConsultas.filtrar(execucao -> execucao.consulta()
+                && execucao.sql().toLowerCase().contains("item_cardapio"))).isEmpty();
+        // 20 pedidos + 60 linhas com batch_size 50: um INSERT de pedidos e dois de linhas,
+        // mais um INSERT ... SELECT com o resumo dos 20 pedidos.
+        assertThat(registroConsultas.filtrar(RegistroConsultas.Execucao::insercao))
+                .extracting(RegistroConsultas.Execucao::linhas)
+                .containsExactlyInAnyOrder(20, 50, 10, 1);
+    }
+
+    @Test
+    void tudoOuNadaNaoGravaQuandoUmPedidoFalha() {
+        List<PedidoDTO> lote = List.of(
+                pedido(8101L, 2),
+                PedidoDTO.builder().comandaId(8102L).itens(List.of()).build(),
+                pedido(8103L, 3));
+
+        registroConsultas.limpar();
+        List<ResultadoLotePedidoDTO> resultados = pedidoService.criarEmLote(lote, ModoLote.TUDO_OU_NADA, "tablet");
+
+        assertThat(resultados).noneMatch(ResultadoLotePedidoDTO::isCriado);
+        assertThat(resultados.get(1).getMensagem()).contains("ao menos um item");
+        assertThat(resultados.get(0).getMensagem()).startsWith("Não gravado");
+        assertThat(registroConsultas.insercoes()).isZero();
+    }
+
+    @Test
+    void itemInexistenteNoCardapioViraFalhaDoPedido() {
+        List<ResultadoLotePedidoDTO> resultados = pedidoService.criarEmLote(List.of(
+                pedido(8201L, 1),
+                PedidoDTO.builder()
+                        .comandaId(8202L)
+                        .itens(List.of(PedidoItemDTO.builder().itemCardapioId(987654L).quantidade(1).build()))
+                        .build()), null, "tablet");
+
+        assertThat(resultados.get(0).isCriado()).isTrue();
+        assertThat(resultados.get(0).getTotal()).isEqualByComparingTo("9.00");
+        assertThat(resultados.get(1).getMensagem()).contains("não encontrado");
+    }
+
+    private PedidoDTO pedido(Long comandaId, int itens) {
+        return CenarioPedidos.pedido(comandaId, cardapio.subList(0, itens).stream()
+                .map(item -> linha(item, 1))
+                .toArray(PedidoItemDTO[]::new));
+    }
+}
@@ -0,0 +1,103 @@
+package com.pedix.api.service;
+
+import com.pedix.api.domain.ItemCardapio;
+import com.pedix.api.domain.Pedido;
+import com.pedix.api.domain.enums.CategoriaItem;
+import com.pedix.api.dto.PedidoDTO;
+import com.pedix.api.dto.PedidoItemDTO;
+import com.pedix.api.repository.ItemCardapioRepository;
+import com.pedix.api.support.RegistroConsultas;
+import com.pedix.api.support.RegistroConsultasConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static com.pedix.api.support.CenarioPedidos.linhaNoPedido;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(RegistroConsultasConfig.class)
+class PedidoServiceRoundTripTest {
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private PedidoItemService pedidoItemService;
+
+    @Autowired
+    private ItemCardapioRepository itemCardapioRepository;
+
+    @Autowired
+    private RegistroConsultas registroConsultas;
+
+    private List<ItemCardapio> cardapio;
+
+    @BeforeEach
+    void prepararCardapio() {
+        cardapio = itemCardapioRepository.saveAll(IntStream.rangeClosed(1, 12)
+                .mapToObj(i -> ItemCardapio.builder()
+                        .nome("Item " + i)
+                        .categoria(CategoriaItem.PRATO)
+                        .preco(new BigDecimal("10.00"))
+                        .disponivel(true)
+                        .build())
+                .toList());
+
+        // O contexto é compartilhado: consome ids até cada sequence buscar um bloco novo, que então sobra
+        // inteiro (menos um id) para o teste.
+        Long pedidoId = reservarBlocoNovo("pedido_seq", () -> pedidoService.criar(pedidoCom(1), "garcom").getId());
+        reservarBlocoNovo("pedido_item_seq", () -> pedidoItemService.criar(linhaNoPedido(pedidoId, cardapio.get(0), 1)));
+    }
+
+    @Test
+    void insercoesDoPedidoNaoCrescemComQuantidadeDeItens() {
+        for (int quantidadeItens : new int[]{1, 6, 12}) {
+            registroConsultas.limpar();
+
+            Pedido pedido = pedidoService.criar(pedidoCom(quantidadeItens), "garcom");
+
+            assertThat(pedido.getItens()).hasSize(quantidadeItens);
+            assertThat(registroConsultas.chamadasSequence()).isZero();
+            // Pedido, linhas em batch e o resumo (INSERT ... SELECT).
+            assertThat(registroConsultas.insercoes()).isEqualTo(3);
+            assertThat(registroConsultas.filtrar(RegistroConsultas.Execucao::insercao))
+                    .extracting(RegistroConsultas.Execucao::linhas)
+                    .containsExactlyInAnyOrder(1, quantidadeItens, 1);
+        }
+    }
+
+    private <T> T reservarBlocoNovo(String sequence, Supplier<T> consumirUmId) {
+        for (int tentativa = 0; tentativa <= 50; tentativa++) {
+            registroConsultas.limpar();
+            T resultado = consumirUmId.get();
+            if (!registroConsultas.filtrar(execucao -> execucao.sequence()
+                    && execucao.sql().toLowerCase(Locale.ROOT).contains(sequence)).isEmpty()) {
+                return resultado;
+            }
+        }
+        throw new IllegalStateException("Sequence " + sequence + " não buscou bloco novo.");
+    }
+
+    private PedidoDTO pedidoCom(int quantidadeItens) {
+        return PedidoDTO.builder()
+                .comandaId(2001L)
+                .itens(cardapio.subList(0, quantidadeItens).stream()
+                        .map(item -> PedidoItemDTO.builder()
+                                .itemCardapioId(item.getId())
+                                .quantidade(2)
+                                .build())
+                        .toList())
+                .build();
+    }
+}
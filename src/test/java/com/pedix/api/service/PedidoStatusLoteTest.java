@@ -0,0 +1,110 @@
+package com.pedix.api.service;
+
+import com.pedix.api.domain.ItemCardapio;
+import com.pedix.api.domain.enums.CategoriaItem;
+import com.pedix.api.domain.enums.ResultadoTransicao;
+import com.pedix.api.domain.enums.StatusPedido;
+import com.pedix.api.dto.TransicaoStatusDTO;
+import com.pedix.api.support.RegistroConsultas;
+import com.pedix.api.support.RegistroConsultasConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static com.pedix.api.support.CenarioPedidos.criarItem;
+import static com.pedix.api.support.CenarioPedidos.linha;
+import static com.pedix.api.support.CenarioPedidos.pedido;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(RegistroConsultasConfig.class)
+class PedidoStatusLoteTest {
+
+    private static final int PEDIDOS_COMPARATIVO = 200;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private ItemCardapioService itemCardapioService;
+
+    @Autowired
+    private RegistroConsultas registroConsultas;
+
+    private ItemCardapio item;
+
+    @BeforeEach
+    void prepararCardapio() {
+        item = criarItem(itemCardapioService, CategoriaItem.PRATO, "21.00");
+    }
+
+    @Test
+    void informaResultadoPorPedido() {
+        Long emPreparo = criarPedido();
+        Long pronto = criarPedido();
+        Long cancelado = criarPedido();
+        pedidoService.atualizarStatus(pronto, StatusPedido.PRONTO);
+        pedidoService.cancelarPedido(cancelado);
+
+        List<TransicaoStatusDTO> resultados = pedidoService.atualizarStatusEmLote(
+                List.of(emPreparo, pronto, cancelado, -1L, emPreparo), StatusPedido.PRONTO);
+
+        assertThat(resultados)
+                .extracting(TransicaoStatusDTO::getPedidoId, TransicaoStatusDTO::getResultado)
+                .containsExactly(
+                        tuple(emPreparo, ResultadoTransicao.ALTERADO),
+                        tuple(pronto, ResultadoTransicao.SEM_ALTERACAO),
+                        tuple(cancelado, ResultadoTransicao.CONFLITO),
+                        tuple(-1L, ResultadoTransicao.NAO_ENCONTRADO));
+        assertThat(pedidoService.buscarResponsePorId(emPreparo).getStatus()).isEqualTo(StatusPedido.PRONTO);
+    }
+
+    @Test
+    void loteCustaUmUpdatePorStatusDeOrigem() {
+        List<Long> ids = IntStream.range(0, 40).mapToObj(i -> criarPedido()).toList();
+        ids.subList(0, 10).forEach(id -> pedidoService.atualizarStatus(id, StatusPedido.PRONTO));
+
+        registroConsultas.limpar();
+        pedidoService.atualizarStatusEmLote(ids, StatusPedido.CANCELADO);
+
+        assertThat(registroConsultas.filtrar(RegistroConsultas.Execucao::consulta))
+                .singleElement()
+                .satisfies(execucao -> assertThat(execucao.sql().toLowerCase()).contains("for update"));
+        // Um UPDATE por status de origem, e o mesmo no resumo.
+        assertThat(registroConsultas.filtrar(execucao -> execucao.sql().toLowerCase().startsWith("update pedido ")))
+                .hasSize(2);
+        assertThat(registroConsultas.filtrar(execucao -> execucao.sql().toLowerCase().startsWith("update pedido_resumo")))
+                .hasSize(2);
+    }
+
+    // O tempo das duas formas é medido em StatusLoteBenchmark.
+    @Test
+    void comparativoComChamadasIndividuais() {
+        List<Long> individuais = IntStream.range(0, PEDIDOS_COMPARATIVO).mapToObj(i -> criarPedido()).toList();
+        List<Long> lote = IntStream.range(0, PEDIDOS_COMPARATIVO).mapToObj(i -> criarPedido()).toList();
+
+        registroConsultas.limpar();
+        individuais.forEach(id -> pedidoService.atualizarStatus(id, StatusPedido.PRONTO));
+        long comandosIndividuais = registroConsultas.total();
+
+        registroConsultas.limpar();
+        pedidoService.atualizarStatusEmLote(lote, StatusPedido.PRONTO);
+        long comandosLote = registroConsultas.total();
+
+        // Cada troca de status também atualiza PEDIDO_RESUMO.
+        assertThat(comandosIndividuais).isEqualTo(3L * PEDIDOS_COMPARATIVO);
+        assertThat(comandosLote).isEqualTo(3);
+    }
+
+    private Long criarPedido() {
+        return pedidoService.criar(pedido(7001L, linha(item, 1)), "garcom").getId();
+    }
+}
@@ -0,0 +1,130 @@
+package com.pedix.api.service;
+
+import com.pedix.api.domain.ItemCardapio;
+import com.pedix.api.domain.Pedido;
+import com.pedix.api.domain.enums.CategoriaItem;
+import com.pedix.api.domain.enums.StatusPedido;
+import com.pedix.api.dto.PedidoCabecalhoDTO;
+import com.pedix.api.dto.PedidoDTO;
+import com.pedix.api.dto.PedidoItemDTO;
+import com.pedix.api.dto.PedidoResponseDTO;
+import com.pedix.api.exception.TransicaoStatusException;
+import com.pedix.api.repository.ItemCardapioRepository;
+import com.pedix.api.repository.PedidoRepository;
+import com.pedix.api.support.RegistroConsultas;
+import com.pedix.api.support.RegistroConsultasConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(RegistroConsultasConfig.class)
+class PedidoStatusTransicaoTest {
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private ItemCardapioRepository itemCardapioRepository;
+
+    @Autowired
+    private RegistroConsultas registroConsultas;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Pedido pedido;
+
+    @BeforeEach
+    void prepararPedido() {
+        ItemCardapio item = itemCardapioRepository.save(ItemCardapio.builder()
+                .nome("Acarajé")
+                .categoria(CategoriaItem.PRATO)
+                .preco(new BigDecimal("15.00"))
+                .disponivel(true)
+                .build());
+
+        pedido = pedidoService.criar(PedidoDTO.builder()
+                .comandaId(6001L)
+                .itens(List.of(PedidoItemDTO.builder()
+                        .itemCardapioId(item.getId())
+                        .quantidade(2)
+                        .build()))
+                .build(), "garcom");
+    }
+
+    @Test
+    void transicaoNaoCarregaEntidadeNemItens() {
+        registroConsultas.limpar();
+
+        PedidoCabecalhoDTO atualizado = pedidoService.atualizarStatus(pedido.getId(), StatusPedido.PRONTO);
+
+        assertThat(atualizado.getStatus()).isEqualTo(StatusPedido.PRONTO);
+        assertThat(atualizado.getComandaId()).isEqualTo(6001L);
+        // Cabeçalho, UPDATE do status e UPDATE do resumo.
+        assertThat(registroConsultas.total()).isEqualTo(3);
+        assertThat(registroConsultas.filtrar(execucao -> execucao.sql().toLowerCase().contains("pedido_item")))
+                .isEmpty();
+        assertThat(registroConsultas.filtrar(execucao -> execucao.sql().toLowerCase().startsWith("update pedido ")))
+                .singleElement()
+                .satisfies(execucao -> assertThat(execucao.sql().toLowerCase()).contains("status=?"));
+    }
+
+    @Test
+    void respostaDaApiMantemOPedidoCompleto() {
+        PedidoResponseDTO atualizado = pedidoService.atualizarStatusResponse(pedido.getId(), StatusPedido.PRONTO);
+
+        assertThat(atualizado.getStatus()).isEqualTo(StatusPedido.PRONTO);
+        assertThat(atualizado.getDataCriacao()).isNotNull();
+        assertThat(atualizado.getItens()).singleElement()
+                .satisfies(item -> assertThat(item.getQuantidade()).isEqualTo(2));
+        assertThat(atualizado.getTotal()).isEqualByComparingTo("30.00");
+    }
+
+    @Test
+    void rejeitaTransicaoForaDaMaquinaDeEstados() {
+        assertThatThrownBy(() -> pedidoService.atualizarStatus(pedido.getId(), StatusPedido.FINALIZADO))
+                .isInstanceOf(TransicaoStatusException.class);
+
+        pedidoService.cancelarPedido(pedido.getId());
+
+        assertThatThrownBy(() -> pedidoService.atualizarStatus(pedido.getId(), StatusPedido.EM_PREPARO))
+                .isInstanceOf(TransicaoStatusException.class)
+                .hasMessageContaining("CANCELADO");
+    }
+
+    @Test
+    void compareAndSetNaoSobrescreveMudancaConcorrente() {
+        Integer alterados = transactionTemplate.execute(status -> {
+            pedidoRepository.trocarStatus(pedido.getId(), StatusPedido.EM_PREPARO, StatusPedido.PRONTO, LocalDateTime.now());
+            return pedidoRepository.trocarStatus(pedido.getId(), StatusPedido.EM_PREPARO, StatusPedido.CANCELADO, LocalDateTime.now());
+        });
+
+        assertThat(alterados).isZero();
+        assertThat(pedidoRepository.buscarCabecalho(pedido.getId()).orElseThrow().getStatus())
+                .isEqualTo(StatusPedido.PRONTO);
+    }
+
+    @Test
+    void maquinaDeEstados() {
+        assertThat(StatusPedido.EM_PREPARO.proximos()).containsExactlyInAnyOrder(StatusPedido.PRONTO, StatusPedido.CANCELADO);
+        assertThat(StatusPedido.PRONTO.podeMudarPara(StatusPedido.EM_PREPARO)).isTrue();
+        assertThat(StatusPedido.ENTREGUE.podeMudarPara(StatusPedido.CANCELADO)).isFalse();
+        assertThat(StatusPedido.FINALIZADO.proximos()).isEmpty();
+    }
+}
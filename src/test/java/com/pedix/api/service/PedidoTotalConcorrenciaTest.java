@@ -0,0 +1,157 @@
+package com.pedix.api.service;
+
+import com.pedix.api.domain.ItemCardapio;
+import com.pedix.api.domain.Pedido;
+import com.pedix.api.domain.enums.CategoriaItem;
+import com.pedix.api.dto.PedidoItemRequestDTO;
+import com.pedix.api.dto.PedidoResponseDTO;
+import com.pedix.api.support.RegistroConsultas;
+import com.pedix.api.support.RegistroConsultasConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.pedix.api.support.CenarioPedidos.criarItem;
+import static com.pedix.api.support.CenarioPedidos.linha;
+import static com.pedix.api.support.CenarioPedidos.linhaNoPedido;
+import static com.pedix.api.support.CenarioPedidos.pedido;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(RegistroConsultasConfig.class)
+class PedidoTotalConcorrenciaTest {
+
+    private static final int THREADS = 16;
+    private static final int ITENS_POR_THREAD = 25;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private PedidoItemService pedidoItemService;
+
+    @Autowired
+    private ItemCardapioService itemCardapioService;
+
+    @Autowired
+    private RegistroConsultas registroConsultas;
+
+    private ItemCardapio item;
+
+    @BeforeEach
+    void prepararCardapio() {
+        item = criarItem(itemCardapioService, CategoriaItem.PRATO, "7.50");
+    }
+
+    @Test
+    void adicoesConcorrentesNaMesmaComandaNaoPerdemTotal() throws Exception {
+        Pedido pedido = pedidoService.criar(pedido(5001L, linha(item, 1)), "garcom");
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<?>> tarefas = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            int quantidade = t % 3 + 1;
+            tarefas.add(executor.submit(() -> {
+                largada.await();
+                for (int i = 0; i < ITENS_POR_THREAD; i++) {
+                    pedidoItemService.criar(linhaNoPedido(pedido.getId(), item, quantidade));
+                }
+                return null;
+            }));
+        }
+
+        largada.countDown();
+        for (Future<?> tarefa : tarefas) {
+            tarefa.get();
+        }
+        executor.shutdown();
+
+        PedidoResponseDTO resultado = pedidoService.buscarResponsePorId(pedido.getId());
+        BigDecimal somaLinhas = resultado.getItens().stream()
+                .map(PedidoResponseDTO.ItemResumo::getSubtotal)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        int quantidadeEsperada = 1;
+        for (int t = 0; t < THREADS; t++) {
+            quantidadeEsperada += (t % 3 + 1) * ITENS_POR_THREAD;
+        }
+
+        assertThat(resultado.getItens()).hasSize(1 + THREADS * ITENS_POR_THREAD);
+        assertThat(resultado.getTotal()).isEqualByComparingTo(somaLinhas);
+        assertThat(resultado.getTotal())
+                .isEqualByComparingTo(item.getPreco().multiply(BigDecimal.valueOf(quantidadeEsperada)));
+    }
+
+    @Test
+    void atualizacoesConcorrentesDaMesmaLinhaNaoDesviamTotal() throws Exception {
+        Pedido pedido = pedidoService.criar(pedido(5004L, linha(item, 1)), "garcom");
+        Long linhaId = pedidoItemService.criar(linhaNoPedido(pedido.getId(), item, 1)).getId();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<?>> tarefas = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            int deslocamento = t;
+            tarefas.add(executor.submit(() -> {
+                largada.await();
+                for (int i = 0; i < ITENS_POR_THREAD; i++) {
+                    pedidoItemService.atualizar(linhaId, PedidoItemRequestDTO.builder()
+                            .quantidade((deslocamento + i) % 5 + 1)
+                            .build());
+                }
+                return null;
+            }));
+        }
+
+        largada.countDown();
+        for (Future<?> tarefa : tarefas) {
+            tarefa.get();
+        }
+        executor.shutdown();
+
+        PedidoResponseDTO resultado = pedidoService.buscarResponsePorId(pedido.getId());
+        BigDecimal somaLinhas = resultado.getItens().stream()
+                .map(PedidoResponseDTO.ItemResumo::getSubtotal)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        assertThat(resultado.getItens()).hasSize(2);
+        assertThat(resultado.getTotal()).isEqualByComparingTo(somaLinhas);
+    }
+
+    @Test
+    void adicionarLinhaNaoCarregaLinhasExistentes() {
+        Pedido pequeno = pedidoService.criar(pedido(5002L, linha(item, 1)), "garcom");
+        Pedido grande = pedidoService.criar(pedido(5003L, linha(item, 1)), "garcom");
+        for (int i = 0; i < 30; i++) {
+            pedidoItemService.criar(linhaNoPedido(grande.getId(), item, 1));
+        }
+
+        long consultasPequeno = consultasParaAdicionar(pequeno.getId());
+        long consultasGrande = consultasParaAdicionar(grande.getId());
+
+        assertThat(consultasGrande).isEqualTo(consultasPequeno);
+        assertThat(registroConsultas.filtrar(execucao -> execucao.consulta()
+                && execucao.sql().toLowerCase().contains("from pedido_item"))).isEmpty();
+    }
+
+    private long consultasParaAdicionar(Long pedidoId) {
+        registroConsultas.limpar();
+        pedidoItemService.criar(linhaNoPedido(pedidoId, item, 1));
+        return registroConsultas.filtrar(execucao -> !execucao.sequence()).size();
+    }
+}
@@ -0,0 +1,168 @@
+package com.pedix.api.service;
+
+import com.pedix.api.domain.ItemCardapio;
+import com.pedix.api.domain.enums.CategoriaItem;
+import com.pedix.api.domain.enums.SituacaoRecebimento;
+import com.pedix.api.dto.PedidoDTO;
+import com.pedix.api.dto.PedidoItemDTO;
+import com.pedix.api.dto.PedidoRecebidoDTO;
+import com.pedix.api.dto.RecebimentoPedidoDTO;
+import com.pedix.api.dto.ResultadoLotePedidoDTO;
+import com.pedix.api.repository.PedidoRepository;
+import com.pedix.api.support.CenarioPedidos;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static com.pedix.api.support.CenarioPedidos.criarItem;
+import static com.pedix.api.support.CenarioPedidos.linha;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = {
+        "pedix.pedido.recebimento.assincrono=true",
+        "pedix.pedido.recebimento.janela-ms=50",
+        "pedix.pedido.recebimento.diario=target/recebimentos/${random.uuid}.jsonl"
+})
+@ActiveProfiles("test")
+class RecebimentoPedidosTest {
+
+    @Autowired
+    private RecebimentoPedidos recebimento;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private ItemCardapioService itemCardapioService;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private ItemCardapio item;
+
+    @BeforeEach
+    void prepararCardapio() {
+        item = criarItem(itemCardapioService, CategoriaItem.PRATO, "19.00");
+    }
+
+    @Test
+    void pedidosRecebidosSaoGravadosEmGrupo() throws InterruptedException {
+        long gravacoesAntes = recebimento.gravacoes();
+
+        List<RecebimentoPedidoDTO> recebidos = IntStream.range(0, 30)
+                .parallel()
+                .mapToObj(i -> recebimento.receber(9000L + i, pedido(), "garcom"))
+                .toList();
+
+        assertThat(recebidos).allMatch(r -> r.getSituacao() == SituacaoRecebimento.PENDENTE);
+
+        for (RecebimentoPedidoDTO recebido : recebidos) {
+            RecebimentoPedidoDTO situacao = aguardar(recebido.getRastreio());
+            assertThat(situacao.getSituacao()).isEqualTo(SituacaoRecebimento.GRAVADO);
+            assertThat(pedidoService.buscarResponsePorId(situacao.getPedidoId()).getComandaId())
+                    .isEqualTo(recebido.getComandaId());
+        }
+
+        assertThat(recebimento.gravacoes() - gravacoesAntes).isLessThan(30);
+    }
+
+    @Test
+    void validaContraCardapioEmMemoriaAntesDeAceitar() {
+        PedidoDTO invalido = PedidoDTO.builder()
+                .itens(List.of(PedidoItemDTO.builder().itemCardapioId(424242L).quantidade(1).build()))
+                .build();
+
+        assertThatThrownBy(() -> recebimento.receber(9100L, invalido, "garcom"))
+                .hasMessageContaining("não encontrado");
+    }
+
+    @Test
+    void reentregaDoMesmoRastreioNaoDuplicaPedido() {
+        PedidoRecebidoDTO recebido = PedidoRecebidoDTO.builder()
+                .rastreio(UUID.randomUUID().toString())
+                .loginGarcom("garcom")
+                .pedido(PedidoDTO.builder().comandaId(9200L).itens(pedido().getItens()).build())
+                .build();
+
+        ResultadoLotePedidoDTO primeiro = pedidoService.gravarRecebidos(List.of(recebido)).get(0);
+        ResultadoLotePedidoDTO reentrega = pedidoService.gravarRecebidos(List.of(recebido)).get(0);
+
+        assertThat(reentrega.isCriado()).isTrue();
+        assertThat(reentrega.getPedidoId()).isEqualTo(primeiro.getPedidoId());
+        assertThat(pedidoService.listarPorComanda(9200L)).hasSize(1);
+    }
+
+    @Test
+    void consultaDeRastreioForaDaMemoriaRespondePeloPedidoGravado() {
+        PedidoRecebidoDTO recebido = PedidoRecebidoDTO.builder()
+                .rastreio(UUID.randomUUID().toString())
+                .loginGarcom("garcom")
+                .pedido(PedidoDTO.builder().comandaId(9300L).itens(pedido().getItens()).build())
+                .build();
+        Long pedidoId = pedidoService.gravarRecebidos(List.of(recebido)).get(0).getPedidoId();
+
+        RecebimentoPedidoDTO situacao = recebimento.consultar(recebido.getRastreio()).orElseThrow();
+
+        assertThat(situacao.getSituacao()).isEqualTo(SituacaoRecebimento.GRAVADO);
+        assertThat(situacao.getPedidoId()).isEqualTo(pedidoId);
+        assertThat(situacao.getComandaId()).isEqualTo(9300L);
+        assertThat(recebimento.consultar(UUID.randomUUID().toString())).isEmpty();
+    }
+
+    @Test
+    void loteQueEsgotaAsTentativasFicaRejeitadoELiberaAFila() throws Exception {
+        PedidoService fora = mock(PedidoService.class);
+        when(fora.gravarRecebidos(anyList())).thenThrow(new QueryTimeoutException("banco fora"));
+        RecebimentoPedidos limitado = new RecebimentoPedidos(fora, pedidoRepository, objectMapper,
+                true, 1, 100, 0, 2, 3_600_000, "target/recebimentos/" + UUID.randomUUID() + ".jsonl", 10_485_760);
+        limitado.iniciar();
+        try {
+            RecebimentoPedidoDTO recebido = limitado.receber(9400L, pedido(), "garcom");
+
+            RecebimentoPedidoDTO situacao = aguardar(limitado, recebido.getRastreio());
+
+            assertThat(situacao.getSituacao()).isEqualTo(SituacaoRecebimento.REJEITADO);
+            assertThat(situacao.getMensagem()).contains("2 tentativas");
+            verify(fora, times(2)).gravarRecebidos(anyList());
+            assertThat(limitado.receber(9401L, pedido(), "garcom").getSituacao()).isEqualTo(SituacaoRecebimento.PENDENTE);
+        } finally {
+            limitado.encerrar();
+        }
+    }
+
+    private RecebimentoPedidoDTO aguardar(String rastreio) throws InterruptedException {
+        return aguardar(recebimento, rastreio);
+    }
+
+    private RecebimentoPedidoDTO aguardar(RecebimentoPedidos recebimento, String rastreio) throws InterruptedException {
+        for (int tentativa = 0; tentativa < 200; tentativa++) {
+            RecebimentoPedidoDTO situacao = recebimento.consultar(rastreio).orElseThrow();
+            if (situacao.getSituacao() != SituacaoRecebimento.PENDENTE) {
+                return situacao;
+            }
+            Thread.sleep(25);
+        }
+        throw new AssertionError("Pedido " + rastreio + " não foi gravado a tempo.");
+    }
+
+    private PedidoDTO pedido() {
+        return CenarioPedidos.pedido(null, linha(item, 1));
+    }
+}
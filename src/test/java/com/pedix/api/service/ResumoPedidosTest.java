@@ -0,0 +1,164 @@
+package com.pedix.api.service;
+
+import com.pedix.api.domain.ItemCardapio;
+import com.pedix.api.domain.Pedido;
+import com.pedix.api.domain.enums.CategoriaItem;
+import com.pedix.api.domain.enums.StatusPedido;
+import com.pedix.api.dto.ConsistenciaResumoDTO;
+import com.pedix.api.dto.Pagina;
+import com.pedix.api.dto.PedidoDTO;
+import com.pedix.api.dto.PedidoItemDTO;
+import com.pedix.api.dto.PedidoItemRequestDTO;
+import com.pedix.api.dto.PedidoResumoDTO;
+import com.pedix.api.repository.PedidoResumoRepository;
+import com.pedix.api.support.RegistroConsultas;
+import com.pedix.api.support.RegistroConsultasConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.IllegalTransactionStateException;
+
+import java.util.List;
+import java.util.UUID;
+
+import static com.pedix.api.support.CenarioPedidos.criarItem;
+import static com.pedix.api.support.CenarioPedidos.linha;
+import static com.pedix.api.support.CenarioPedidos.linhaNoPedido;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(RegistroConsultasConfig.class)
+class ResumoPedidosTest {
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private PedidoItemService pedidoItemService;
+
+    @Autowired
+    private ItemCardapioService itemCardapioService;
+
+    @Autowired
+    private ResumoPedidos resumoPedidos;
+
+    @Autowired
+    private PedidoResumoRepository resumoRepository;
+
+    @Autowired
+    private RegistroConsultas registroConsultas;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private ItemCardapio prato;
+    private ItemCardapio bebida;
+    private String garcom;
+
+    @BeforeEach
+    void prepararCardapio() {
+        prato = criarItem(itemCardapioService, CategoriaItem.PRATO, "32.00");
+        bebida = criarItem(itemCardapioService, CategoriaItem.BEBIDA, "7.50");
+        garcom = "garcom-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @Test
+    void acompanhaAsEscritasNaMesmaTransacao() {
+        Pedido pedido = criarPedido(6001L, linha(prato, 2));
+        assertResumo(pedido.getId(), StatusPedido.EM_PREPARO, 1, "64.00");
+
+        Long linhaBebida = pedidoItemService.criar(linhaNoPedido(pedido.getId(), bebida, 2)).getId();
+        assertResumo(pedido.getId(), StatusPedido.EM_PREPARO, 2, "79.00");
+
+        pedidoItemService.atualizar(linhaBebida, PedidoItemRequestDTO.builder().quantidade(4).build());
+        assertResumo(pedido.getId(), StatusPedido.EM_PREPARO, 2, "94.00");
+
+        pedidoItemService.deletar(linhaBebida);
+        pedidoService.atualizarStatus(pedido.getId(), StatusPedido.PRONTO);
+        assertResumo(pedido.getId(), StatusPedido.PRONTO, 1, "64.00");
+
+        Pedido outro = criarPedido(6002L, linha(bebida, 1));
+        pedidoService.atualizarStatusEmLote(List.of(pedido.getId(), outro.getId()), StatusPedido.CANCELADO);
+        assertResumo(outro.getId(), StatusPedido.CANCELADO, 1, "7.50");
+
+        pedidoService.excluir(outro.getId());
+        assertThat(resumoRepository.findById(outro.getId())).isEmpty();
+    }
+
+    @Test
+    void listagemDoGarcomCustaUmaConsulta() {
+        Pedido primeiro = criarPedido(6003L, linha(prato, 1), linha(bebida, 3));
+        Pedido segundo = criarPedido(6004L, linha(bebida, 1));
+        Pedido terceiro = criarPedido(6005L, linha(prato, 1));
+
+        registroConsultas.limpar();
+        Pagina<PedidoResumoDTO> pagina = resumoPedidos.listarPorGarcom(garcom, null, 2);
+        assertThat(registroConsultas.total()).isEqualTo(1);
+
+        assertThat(pagina.itens())
+                .extracting(PedidoResumoDTO::getId, PedidoResumoDTO::getQuantidadeItens)
+                .containsExactly(
+                        tuple(primeiro.getId(), 2),
+                        tuple(segundo.getId(), 1));
+        assertThat(resumoPedidos.listarPorGarcom(garcom, pagina.proximo(), 2).itens())
+                .extracting(PedidoResumoDTO::getId)
+                .containsExactly(terceiro.getId());
+    }
+
+    @Test
+    void verificacaoApontaDivergenciasEReconstrucaoCorrige() {
+        resumoPedidos.reconstruir();
+        Pedido alterado = criarPedido(6006L, linha(prato, 1));
+        Pedido semResumo = criarPedido(6007L, linha(bebida, 2));
+        assertThat(resumoPedidos.verificar().isConsistente()).isTrue();
+
+        jdbcTemplate.update("UPDATE PEDIDO_RESUMO SET TOTAL = 1, OBSERVACAO = 'x' WHERE ID = ?", alterado.getId());
+        jdbcTemplate.update("DELETE FROM PEDIDO_RESUMO WHERE ID = ?", semResumo.getId());
+        jdbcTemplate.update("""
+                INSERT INTO PEDIDO_RESUMO (ID, ID_COMANDA, STATUS, QUANTIDADE_ITENS, TOTAL)
+                VALUES (?, 1, 'PRONTO', 0, 0)
+                """, semResumo.getId() + 1_000_000);
+
+        ConsistenciaResumoDTO divergencias = resumoPedidos.verificar();
+        assertThat(divergencias.isConsistente()).isFalse();
+        assertThat(divergencias.getDivergentes()).containsExactly(alterado.getId());
+        assertThat(divergencias.getSemResumo()).containsExactly(semResumo.getId());
+        assertThat(divergencias.getSemPedido()).containsExactly(semResumo.getId() + 1_000_000);
+
+        ResumoPedidos.Reconstrucao reconstrucao = resumoPedidos.reconstruir();
+
+        assertThat(reconstrucao.resumosSemPedidoRemovidos()).isEqualTo(1);
+        assertThat(resumoPedidos.verificar().isConsistente()).isTrue();
+        assertResumo(semResumo.getId(), StatusPedido.EM_PREPARO, 1, "15.00");
+    }
+
+    @Test
+    void escritaForaDeTransacaoEhRecusada() {
+        assertThatThrownBy(() -> resumoPedidos.remover(1L))
+                .isInstanceOf(IllegalTransactionStateException.class);
+    }
+
+    private void assertResumo(Long pedidoId, StatusPedido status, int itens, String total) {
+        PedidoResumoDTO resumo = resumoPedidos.listarPorGarcom(garcom, pedidoId - 1, 1).itens().get(0);
+        assertThat(resumo.getId()).isEqualTo(pedidoId);
+        assertThat(resumo.getStatus()).isEqualTo(status);
+        assertThat(resumo.getQuantidadeItens()).isEqualTo(itens);
+        assertThat(resumo.getTotal()).isEqualByComparingTo(total);
+        assertThat(resumo.getGarcomResponsavel()).isEqualTo(garcom);
+    }
+
+    private Pedido criarPedido(Long comandaId, PedidoItemDTO... itens) {
+        return pedidoService.criar(PedidoDTO.builder()
+                .comandaId(comandaId)
+                .observacao("Mesa " + comandaId)
+                .itens(List.of(itens))
+                .build(), garcom);
+    }
+}
@@ -0,0 +1,207 @@
+package com.pedix.api.service;
+
+import com.pedix.api.domain.ItemCardapio;
+import com.pedix.api.domain.Pedido;
+import com.pedix.api.domain.RollupVenda;
+import com.pedix.api.domain.enums.CategoriaItem;
+import com.pedix.api.domain.enums.DimensaoVenda;
+import com.pedix.api.domain.enums.StatusPedido;
+import com.pedix.api.domain.enums.TipoEventoPedido;
+import com.pedix.api.dto.PedidoEvento;
+import com.pedix.api.dto.PedidoItemResponseDTO;
+import com.pedix.api.dto.VendaAgregadaDTO;
+import com.pedix.api.repository.PedidoRepository;
+import com.pedix.api.repository.RollupVendaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static com.pedix.api.support.CenarioPedidos.criarItem;
+import static com.pedix.api.support.CenarioPedidos.linha;
+import static com.pedix.api.support.CenarioPedidos.linhaNoPedido;
+import static com.pedix.api.support.CenarioPedidos.pedido;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class RollupVendasTest {
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private PedidoItemService pedidoItemService;
+
+    @Autowired
+    private ItemCardapioService itemCardapioService;
+
+    @Autowired
+    private RollupVendas rollupVendas;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ItemCardapio prato;
+    private ItemCardapio bebida;
+    private String garcom;
+
+    @BeforeEach
+    void prepararCardapio() {
+        prato = criarItem(itemCardapioService, CategoriaItem.PRATO, "18.50");
+        bebida = criarItem(itemCardapioService, CategoriaItem.BEBIDA, "6.00");
+        garcom = "garcom-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @Test
+    void acompanhaPedidoEItensPelosEventos() {
+        Pedido pedido = pedidoService.criar(pedido(5001L, linha(prato, 2)), garcom);
+
+        Long linhaBebida = pedidoItemService.criar(linhaNoPedido(pedido.getId(), bebida, 1)).getId();
+        pedidoItemService.atualizar(linhaBebida, linhaNoPedido(pedido.getId(), bebida, 3));
+        rollupVendas.descarregar();
+
+        assertVenda(DimensaoVenda.ITEM, prato.getId().toString(), "37.00", 2, 0);
+        assertVenda(DimensaoVenda.ITEM, bebida.getId().toString(), "18.00", 3, 0);
+        assertVenda(DimensaoVenda.GARCOM, garcom, "55.00", 5, 1);
+        assertThat(venda(DimensaoVenda.ITEM, prato.getId().toString()).getNome()).isEqualTo(prato.getNome());
+
+        pedidoItemService.deletar(linhaBebida);
+        rollupVendas.descarregar();
+
+        assertVenda(DimensaoVenda.ITEM, bebida.getId().toString(), "0.00", 0, 0);
+        assertVenda(DimensaoVenda.GARCOM, garcom, "37.00", 2, 1);
+    }
+
+    @Test
+    void cancelamentoEExclusaoDesfazemAsVendas() {
+        Pedido cancelado = pedidoService.criar(pedido(5002L, linha(prato, 1), linha(bebida, 2)), garcom);
+        Pedido excluido = pedidoService.criar(pedido(5003L, linha(prato, 1)), garcom);
+        rollupVendas.descarregar();
+        assertVenda(DimensaoVenda.GARCOM, garcom, "49.00", 4, 2);
+
+        pedidoService.cancelarPedido(cancelado.getId());
+        rollupVendas.descarregar();
+        assertVenda(DimensaoVenda.GARCOM, garcom, "18.50", 1, 1);
+        assertVenda(DimensaoVenda.ITEM, bebida.getId().toString(), "0.00", 0, 0);
+
+        // Pedido já cancelado não desconta de novo ao ser excluído.
+        pedidoService.excluir(cancelado.getId());
+        pedidoService.excluir(excluido.getId());
+        rollupVendas.descarregar();
+        assertVenda(DimensaoVenda.GARCOM, garcom, "0.00", 0, 0);
+        assertVenda(DimensaoVenda.ITEM, prato.getId().toString(), "0.00", 0, 0);
+    }
+
+    @Test
+    void reconstrucaoBateComOsIncrementos() {
+        pedidoService.criar(pedido(5004L, linha(prato, 3), linha(bebida, 1)), garcom);
+        Pedido cancelado = pedidoService.criar(pedido(5005L, linha(bebida, 4)), garcom);
+        pedidoService.cancelarPedido(cancelado.getId());
+        rollupVendas.descarregar();
+
+        List<VendaAgregadaDTO> horasAntes = rollupVendas.consultar(DimensaoVenda.HORA, hoje(), hoje());
+        List<VendaAgregadaDTO> categoriasAntes = rollupVendas.consultar(DimensaoVenda.CATEGORIA, hoje(), hoje());
+        VendaAgregadaDTO garcomAntes = venda(DimensaoVenda.GARCOM, garcom);
+        assertThat(garcomAntes.getReceita()).isEqualByComparingTo("61.50");
+        assertThat(garcomAntes.getPedidos()).isEqualTo(1);
+
+        RollupVendas.Reconstrucao reconstrucao = rollupVendas.reconstruir(hoje(), hoje());
+
+        assertThat(reconstrucao.pedidos()).isPositive();
+        assertThat(venda(DimensaoVenda.GARCOM, garcom)).isEqualTo(garcomAntes);
+        assertThat(somaReceita(rollupVendas.consultar(DimensaoVenda.HORA, hoje(), hoje())))
+                .isEqualByComparingTo(somaReceita(horasAntes));
+        assertThat(somaReceita(rollupVendas.consultar(DimensaoVenda.CATEGORIA, hoje(), hoje())))
+                .isEqualByComparingTo(somaReceita(categoriasAntes));
+    }
+
+    @Test
+    void itemComIdForaDaFaixaDeIntEntraNoRollup() {
+        long itemCardapioId = 3_000_000_000L;
+        rollupVendas.registrar(itemAdicionado(itemCardapioId, "7.25", 1));
+        rollupVendas.descarregar();
+
+        assertVenda(DimensaoVenda.ITEM, Long.toString(itemCardapioId), "7.25", 1, 0);
+    }
+
+    @Test
+    void falhaQualquerNaDescargaDevolveOsContadores() {
+        RollupVendaRepository repositorio = mock(RollupVendaRepository.class);
+        when(repositorio.somar(any(), any(), any(), any(), anyLong(), anyLong()))
+                .thenThrow(new IllegalStateException("falha fora do JDBC"))
+                .thenReturn(1);
+        RollupVendas rollup = new RollupVendas(repositorio, pedidoRepository, itemCardapioService, transactionManager);
+
+        rollup.registrar(itemAdicionado(prato.getId(), "18.50", 1));
+        rollup.descarregar();
+        rollup.descarregar();
+
+        verify(repositorio, times(2)).somar(eq(DimensaoVenda.HORA), any(), eq(RollupVenda.CHAVE_TOTAL),
+                eq(new BigDecimal("18.50")), eq(1L), eq(0L));
+    }
+
+    @Test
+    void recusaPeriodoInvalido() {
+        assertThatThrownBy(() -> rollupVendas.consultar(DimensaoVenda.ITEM, hoje(), hoje().minusDays(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> rollupVendas.consultar(DimensaoVenda.ITEM, hoje().minusYears(2), hoje()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void assertVenda(DimensaoVenda dimensao, String chave, String receita, long quantidade, long pedidos) {
+        VendaAgregadaDTO venda = venda(dimensao, chave);
+        assertThat(venda.getReceita()).as("receita de %s", chave).isEqualByComparingTo(receita);
+        assertThat(venda.getQuantidade()).as("quantidade de %s", chave).isEqualTo(quantidade);
+        assertThat(venda.getPedidos()).as("pedidos de %s", chave).isEqualTo(pedidos);
+    }
+
+    private VendaAgregadaDTO venda(DimensaoVenda dimensao, String chave) {
+        return rollupVendas.consultar(dimensao, hoje(), hoje()).stream()
+                .filter(venda -> venda.getChave().equals(chave))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("Sem rollup para " + dimensao + " " + chave));
+    }
+
+    private PedidoEvento itemAdicionado(Long itemCardapioId, String subtotal, int quantidade) {
+        return PedidoEvento.builder()
+                .tipo(TipoEventoPedido.ITEM_ADICIONADO)
+                .pedidoId(-1L)
+                .status(StatusPedido.EM_PREPARO)
+                .garcomResponsavel(garcom)
+                .dataHoraPedido(LocalDateTime.now())
+                .item(PedidoItemResponseDTO.builder()
+                        .itemCardapioId(itemCardapioId)
+                        .quantidade(quantidade)
+                        .subtotal(new BigDecimal(subtotal))
+                        .build())
+                .build();
+    }
+
+    private static BigDecimal somaReceita(List<VendaAgregadaDTO> vendas) {
+        return vendas.stream().map(VendaAgregadaDTO::getReceita).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private static LocalDate hoje() {
+        return LocalDate.now();
+    }
+}
@@ -0,0 +1,52 @@
+package com.pedix.api.support;
+
+import com.pedix.api.domain.ItemCardapio;
+import com.pedix.api.domain.enums.CategoriaItem;
+import com.pedix.api.dto.ItemCardapioDTO;
+import com.pedix.api.dto.PedidoDTO;
+import com.pedix.api.dto.PedidoItemDTO;
+import com.pedix.api.dto.PedidoItemRequestDTO;
+import com.pedix.api.service.ItemCardapioService;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Cardápio e pedidos gravados pelos serviços, para os testes de integração; o par em memória é DadosPedidos.
+public final class CenarioPedidos {
+
+    private static final AtomicLong SEQUENCIA = new AtomicLong();
+
+    private CenarioPedidos() {
+    }
+
+    public static ItemCardapio criarItem(ItemCardapioService cardapio, CategoriaItem categoria, String preco) {
+        return cardapio.criar(ItemCardapioDTO.builder()
+                .nome("Item de teste " + SEQUENCIA.incrementAndGet())
+                .categoria(categoria)
+                .preco(new BigDecimal(preco))
+                .build());
+    }
+
+    public static PedidoDTO pedido(Long comandaId, PedidoItemDTO... linhas) {
+        return PedidoDTO.builder()
+                .comandaId(comandaId)
+                .itens(List.of(linhas))
+                .build();
+    }
+
+    public static PedidoItemDTO linha(ItemCardapio item, int quantidade) {
+        return PedidoItemDTO.builder()
+                .itemCardapioId(item.getId())
+                .quantidade(quantidade)
+                .build();
+    }
+
+    public static PedidoItemRequestDTO linhaNoPedido(Long pedidoId, ItemCardapio item, int quantidade) {
+        return PedidoItemRequestDTO.builder()
+                .pedidoId(pedidoId)
+                .itemCardapioId(item.getId())
+                .quantidade(quantidade)
+                .build();
+    }
+}
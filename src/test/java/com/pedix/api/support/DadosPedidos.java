@@ -0,0 +1,72 @@
+package com.pedix.api.support;
+
+import com.pedix.api.domain.ItemCardapio;
+import com.pedix.api.domain.Pedido;
+import com.pedix.api.domain.PedidoItem;
+import com.pedix.api.domain.enums.CategoriaItem;
+import com.pedix.api.domain.enums.StatusPedido;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+// Pedidos montados em memória, sem banco, para benchmarks e testes de alocação com dados fixos.
+public final class DadosPedidos {
+
+    private static final LocalDateTime DATA_BASE = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private DadosPedidos() {
+    }
+
+    public static List<ItemCardapio> cardapio(int quantidade) {
+        return LongStream.rangeClosed(1, quantidade)
+                .mapToObj(id -> ItemCardapio.builder()
+                        .id(id)
+                        .nome("Item " + id)
+                        .categoria(id % 3 == 0 ? CategoriaItem.BEBIDA : CategoriaItem.PRATO)
+                        .preco(BigDecimal.valueOf(500 + id * 37, 2))
+                        .disponivel(true)
+                        .build())
+                .toList();
+    }
+
+    public static List<Pedido> pedidos(int quantidade, int itensPorPedido) {
+        List<ItemCardapio> cardapio = cardapio(20);
+        List<Pedido> pedidos = new ArrayList<>(quantidade);
+        for (int i = 1; i <= quantidade; i++) {
+            pedidos.add(pedido(i, itensPorPedido, cardapio));
+        }
+        return pedidos;
+    }
+
+    public static Pedido pedido(long id, int itens, List<ItemCardapio> cardapio) {
+        Pedido pedido = Pedido.builder()
+                .id(id)
+                .comandaId(1000 + id % 50)
+                .status(StatusPedido.EM_PREPARO)
+                .observacao(id % 4 == 0 ? "Sem cebola" : null)
+                .total(BigDecimal.ZERO)
+                .dataHora(DATA_BASE.plusMinutes(id))
+                .statusAlteradoEm(DATA_BASE.plusMinutes(id))
+                .garcomResponsavel("garcom")
+                .versao(0L)
+                .itens(new ArrayList<>(itens))
+                .build();
+
+        for (int i = 0; i < itens; i++) {
+            ItemCardapio itemCardapio = cardapio.get((int) ((id + i) % cardapio.size()));
+            PedidoItem item = PedidoItem.builder()
+                    .id(id * 100 + i)
+                    .itemCardapio(itemCardapio)
+                    .quantidade(1 + i % 3)
+                    .precoUnitario(itemCardapio.getPreco())
+                    .subtotal(BigDecimal.ZERO)
+                    .build();
+            item.recalcularSubtotal();
+            pedido.adicionarItem(item);
+        }
+        return pedido;
+    }
+}
@@ -0,0 +1,162 @@
+package com.pedix.api.support;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Bytes alocados por chamada, lidos do contador de alocação da própria thread.
+ * <pre>
+ * MedidorAlocacao.assertNoMaximo("PedidoService.toResponse", 2_048, () -> service.toResponse(pedido));
+ * </pre>
+ * Quando o orçamento estoura, a ação é repetida sob uma gravação JFR e a mensagem de falha traz os
+ * pontos que mais alocaram.
+ */
+public final class MedidorAlocacao {
+
+    private static final int AQUECIMENTO = 2_000;
+    private static final int MEDICOES = 50;
+    private static final int REPETICOES_GRAVACAO = 20_000;
+    private static final int SITIOS_REPORTADOS = 10;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private MedidorAlocacao() {
+    }
+
+    /**
+     * Menor valor observado entre várias medições depois do aquecimento. O mínimo descarta ruído de
+     * compilação e de troca de TLAB, que só somam bytes.
+     */
+    public static long bytesPorChamada(Runnable acao) {
+        return bytesPorChamada(acao, AQUECIMENTO, MEDICOES);
+    }
+
+    public static long bytesPorChamada(Runnable acao, int aquecimento, int medicoes) {
+        for (int i = 0; i < aquecimento; i++) {
+            acao.run();
+        }
+
+        long menor = Long.MAX_VALUE;
+        for (int i = 0; i < medicoes; i++) {
+            long antes = THREADS.getCurrentThreadAllocatedBytes();
+            acao.run();
+            menor = Math.min(menor, THREADS.getCurrentThreadAllocatedBytes() - antes);
+        }
+        return menor;
+    }
+
+    public static void assertNoMaximo(String nome, long orcamentoBytes, Runnable acao) {
+        assertNoMaximo(nome, orcamentoBytes, acao, AQUECIMENTO, REPETICOES_GRAVACAO);
+    }
+
+    public static void assertNoMaximo(String nome, long orcamentoBytes, Runnable acao,
+                                      int aquecimento, int repeticoesGravacao) {
+        long alocados = bytesPorChamada(acao, aquecimento, MEDICOES);
+        if (alocados <= orcamentoBytes) {
+            return;
+        }
+
+        String sitios = principaisSitios(acao, repeticoesGravacao, SITIOS_REPORTADOS).stream()
+                .map(sitio -> String.format("  %5.1f%%  %s", sitio.percentual(), sitio.local()))
+                .collect(Collectors.joining("\n"));
+
+        throw new AssertionError(String.format(
+                "%s alocou %,d bytes por chamada; orçamento é %,d bytes.%nPrincipais pontos de alocação:%n%s",
+                nome, alocados, orcamentoBytes, sitios));
+    }
+
+    /**
+     * Agrupa as amostras de jdk.ObjectAllocationSample pelo quadro que alocou e pelo primeiro quadro
+     * da aplicação na pilha (fora dos DTOs), que é onde a correção costuma ser feita.
+     */
+    public static List<SitioAlocacao> principaisSitios(Runnable acao, int repeticoes, int limite) {
+        Path arquivo = null;
+        try (Recording gravacao = new Recording()) {
+            gravacao.enable("jdk.ObjectAllocationSample").with("throttle", "1000/ms").withStackTrace();
+            gravacao.start();
+            Thread medida = Thread.currentThread();
+            Instant inicio = Instant.now();
+            for (int i = 0; i < repeticoes; i++) {
+                acao.run();
+            }
+            Instant fim = Instant.now();
+            gravacao.stop();
+
+            arquivo = Files.createTempFile("alocacao", ".jfr");
+            gravacao.dump(arquivo);
+
+            Map<String, Long> pesos = new HashMap<>();
+            long total = 0;
+            for (RecordedEvent evento : RecordingFile.readAllEvents(arquivo)) {
+                if (evento.getThread() == null || evento.getThread().getJavaThreadId() != medida.getId()
+                        || evento.getStartTime().isBefore(inicio) || evento.getStartTime().isAfter(fim)) {
+                    continue;
+                }
+                long peso = evento.getLong("weight");
+                pesos.merge(local(evento), peso, Long::sum);
+                total += peso;
+            }
+
+            long soma = Math.max(total, 1);
+            return pesos.entrySet().stream()
+                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                    .limit(limite)
+                    .map(entrada -> new SitioAlocacao(entrada.getKey(), entrada.getValue(), 100.0 * entrada.getValue() / soma))
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            if (arquivo != null) {
+                arquivo.toFile().delete();
+            }
+        }
+    }
+
+    private static String local(RecordedEvent evento) {
+        String classe = evento.getClass("objectClass").getName();
+        RecordedStackTrace pilha = evento.getStackTrace();
+        if (pilha == null || pilha.getFrames().isEmpty()) {
+            return classe;
+        }
+
+        List<RecordedFrame> quadros = pilha.getFrames();
+        String topo = quadro(quadros.get(0));
+        String aplicacao = quadros.stream()
+                .filter(q -> q.isJavaFrame() && daAplicacao(q.getMethod().getType().getName()))
+                .findFirst()
+                .map(MedidorAlocacao::quadro)
+                .orElse(null);
+
+        return aplicacao == null || aplicacao.equals(topo)
+                ? classe + " em " + topo
+                : classe + " em " + topo + " <- " + aplicacao;
+    }
+
+    // DTOs e os builders gerados pelo Lombok alocam, mas a correção fica em quem os chama.
+    private static boolean daAplicacao(String classe) {
+        return classe.startsWith("com.pedix.api.") && !classe.startsWith("com.pedix.api.dto.");
+    }
+
+    private static String quadro(RecordedFrame quadro) {
+        return quadro.getMethod().getType().getName() + "." + quadro.getMethod().getName()
+                + ":" + quadro.getLineNumber();
+    }
+
+    public record SitioAlocacao(String local, long bytes, double percentual) {
+    }
+}
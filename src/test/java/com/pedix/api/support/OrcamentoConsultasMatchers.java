@@ -0,0 +1,51 @@
+package com.pedix.api.support;
+
+import com.pedix.api.config.ContadorConsultasFilter;
+import com.pedix.api.config.OrcamentoConsultas;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.web.method.HandlerMethod;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verificações de orçamento de comandos SQL sobre respostas do MockMvc, a partir do cabeçalho
+ * X-Query-Count escrito pelo ContadorConsultasFilter.
+ * <pre>
+ * mockMvc.perform(get("/api/pedido")).andExpect(dentroDoOrcamento());
+ * mockMvc.perform(get("/api/painel")).andExpect(noMaximo(1));
+ * </pre>
+ */
+public final class OrcamentoConsultasMatchers {
+
+    private OrcamentoConsultasMatchers() {
+    }
+
+    /** Usa o limite declarado com {@link OrcamentoConsultas} no método do controller. */
+    public static ResultMatcher dentroDoOrcamento() {
+        return resultado -> {
+            assertThat(resultado.getHandler())
+                    .as("handler da requisição")
+                    .isInstanceOf(HandlerMethod.class);
+            OrcamentoConsultas orcamento = ((HandlerMethod) resultado.getHandler())
+                    .getMethodAnnotation(OrcamentoConsultas.class);
+            assertThat(orcamento)
+                    .as("@OrcamentoConsultas em %s", resultado.getHandler())
+                    .isNotNull();
+
+            noMaximo(orcamento.value()).match(resultado);
+        };
+    }
+
+    public static ResultMatcher noMaximo(int comandos) {
+        return resultado -> {
+            String quantidade = resultado.getResponse().getHeader(ContadorConsultasFilter.CABECALHO_QUANTIDADE);
+            assertThat(quantidade)
+                    .as("cabeçalho %s", ContadorConsultasFilter.CABECALHO_QUANTIDADE)
+                    .isNotNull();
+            assertThat(Integer.parseInt(quantidade))
+                    .as("comandos SQL de %s %s",
+                            resultado.getRequest().getMethod(), resultado.getRequest().getRequestURI())
+                    .isLessThanOrEqualTo(comandos);
+        };
+    }
+}
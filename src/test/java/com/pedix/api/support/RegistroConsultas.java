@@ -0,0 +1,78 @@
+package com.pedix.api.support;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Predicate;
+
+public class RegistroConsultas implements QueryExecutionListener {
+
+    private final List<Execucao> execucoes = new ArrayList<>();
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public synchronized void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        for (QueryInfo queryInfo : queryInfoList) {
+            execucoes.add(new Execucao(
+                    queryInfo.getQuery(),
+                    execInfo.isBatch() ? execInfo.getBatchSize() : 1,
+                    queryInfo.getParametersList().isEmpty()
+                            ? List.of()
+                            : queryInfo.getParametersList().get(0).stream()
+                                    .map(parametro -> parametro.getArgs()[1])
+                                    .toList()
+            ));
+        }
+    }
+
+    public synchronized void limpar() {
+        execucoes.clear();
+    }
+
+    public synchronized List<Execucao> execucoes() {
+        return List.copyOf(execucoes);
+    }
+
+    public synchronized List<Execucao> filtrar(Predicate<Execucao> filtro) {
+        return execucoes.stream().filter(filtro).toList();
+    }
+
+    public long total() {
+        return execucoes().size();
+    }
+
+    public long insercoes() {
+        return filtrar(Execucao::insercao).size();
+    }
+
+    public long chamadasSequence() {
+        return filtrar(Execucao::sequence).size();
+    }
+
+    public record Execucao(String sql, int linhas, List<Object> parametros) {
+
+        public boolean insercao() {
+            return normalizado().startsWith("insert");
+        }
+
+        public boolean sequence() {
+            String sql = normalizado();
+            return sql.contains("next value for") || sql.contains("nextval");
+        }
+
+        public boolean consulta() {
+            return normalizado().startsWith("select") && !sequence();
+        }
+
+        private String normalizado() {
+            return sql.trim().toLowerCase(Locale.ROOT);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.pedix.api.support;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+
+@TestConfiguration(proxyBeanMethods = false)
+public class RegistroConsultasConfig {
+
+    @Bean
+    public static RegistroConsultas registroConsultas() {
+        return new RegistroConsultas();
+    }
+
+    @Bean
+    public static BeanPostProcessor registroConsultasDataSourcePostProcessor(RegistroConsultas registroConsultas) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(registroConsultas)
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}